@@ -0,0 +1,42 @@
+package com.bhawesh_source.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar. Accepts the usual JMH command line, always attaches the GC profiler for
+ * allocation rates, and unless {@code -t} is given runs the selection once per thread count listed in the
+ * {@code threads} system property, by default a single thread and all available cores.
+ * <pre>
+ * java -Dthreads=1,2,4,8 -jar target/benchmarks.jar LookupBenchmark -p cardinality=1000
+ * </pre>
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers()
+                || commandLine.shouldListResultFormats() || commandLine.shouldListWithParams()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        if (commandLine.getThreads().hasValue()) {
+            new Runner(options(commandLine).build()).run();
+            return;
+        }
+        String threads = System.getProperty("threads", "1," + Runtime.getRuntime().availableProcessors());
+        for (String count : threads.split(",")) {
+            new Runner(options(commandLine).threads(Integer.parseInt(count.trim())).build()).run();
+        }
+    }
+
+    private static ChainedOptionsBuilder options(CommandLineOptions commandLine) {
+        return new OptionsBuilder().parent(commandLine).addProfiler(GCProfiler.class);
+    }
+}
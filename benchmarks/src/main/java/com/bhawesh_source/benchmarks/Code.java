@@ -0,0 +1,18 @@
+package com.bhawesh_source.benchmarks;
+
+import com.bhawesh_source.configs.FlexiEnum;
+
+/**
+ * FlexiEnum type used by the benchmarks, populated at runtime with generated values.
+ */
+public class Code extends FlexiEnum {
+    protected Code(String name) {
+        super(name);
+    }
+
+    public static final Code DEFAULT = new Code("DEFAULT");
+
+    static String name(int i) {
+        return "CODE_" + i;
+    }
+}
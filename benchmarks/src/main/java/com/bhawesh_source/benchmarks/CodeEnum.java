@@ -0,0 +1,15 @@
+package com.bhawesh_source.benchmarks;
+
+/**
+ * The {@link java.lang.Enum} baseline for {@link Code}. Enum.valueOf resolves names through a HashMap, so its cost
+ * does not depend on the number of constants and this small enum stands in for every cardinality.
+ */
+public enum CodeEnum {
+    CODE_0, CODE_1, CODE_2, CODE_3, CODE_4, CODE_5, CODE_6, CODE_7, CODE_8, CODE_9;
+
+    private static final CodeEnum[] VALUES = values();
+
+    static CodeEnum of(int i) {
+        return VALUES[i % VALUES.length];
+    }
+}
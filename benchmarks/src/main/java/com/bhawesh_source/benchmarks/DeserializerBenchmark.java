@@ -0,0 +1,68 @@
+package com.bhawesh_source.benchmarks;
+
+import com.bhawesh_source.configs.FlexiEnumDeserializer;
+import com.bhawesh_source.configs.FlexiEnumStore;
+import com.bhawesh_source.exception.FlexiEnumException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares resolving FlexiEnum values from the parser text buffer, as {@link FlexiEnumDeserializer} does,
+ * with materializing a String per token and looking it up through {@link FlexiEnumStore#valueOf(String, Class)}.
+ * Each invocation parses an array of 256 names.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeserializerBenchmark {
+    @Param({"10", "1000", "100000"})
+    private int cardinality;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final FlexiEnumDeserializer<Code> deserializer = new FlexiEnumDeserializer<>(Code.class);
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws FlexiEnumException, IOException {
+        Inputs.populate(cardinality);
+        Random random = new Random(42);
+        List<String> names = new ArrayList<>(Inputs.BATCH);
+        for (int i = 0; i < Inputs.BATCH; i++) {
+            names.add(Code.name(random.nextInt(cardinality)));
+        }
+        json = new ObjectMapper().writeValueAsBytes(names);
+    }
+
+    @Benchmark
+    public void parserBuffer(Blackhole blackhole) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.VALUE_STRING) {
+                blackhole.consume(deserializer.deserialize(parser, null));
+            }
+        }
+    }
+
+    @Benchmark
+    public void materializedString(Blackhole blackhole) throws IOException, FlexiEnumException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.VALUE_STRING) {
+                blackhole.consume(FlexiEnumStore.valueOf(parser.getText(), Code.class));
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.bhawesh_source.benchmarks;
+
+import com.bhawesh_source.configs.FlexiEnumStore;
+import com.bhawesh_source.exception.FlexiEnumException;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the store contents and lookup inputs shared by the benchmarks.
+ */
+final class Inputs {
+    static final int BATCH = 256;
+
+    private Inputs() {
+    }
+
+    /**
+     * Replaces the values of {@link Code} with {@code cardinality} generated values.
+     */
+    static void populate(int cardinality) throws FlexiEnumException {
+        FlexiEnumStore store = FlexiEnumStore.getInstance();
+        store.clearEnums(Code.class);
+        store.importEnums(Code.class, IntStream.range(0, cardinality).mapToObj(Code::name));
+    }
+
+    /**
+     * Picks {@link #BATCH} indexes below {@code cardinality}, replacing a {@code 1 - hitRatio} share of them with -1
+     * to stand for unknown names.
+     */
+    static int[] indexes(int cardinality, double hitRatio) {
+        Random random = new Random(42);
+        int[] indexes = new int[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            indexes[i] = random.nextDouble() < hitRatio ? random.nextInt(cardinality) : -1;
+        }
+        return indexes;
+    }
+
+    static String[] codeNames(int[] indexes) {
+        String[] names = new String[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            names[i] = indexes[i] < 0 ? "UNKNOWN_" + i : Code.name(indexes[i]);
+        }
+        return names;
+    }
+
+    static String[] enumNames(int[] indexes) {
+        String[] names = new String[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            names[i] = indexes[i] < 0 ? "UNKNOWN_" + i : CodeEnum.of(indexes[i]).name();
+        }
+        return names;
+    }
+}
@@ -0,0 +1,66 @@
+package com.bhawesh_source.benchmarks;
+
+import com.bhawesh_source.configs.FlexiEnumStore;
+import com.bhawesh_source.exception.FlexiEnumException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a Jackson round trip of an array of {@link Inputs#BATCH} FlexiEnum values through
+ * {@link com.bhawesh_source.configs.FlexiEnumSerializer} and {@link com.bhawesh_source.configs.FlexiEnumDeserializer},
+ * against the same round trip of java enum values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int cardinality;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private Code[] codes;
+    private CodeEnum[] enums;
+    private byte[] codesJson;
+    private byte[] enumsJson;
+
+    @Setup
+    public void setUp() throws FlexiEnumException, IOException {
+        Inputs.populate(cardinality);
+        int[] indexes = Inputs.indexes(cardinality, 1.0);
+        codes = new Code[indexes.length];
+        enums = new CodeEnum[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            codes[i] = FlexiEnumStore.valueOf(Code.name(indexes[i]), Code.class);
+            enums[i] = CodeEnum.of(indexes[i]);
+        }
+        codesJson = mapper.writeValueAsBytes(codes);
+        enumsJson = mapper.writeValueAsBytes(enums);
+    }
+
+    @Benchmark
+    public byte[] flexiEnumSerialize() throws IOException {
+        return mapper.writeValueAsBytes(codes);
+    }
+
+    @Benchmark
+    public byte[] enumSerialize() throws IOException {
+        return mapper.writeValueAsBytes(enums);
+    }
+
+    @Benchmark
+    public Code[] flexiEnumDeserialize() throws IOException {
+        return mapper.readValue(codesJson, Code[].class);
+    }
+
+    @Benchmark
+    public CodeEnum[] enumDeserialize() throws IOException {
+        return mapper.readValue(enumsJson, CodeEnum[].class);
+    }
+}
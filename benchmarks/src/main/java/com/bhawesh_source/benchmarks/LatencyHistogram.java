@@ -0,0 +1,72 @@
+package com.bhawesh_source.benchmarks;
+
+/**
+ * A log-linear histogram of latencies in nanoseconds for the {@link LoadGenerator}. Latencies below 64 ns are
+ * counted exactly, larger ones in 32 buckets per power of two, so percentiles are reported within about 3 percent.
+ * Histograms are written by a single thread and merged once the threads have stopped.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int LINEAR_LIMIT = 64;
+
+    private final long[] counts = new long[LINEAR_LIMIT + (63 - 6) * (1 << SUB_BUCKET_BITS)];
+    private long count;
+    private long max;
+
+    void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        counts[index(value)]++;
+        count++;
+        max = Math.max(max, value);
+    }
+
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        max = Math.max(max, other.max);
+    }
+
+    long count() {
+        return count;
+    }
+
+    long max() {
+        return max;
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 100.
+     * @return the upper bound of the bucket holding the percentile, 0 if nothing was recorded.
+     */
+    long percentile(double percentile) {
+        long rank = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return Math.min(max, upperBound(i));
+            }
+        }
+        return 0L;
+    }
+
+    private static int index(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & ((1 << SUB_BUCKET_BITS) - 1);
+        return LINEAR_LIMIT + ((exponent - 6) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    private static long upperBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = ((index - LINEAR_LIMIT) >>> SUB_BUCKET_BITS) + 6;
+        long subBucket = (index - LINEAR_LIMIT) & ((1 << SUB_BUCKET_BITS) - 1);
+        return ((1L << SUB_BUCKET_BITS | subBucket) + 1 << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,395 @@
+package com.bhawesh_source.benchmarks;
+
+import com.bhawesh_source.configs.FlexiEnumStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A load generator running reader threads against {@link FlexiEnumStore} while writer threads keep changing the
+ * values of {@link Code}, once per reader thread count. Unlike the JMH benchmarks it measures how reads scale across
+ * cores while reloads are happening, and checks that readers never observe a lost value or a torn reload.
+ * <p>
+ * Readers pick operations by weight among {@code find} (the lookup behind {@code valueOf}, without the exception
+ * for names removed by a clear), {@code values} and {@code deserialize} (a Jackson array of 16 names). Writers pick
+ * among {@code addEnum}, {@code replaceEnums} and {@code clearEnums}, pausing between writes. Every operation is
+ * timed, and each step reports the throughput and latency percentiles per operation, and the scaling efficiency of
+ * the reads, which is the read throughput per thread relative to the first step.
+ * <p>
+ * A reload replaces the values with {@code cardinality} pinned names plus the 16 names of a new generation, and a
+ * clear leaves the defaults only. Readers of {@code values} check that a listing holds the default, either all or
+ * none of the pinned names, and either none or all 16 names of a single generation. {@code find} and
+ * {@code deserialize} check that the default always resolves to its instance and that names resolve to a value of
+ * the same name. {@code addEnum} checks that an added value is found while no reload or clear overlapped.
+ * The run fails with exit code 1 if any check failed.
+ * <pre>
+ * java -Dthreads=1,2,4,8 -Dduration=10 -DreadMix=find=90,values=2,deserialize=8 \
+ *      -Dwriters=1 -DwriteMix=addEnum=80,replaceEnums=18,clearEnums=2 -DwriteIntervalMicros=200 \
+ *      -cp target/benchmarks.jar com.bhawesh_source.benchmarks.LoadGenerator
+ * </pre>
+ */
+public final class LoadGenerator {
+    private static final int GENERATION_SIZE = 16;
+    private static final int MAX_REPORTED_VIOLATIONS = 10;
+
+    private final int cardinality;
+    private final long warmupNanos;
+    private final long durationNanos;
+    private final int writers;
+    private final long writeIntervalNanos;
+    private final Map<String, Integer> readMix;
+    private final Map<String, Integer> writeMix;
+    private final FlexiEnumStore store = FlexiEnumStore.getInstance();
+    private final ObjectReader reader = new ObjectMapper().readerFor(Code[].class);
+    private final String[] pinned;
+    private final Set<String> pinnedNames;
+    private final byte[][] documents;
+    private final String[][] documentNames;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong reloadsStarted = new AtomicLong();
+    private final AtomicLong reloadsFinished = new AtomicLong();
+    private final AtomicLong violations = new AtomicLong();
+    private final Queue<String> violationMessages = new ConcurrentLinkedQueue<>();
+    private volatile boolean measuring;
+    private volatile boolean running;
+
+    private LoadGenerator() throws IOException {
+        this.cardinality = Integer.getInteger("cardinality", 1000);
+        this.warmupNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("warmup", 2));
+        this.durationNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("duration", 5));
+        this.writers = Integer.getInteger("writers", 1);
+        this.writeIntervalNanos = TimeUnit.MICROSECONDS.toNanos(Integer.getInteger("writeIntervalMicros", 200));
+        this.readMix = mix(System.getProperty("readMix", "find=90,values=2,deserialize=8"), "find", "values", "deserialize");
+        this.writeMix = mix(System.getProperty("writeMix", "addEnum=80,replaceEnums=18,clearEnums=2"), "addEnum", "replaceEnums", "clearEnums");
+        this.pinned = new String[cardinality];
+        this.pinnedNames = new LinkedHashSet<>();
+        for (int i = 0; i < cardinality; i++) {
+            pinned[i] = "PIN_" + i;
+            pinnedNames.add(pinned[i]);
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        this.documents = new byte[64][];
+        this.documentNames = new String[documents.length][];
+        for (int i = 0; i < documents.length; i++) {
+            String[] names = new String[16];
+            names[0] = Code.DEFAULT.name();
+            for (int j = 1; j < names.length; j++) {
+                names[j] = pinned[ThreadLocalRandom.current().nextInt(cardinality)];
+            }
+            documentNames[i] = names;
+            documents[i] = mapper.writeValueAsBytes(names);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadGenerator generator = new LoadGenerator();
+        String threads = System.getProperty("threads", defaultThreads());
+        List<String> summary = new ArrayList<>();
+        summary.add(String.format("%8s %14s %11s %12s %12s %11s", "readers", "reads/s", "efficiency", "read p99 us", "writes/s", "violations"));
+        double baseline = 0;
+        for (String count : threads.split(",")) {
+            int readers = Integer.parseInt(count.trim());
+            Step step = generator.run(readers);
+            double perThread = step.reads / (double) readers;
+            if (baseline == 0) {
+                baseline = perThread;
+            }
+            summary.add(String.format("%8d %,14.0f %10.0f%% %12.2f %,12.0f %11d", readers, step.reads,
+                    100.0 * perThread / baseline, step.readLatency.percentile(99) / 1000.0, step.writes, step.violations));
+        }
+        System.out.println();
+        for (String line : summary) {
+            System.out.println(line);
+        }
+        for (String message : generator.violationMessages) {
+            System.out.println("VIOLATION " + message);
+        }
+        if (generator.violations.get() > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs one step with the given number of reader threads and prints its report.
+     */
+    private Step run(int readers) throws Exception {
+        reload();
+        long violationsBefore = violations.get();
+        Worker[] workers = new Worker[readers + writers];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker(i, i >= readers);
+        }
+        running = true;
+        measuring = false;
+        for (Worker worker : workers) {
+            worker.start();
+        }
+        TimeUnit.NANOSECONDS.sleep(warmupNanos);
+        measuring = true;
+        long start = System.nanoTime();
+        TimeUnit.NANOSECONDS.sleep(durationNanos);
+        measuring = false;
+        double seconds = (System.nanoTime() - start) / 1e9;
+        running = false;
+        for (Worker worker : workers) {
+            worker.join();
+        }
+
+        Map<String, LatencyHistogram> latencies = new LinkedHashMap<>();
+        for (String operation : readMix.keySet()) {
+            latencies.put(operation, new LatencyHistogram());
+        }
+        for (String operation : writeMix.keySet()) {
+            latencies.put(operation, new LatencyHistogram());
+        }
+        Step step = new Step();
+        for (Worker worker : workers) {
+            for (Map.Entry<String, LatencyHistogram> entry : worker.latencies.entrySet()) {
+                latencies.get(entry.getKey()).add(entry.getValue());
+                (worker.writer ? step.writeLatency : step.readLatency).add(entry.getValue());
+            }
+        }
+        step.reads = step.readLatency.count() / seconds;
+        step.writes = step.writeLatency.count() / seconds;
+        step.violations = violations.get() - violationsBefore;
+
+        System.out.printf("%n== %d reader thread(s), %d writer thread(s), %.1f s ==%n", readers, writers, seconds);
+        System.out.printf("%-14s %14s %10s %10s %12s%n", "operation", "ops/s", "p50 us", "p99 us", "max us");
+        for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            System.out.printf("%-14s %,14.0f %10.2f %10.2f %12.2f%n", entry.getKey(), histogram.count() / seconds,
+                    histogram.percentile(50) / 1000.0, histogram.percentile(99) / 1000.0, histogram.max() / 1000.0);
+        }
+        return step;
+    }
+
+    private void read(String operation) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operation) {
+            case "find": {
+                int index = random.nextInt(cardinality + 1);
+                if (index == cardinality) {
+                    check(FlexiEnumStore.find(Code.DEFAULT.name(), Code.class) == Code.DEFAULT, "find lost the default value");
+                } else {
+                    Code code = FlexiEnumStore.find(pinned[index], Code.class);
+                    check(null == code || pinned[index].equals(code.name()), "find resolved " + pinned[index] + " to " + code);
+                }
+                break;
+            }
+            case "values":
+                checkListing(FlexiEnumStore.values(Code.class));
+                break;
+            case "deserialize": {
+                int index = random.nextInt(documents.length);
+                Code[] codes = reader.readValue(documents[index]);
+                check(codes[0] == Code.DEFAULT, "deserialize lost the default value");
+                for (int i = 1; i < codes.length; i++) {
+                    check(null == codes[i] || documentNames[index][i].equals(codes[i].name()),
+                            "deserialize resolved " + documentNames[index][i] + " to " + codes[i]);
+                }
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown read operation " + operation);
+        }
+    }
+
+    private void write(String operation, int writer, long sequence) throws Exception {
+        switch (operation) {
+            case "addEnum": {
+                String name = "ADD_" + writer + "_" + sequence;
+                long finished = reloadsFinished.get();
+                Code added = store.addEnum(Code.class, name);
+                Code found = FlexiEnumStore.find(name, Code.class);
+                if (reloadsStarted.get() == finished) {
+                    check(found == added, "addEnum lost " + name + " without a concurrent reload");
+                }
+                break;
+            }
+            case "replaceEnums":
+                reload();
+                break;
+            case "clearEnums":
+                reloadsStarted.incrementAndGet();
+                try {
+                    store.clearEnums(Code.class);
+                } finally {
+                    reloadsFinished.incrementAndGet();
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown write operation " + operation);
+        }
+    }
+
+    /**
+     * Replaces the values with the pinned names and the names of a new generation.
+     */
+    private void reload() throws Exception {
+        Set<String> names = new LinkedHashSet<>(pinnedNames);
+        long next = generation.incrementAndGet();
+        for (int i = 0; i < GENERATION_SIZE; i++) {
+            names.add("GEN_" + next + "_" + i);
+        }
+        reloadsStarted.incrementAndGet();
+        try {
+            store.replaceEnums(Code.class, names);
+        } finally {
+            reloadsFinished.incrementAndGet();
+        }
+    }
+
+    /**
+     * Checks that a listing shows the result of whole reloads and clears only.
+     */
+    private void checkListing(List<Code> values) {
+        boolean hasDefault = false;
+        int pinnedCount = 0;
+        int generationCount = 0;
+        String generationPrefix = null;
+        for (Code code : values) {
+            String name = code.name();
+            if (code == Code.DEFAULT) {
+                hasDefault = true;
+            } else if (name.startsWith("PIN_")) {
+                pinnedCount++;
+            } else if (name.startsWith("GEN_")) {
+                String prefix = name.substring(0, name.lastIndexOf('_') + 1);
+                if (null == generationPrefix) {
+                    generationPrefix = prefix;
+                }
+                check(prefix.equals(generationPrefix), "values mixed generations " + generationPrefix + " and " + prefix);
+                generationCount++;
+            }
+        }
+        check(hasDefault, "values lost the default value");
+        check(generationCount == 0 || generationCount == GENERATION_SIZE, "values held " + generationCount + " names of generation " + generationPrefix);
+        check(pinnedCount == (generationCount == 0 ? 0 : cardinality), "values held " + pinnedCount + " pinned names with " + generationCount + " generation names");
+    }
+
+    private void check(boolean condition, String message) {
+        if (!condition && violations.incrementAndGet() <= MAX_REPORTED_VIOLATIONS) {
+            violationMessages.add(message);
+        }
+    }
+
+    private static String defaultThreads() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        StringBuilder threads = new StringBuilder("1");
+        for (int count = 2; count < cores; count <<= 1) {
+            threads.append(',').append(count);
+        }
+        return cores > 1 ? threads.append(',').append(cores).toString() : threads.toString();
+    }
+
+    /**
+     * Parses weights such as {@code find=90,values=10}, keeping the given operations only.
+     */
+    private static Map<String, Integer> mix(String weights, String... operations) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String weight : weights.split(",")) {
+            String[] parts = weight.split("=");
+            mix.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        Map<String, Integer> known = new LinkedHashMap<>();
+        for (String operation : operations) {
+            Integer value = mix.remove(operation);
+            if (null != value && value > 0) {
+                known.put(operation, value);
+            }
+        }
+        if (!mix.isEmpty()) {
+            throw new IllegalArgumentException("Unknown operations " + mix.keySet());
+        }
+        if (known.isEmpty()) {
+            throw new IllegalArgumentException("No operation weighted in " + weights);
+        }
+        return known;
+    }
+
+    /**
+     * @return the index of an operation picked by weight, given the cumulative weights of the operations.
+     */
+    private static int pick(int[] bounds) {
+        int roll = ThreadLocalRandom.current().nextInt(bounds[bounds.length - 1]);
+        int index = 0;
+        while (roll >= bounds[index]) {
+            index++;
+        }
+        return index;
+    }
+
+    private static final class Step {
+        private final LatencyHistogram readLatency = new LatencyHistogram();
+        private final LatencyHistogram writeLatency = new LatencyHistogram();
+        private double reads;
+        private double writes;
+        private long violations;
+    }
+
+    /**
+     * A reader or writer thread, timing every operation while the step is measured.
+     */
+    private final class Worker extends Thread {
+        private final int id;
+        private final boolean writer;
+        private final Map<String, LatencyHistogram> latencies = new LinkedHashMap<>();
+
+        Worker(int id, boolean writer) {
+            super((writer ? "load-writer-" : "load-reader-") + id);
+            this.id = id;
+            this.writer = writer;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            Map<String, Integer> mix = writer ? writeMix : readMix;
+            String[] operations = mix.keySet().toArray(new String[0]);
+            int[] bounds = new int[operations.length];
+            LatencyHistogram[] histograms = new LatencyHistogram[operations.length];
+            int total = 0;
+            for (int i = 0; i < operations.length; i++) {
+                total += mix.get(operations[i]);
+                bounds[i] = total;
+                histograms[i] = new LatencyHistogram();
+                latencies.put(operations[i], histograms[i]);
+            }
+            long sequence = 0;
+            while (running) {
+                int index = pick(bounds);
+                String operation = operations[index];
+                long start = System.nanoTime();
+                try {
+                    if (writer) {
+                        write(operation, id, sequence++);
+                    } else {
+                        read(operation);
+                    }
+                } catch (Exception e) {
+                    check(false, operation + " failed with " + e);
+                }
+                long elapsed = System.nanoTime() - start;
+                if (measuring) {
+                    histograms[index].record(elapsed);
+                }
+                if (writer && writeIntervalNanos > 0) {
+                    LockSupport.parkNanos(writeIntervalNanos);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.bhawesh_source.benchmarks;
+
+import com.bhawesh_source.configs.FlexiEnumStore;
+import com.bhawesh_source.exception.FlexiEnumException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link FlexiEnumStore#valueOf(String, Class)} and {@link FlexiEnumStore#values(Class)} against
+ * {@link Enum#valueOf(Class, String)} and {@code values()} of a java enum.
+ * Each lookup invocation resolves {@link Inputs#BATCH} names, of which a {@code 1 - hitRatio} share is unknown.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int cardinality;
+
+    @Param({"1.0", "0.9"})
+    private double hitRatio;
+
+    private String[] codeNames;
+    private String[] enumNames;
+
+    @Setup
+    public void setUp() throws FlexiEnumException {
+        Inputs.populate(cardinality);
+        int[] indexes = Inputs.indexes(cardinality, hitRatio);
+        codeNames = Inputs.codeNames(indexes);
+        enumNames = Inputs.enumNames(indexes);
+    }
+
+    @Benchmark
+    public void flexiEnumValueOf(Blackhole blackhole) {
+        for (String name : codeNames) {
+            try {
+                blackhole.consume(FlexiEnumStore.valueOf(name, Code.class));
+            } catch (FlexiEnumException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void enumValueOf(Blackhole blackhole) {
+        for (String name : enumNames) {
+            try {
+                blackhole.consume(Enum.valueOf(CodeEnum.class, name));
+            } catch (IllegalArgumentException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object flexiEnumValues() {
+        return FlexiEnumStore.values(Code.class);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Object enumValues() {
+        return CodeEnum.values();
+    }
+}
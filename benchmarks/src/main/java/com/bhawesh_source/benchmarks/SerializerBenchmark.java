@@ -0,0 +1,71 @@
+package com.bhawesh_source.benchmarks;
+
+import com.bhawesh_source.configs.FlexiEnumSerializer;
+import com.bhawesh_source.configs.FlexiEnumStore;
+import com.bhawesh_source.exception.FlexiEnumException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing FlexiEnum names pre-encoded, as {@link FlexiEnumSerializer} does,
+ * with escaping and encoding the name String on every write. Each invocation writes an array of 256 values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializerBenchmark {
+    @Param({"10", "1000"})
+    private int cardinality;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final FlexiEnumSerializer serializer = new FlexiEnumSerializer();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+    private Code[] values;
+
+    @Setup
+    public void setUp() throws FlexiEnumException {
+        Inputs.populate(cardinality);
+        List<Code> codes = FlexiEnumStore.values(Code.class);
+        Random random = new Random(42);
+        values = new Code[Inputs.BATCH];
+        for (int i = 0; i < Inputs.BATCH; i++) {
+            values[i] = codes.get(random.nextInt(codes.size()));
+        }
+    }
+
+    @Benchmark
+    public int preEncoded() throws IOException {
+        out.reset();
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.writeStartArray();
+            for (Code value : values) {
+                serializer.serialize(value, generator, null);
+            }
+            generator.writeEndArray();
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public int nameString() throws IOException {
+        out.reset();
+        try (JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.writeStartArray();
+            for (Code value : values) {
+                generator.writeString(value.name());
+            }
+            generator.writeEndArray();
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,56 @@
+package com.bhawesh_source.benchmarks;
+
+import com.bhawesh_source.configs.FlexiEnumStore;
+import com.bhawesh_source.exception.FlexiEnumException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the write paths of {@link FlexiEnumStore}: adding a name which is already stored, bulk importing
+ * {@code cardinality} new names into a cleared type and replacing all values of a type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StoreBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int cardinality;
+
+    private final FlexiEnumStore store = FlexiEnumStore.getInstance();
+    private Set<String> names;
+    private String existing;
+
+    @Setup
+    public void setUp() throws FlexiEnumException {
+        Inputs.populate(cardinality);
+        names = IntStream.range(0, cardinality).mapToObj(i -> "NEW_" + i).collect(Collectors.toCollection(HashSet::new));
+        existing = Code.name(cardinality / 2);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Code addExistingEnum() throws FlexiEnumException {
+        return store.addEnum(Code.class, existing);
+    }
+
+    @Benchmark
+    public int importEnums() throws FlexiEnumException {
+        store.clearEnums(Code.class);
+        return store.importEnums(Code.class, names.stream());
+    }
+
+    @Benchmark
+    public void replaceEnums() throws ReflectiveOperationException {
+        store.replaceEnums(Code.class, names);
+        store.clearEnums(Code.class);
+    }
+}
@@ -0,0 +1,212 @@
+package com.bhawesh_source.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Generates a {@code FlexiEnumDefaults} registry for every {@code FlexiEnum} subtype being compiled, listing the
+ * public static final defaults of the type and calling its String parameter constructor, and registers the
+ * registries in {@code META-INF/services}. The store then loads defaults and creates instances without reflection.
+ * <p>
+ * Types are found without any annotation. Types whose defaults are not all accessible from their package, private
+ * and generic types and inner classes get no registry and keep using reflection. A type whose constructor is not
+ * accessible gets a registry listing only its defaults.
+ */
+@SupportedAnnotationTypes("*")
+public class FlexiEnumDefaultsProcessor extends AbstractProcessor {
+    static final String FLEXI_ENUM = "com.bhawesh_source.configs.FlexiEnum";
+    static final String DEFAULTS = "com.bhawesh_source.configs.FlexiEnumDefaults";
+    static final String SUFFIX = "_FlexiEnumDefaults";
+    private static final String SERVICE_FILE = "META-INF/services/" + DEFAULTS;
+
+    private final Set<String> registries = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement flexiEnum = processingEnv.getElementUtils().getTypeElement(FLEXI_ENUM);
+        if (null == flexiEnum) {
+            return false;
+        }
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            processType(type, flexiEnum.asType());
+        }
+        return false;
+    }
+
+    private void processType(TypeElement type, TypeMirror flexiEnum) {
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            processType(nested, flexiEnum);
+        }
+        if (type.getKind() != ElementKind.CLASS || !isFlexiEnum(type, flexiEnum)) {
+            return;
+        }
+        if (!isReachable(type) || !type.getTypeParameters().isEmpty()) {
+            note(type, "no FlexiEnum defaults registry generated for an inaccessible, generic or inner class");
+            return;
+        }
+        List<VariableElement> defaults = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) && modifiers.contains(Modifier.FINAL)
+                    && processingEnv.getTypeUtils().isSameType(field.asType(), type.asType())) {
+                if (modifiers.contains(Modifier.PRIVATE)) {
+                    note(field, "no FlexiEnum defaults registry generated for a type with private defaults");
+                    return;
+                }
+                defaults.add(field);
+            }
+        }
+        try {
+            writeRegistry(type, defaults, hasAccessibleConstructor(type));
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to generate FlexiEnum defaults registry: " + e, type);
+        }
+    }
+
+    private boolean isFlexiEnum(TypeElement type, TypeMirror flexiEnum) {
+        return !type.getQualifiedName().contentEquals(FLEXI_ENUM)
+                && processingEnv.getTypeUtils().isSubtype(processingEnv.getTypeUtils().erasure(type.asType()), flexiEnum);
+    }
+
+    /**
+     * @return whether generated code in the package of the type can refer to the type.
+     */
+    private static boolean isReachable(TypeElement type) {
+        Element element = type;
+        while (element instanceof TypeElement) {
+            TypeElement current = (TypeElement) element;
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (current.getNestingKind() == NestingKind.MEMBER && !current.getModifiers().contains(Modifier.STATIC)
+                    && current.getEnclosingElement().getKind() == ElementKind.CLASS) {
+                return false;
+            }
+            if (current.getNestingKind() == NestingKind.LOCAL || current.getNestingKind() == NestingKind.ANONYMOUS) {
+                return false;
+            }
+            element = current.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private boolean hasAccessibleConstructor(TypeElement type) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().size() == 1
+                    && constructor.getParameters().get(0).asType().toString().equals(String.class.getName())) {
+                return !constructor.getModifiers().contains(Modifier.PRIVATE);
+            }
+        }
+        return false;
+    }
+
+    private void writeRegistry(TypeElement type, List<VariableElement> defaults, boolean hasConstructor) throws IOException {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String typeName = type.getQualifiedName().toString();
+        String simpleName = (packageName.isEmpty() ? typeName : typeName.substring(packageName.length() + 1)).replace('.', '_') + SUFFIX;
+        String registryName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+        JavaFileObject source = processingEnv.getFiler().createSourceFile(registryName, type);
+        try (Writer out = source.openWriter()) {
+            if (!packageName.isEmpty()) {
+                out.write("package " + packageName + ";\n\n");
+            }
+            out.write("/**\n * Generated by " + getClass().getName() + ", lists the defaults of {@link " + typeName + "}.\n */\n");
+            out.write("public final class " + simpleName + " implements " + DEFAULTS + "<" + typeName + "> {\n\n");
+            out.write("    @Override\n    public Class<" + typeName + "> type() {\n        return " + typeName + ".class;\n    }\n\n");
+            out.write("    @Override\n    public java.util.List<" + typeName + "> defaults() {\n");
+            out.write("        return java.util.Arrays.<" + typeName + ">asList(");
+            for (int i = 0; i < defaults.size(); i++) {
+                out.write((i == 0 ? "" : ", ") + typeName + "." + defaults.get(i).getSimpleName());
+            }
+            out.write(");\n    }\n\n");
+            out.write("    @Override\n    public boolean hasConstructor() {\n        return " + hasConstructor + ";\n    }\n\n");
+            out.write("    @Override\n    public " + typeName + " newInstance(String name) {\n");
+            if (hasConstructor) {
+                out.write("        return new " + typeName + "(name);\n");
+            } else {
+                out.write("        throw new UnsupportedOperationException(\"" + typeName + " has no accessible String constructor\");\n");
+            }
+            out.write("    }\n}\n");
+        }
+        registries.add(registryName);
+    }
+
+    /**
+     * Writes the service file listing every generated registry, keeping the entries of earlier incremental builds.
+     */
+    private void writeServiceFile() {
+        if (registries.isEmpty()) {
+            return;
+        }
+        Filer filer = processingEnv.getFiler();
+        Set<String> entries = new TreeSet<>(registries);
+        try {
+            FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (!line.trim().isEmpty()) {
+                        entries.add(line.trim());
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // No service file from an earlier build
+        }
+        try {
+            FileObject serviceFile = filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer out = new OutputStreamWriter(serviceFile.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String entry : entries) {
+                    out.write(entry + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + SERVICE_FILE + ": " + e);
+        }
+    }
+
+    private void note(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, message, element);
+    }
+}
@@ -0,0 +1,94 @@
+package com.bhawesh_source.processor;
+
+import com.bhawesh_source.configs.FlexiEnum;
+import com.bhawesh_source.configs.FlexiEnumDefaults;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlexiEnumDefaultsProcessorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testGeneratesRegistryPerType() throws Exception {
+        source("shop/Currency.java",
+                "package shop;",
+                "public class Currency extends com.bhawesh_source.configs.FlexiEnum {",
+                "    protected Currency(String name) { super(name); }",
+                "    public static final Currency EUR = new Currency(\"EUR\");",
+                "    public static final Currency USD = new Currency(\"USD\");",
+                "    public static final String NOT_A_DEFAULT = \"X\";",
+                "    public static class Unit extends com.bhawesh_source.configs.FlexiEnum {",
+                "        private Unit(String name) { super(name); }",
+                "        public static final Unit CENT = new Unit(\"CENT\");",
+                "    }",
+                "    private static class Hidden extends com.bhawesh_source.configs.FlexiEnum {",
+                "        Hidden(String name) { super(name); }",
+                "    }",
+                "}");
+        source("shop/Secret.java",
+                "package shop;",
+                "public class Secret extends com.bhawesh_source.configs.FlexiEnum {",
+                "    Secret(String name) { super(name); }",
+                "    private static final Secret HIDDEN = new Secret(\"HIDDEN\");",
+                "}");
+
+        ClassLoader loader = compile();
+        List<FlexiEnumDefaults<?>> registries = new ArrayList<>();
+        for (FlexiEnumDefaults<?> registry : ServiceLoader.load(FlexiEnumDefaults.class, loader)) {
+            registries.add(registry);
+        }
+        List<String> types = registries.stream().map(registry -> registry.type().getName()).sorted().collect(Collectors.toList());
+        assertEquals(java.util.Arrays.asList("shop.Currency", "shop.Currency$Unit"), types, "Registries should be generated for accessible types only.");
+
+        FlexiEnumDefaults<?> currency = registries.stream().filter(registry -> registry.type().getName().equals("shop.Currency")).findFirst().get();
+        assertEquals(java.util.Arrays.asList("EUR", "USD"), currency.defaults().stream().map(FlexiEnum::name).collect(Collectors.toList()), "Defaults should be listed in declaration order.");
+        assertTrue(currency.hasConstructor(), "An accessible constructor should be called directly.");
+        assertEquals("GBP", currency.newInstance("GBP").name(), "The registry should create instances.");
+
+        FlexiEnumDefaults<?> unit = registries.stream().filter(registry -> registry.type().getName().equals("shop.Currency$Unit")).findFirst().get();
+        assertFalse(unit.hasConstructor(), "A private constructor should be left to reflection.");
+        assertThrows(UnsupportedOperationException.class, () -> unit.newInstance("EURO"));
+    }
+
+    private void source(String path, String... lines) throws Exception {
+        Path file = directory.resolve("src").resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ClassLoader compile() throws Exception {
+        Path classes = Files.createDirectories(directory.resolve("classes"));
+        List<String> arguments = new ArrayList<>();
+        arguments.add("-classpath");
+        arguments.add(System.getProperty("java.class.path"));
+        arguments.add("-processor");
+        arguments.add(FlexiEnumDefaultsProcessor.class.getName());
+        arguments.add("-d");
+        arguments.add(classes.toString());
+        try (java.util.stream.Stream<Path> sources = Files.walk(directory.resolve("src"))) {
+            sources.filter(Files::isRegularFile).forEach(file -> arguments.add(file.toString()));
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        int status = compiler.run(null, null, errors, arguments.toArray(new String[0]));
+        assertEquals(0, status, "Compilation should succeed: " + errors.toString("UTF-8"));
+        return new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader());
+    }
+}
@@ -1,8 +1,14 @@
 package com.bhawesh_source.configs;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
-import java.util.UUID;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
 
 /**
  * Extend this class to make any class enum which support both compile time and runtime/dynamic enums.
@@ -19,13 +25,22 @@ import java.util.UUID;
  * Note: Since this is still an enum, it is advisable to store all enums at the start of the application.
  * Default values are added FlexiEnumStore if any dynamic field is added. Or call {@link FlexiEnumStore#loadDefaultEnums(Class)} at start of application
  * It is advisable to use normal enums provided by java if you don't need flexi enums.
+ * The store keeps a single canonical instance per type and name, so enums obtained from {@link FlexiEnumStore}
+ * or through deserialization can be compared by identity. Instances created outside the store are still equal
+ * to the canonical instance of the same name.
+ * Enums are {@link Serializable} by name; a deserialized enum resolves to the canonical instance of its name.
+ * For compact binary encodings see {@link FlexiEnumCodec}.
  */
 
 
 @JsonSerialize(using = FlexiEnumSerializer.class)
-@JsonDeserialize(using = FlexiEnumDeserializer.class, as = FlexiEnum.class)
-public abstract class FlexiEnum {
+@JsonDeserialize(using = FlexiEnumDeserializer.class, keyUsing = FlexiEnumKeyDeserializer.class, as = FlexiEnum.class)
+public abstract class FlexiEnum implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final String name;
+    private transient int ordinal = -1;
+    private transient SerializableString serializedName;
 
     protected FlexiEnum(String name) {
         if (name == null || name.isEmpty()) {
@@ -38,6 +53,62 @@ public abstract class FlexiEnum {
         return this.name;
     }
 
+    /**
+     * Returns the ordinal of this enum, assigned by {@link FlexiEnumStore} when the enum is first registered.
+     * Default enums get the lowest ordinals in declaration order, runtime enums follow in registration order.
+     * Ordinals are dense per type and never reused, even after the enum is cleared from the store.
+     *
+     * @return the ordinal of this enum, or -1 if it was never registered.
+     */
+    public final int ordinal() {
+        return this.ordinal;
+    }
+
+    /**
+     * Called by the store when this enum is registered for the first time: assigns the ordinal and
+     * pre-encodes the name for {@link FlexiEnumSerializer}.
+     */
+    void register(int ordinal) {
+        SerializedString serializedName = new SerializedString(this.name);
+        serializedName.asQuotedUTF8();
+        this.serializedName = serializedName;
+        this.ordinal = ordinal;
+    }
+
+    /**
+     * @return the JSON encoded name, cached when the enum was registered.
+     */
+    SerializableString serializedName() {
+        SerializableString serializedName = this.serializedName;
+        return null != serializedName ? serializedName : new SerializedString(this.name);
+    }
+
+    /**
+     * Resolves a deserialized enum to the instance registered in {@link FlexiEnumStore} under its name,
+     * so Java serialization never creates duplicates of stored enums. A name which is not stored is kept as
+     * an unregistered instance, which is still equal to an enum of that name registered later.
+     *
+     * @return the canonical instance of the name, or this instance if the name is not stored.
+     * @throws ObjectStreamException never, declared as required by Java serialization.
+     */
+    protected Object readResolve() throws ObjectStreamException {
+        FlexiEnumStore store = FlexiEnumStore.getInstance();
+        FlexiEnumType<? extends FlexiEnum> enumType = store.getEnumType(getClass());
+        if (!enumType.isDefaultsLoaded()) {
+            store.loadDefaultEnums(getClass());
+        }
+        FlexiEnum registered = enumType.get(name);
+        return null != registered ? registered : this;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (name == null || name.isEmpty()) {
+            throw new InvalidObjectException("Name cannot be null or empty");
+        }
+        this.ordinal = -1;
+    }
+
     @Override
     public String toString() {
         return this.name;
@@ -0,0 +1,198 @@
+package com.bhawesh_source.configs;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A typed attribute of the values of {@link FlexiEnum} types, such as a display name, a legacy numeric code or a sort
+ * weight. Attribute values are kept by the store in columns indexed by ordinal, so reading the attribute of a value is
+ * an array access rather than a lookup in a separate map, and int and long attributes are stored unboxed.
+ * A {@link #uniqueInt(String) unique} int attribute also indexes the values by their key, resolving a key back to its
+ * value through a primitive hash table.
+ * <p>
+ * Attributes are identified by instance and each instance reserves a column slot, so they should be declared as
+ * constants, for example next to the defaults of the type:
+ * <pre>
+ * public static final FlexiEnumAttribute&lt;Integer&gt; CODE = FlexiEnumAttribute.uniqueInt("code");
+ * public static final FlexiEnumAttribute&lt;String&gt; LABEL = FlexiEnumAttribute.of("label", String.class);
+ * </pre>
+ * Attribute values are loaded along with the values through {@link FlexiEnumStore#addEnum(Class, String, FlexiEnumAttributes)}
+ * and {@link FlexiEnumStore#replaceEnums(Class, java.util.Map)}. They belong to the values of the global store and its scopes
+ * alike, as ordinals do, and reads go through the global store.
+ *
+ * @param <V> the type of the attribute values.
+ * @see FlexiEnumAttributes
+ */
+public final class FlexiEnumAttribute<V> {
+    private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+
+    enum Kind {INT, LONG, OBJECT}
+
+    private final String name;
+    private final Class<V> valueType;
+    private final Kind kind;
+    private final boolean unique;
+    private final int index;
+
+    private FlexiEnumAttribute(String name, Class<V> valueType, Kind kind, boolean unique) {
+        if (null == name || name.isEmpty()) {
+            throw new IllegalArgumentException("Name cannot be null or empty");
+        }
+        this.name = name;
+        this.valueType = valueType;
+        this.kind = kind;
+        this.unique = unique;
+        this.index = NEXT_INDEX.getAndIncrement();
+    }
+
+    /**
+     * @param name the name of the attribute.
+     * @return an int attribute, stored in an {@code int[]} column.
+     */
+    public static FlexiEnumAttribute<Integer> ofInt(String name) {
+        return new FlexiEnumAttribute<>(name, Integer.class, Kind.INT, false);
+    }
+
+    /**
+     * Creates an int attribute which no two values of a type share, such as a legacy numeric code. Values can be
+     * found by their key with {@link #find(Class, int)}.
+     *
+     * @param name the name of the attribute.
+     * @return a unique int attribute, stored in an {@code int[]} column and indexed by key.
+     */
+    public static FlexiEnumAttribute<Integer> uniqueInt(String name) {
+        return new FlexiEnumAttribute<>(name, Integer.class, Kind.INT, true);
+    }
+
+    /**
+     * @param name the name of the attribute.
+     * @return a long attribute, stored in a {@code long[]} column.
+     */
+    public static FlexiEnumAttribute<Long> ofLong(String name) {
+        return new FlexiEnumAttribute<>(name, Long.class, Kind.LONG, false);
+    }
+
+    /**
+     * @param name      the name of the attribute.
+     * @param valueType the class of the attribute values.
+     * @param <V>       the type of the attribute values.
+     * @return an attribute stored in an object column.
+     */
+    public static <V> FlexiEnumAttribute<V> of(String name, Class<V> valueType) {
+        if (null == valueType) {
+            throw new IllegalArgumentException("Value type cannot be null");
+        }
+        return new FlexiEnumAttribute<>(name, valueType, Kind.OBJECT, false);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<V> getValueType() {
+        return valueType;
+    }
+
+    /**
+     * @return whether no two values of a type may share a key of this attribute.
+     */
+    public boolean isUnique() {
+        return unique;
+    }
+
+    /**
+     * Reads the attribute of a value.
+     *
+     * @param flexiEnum the value.
+     * @return the attribute of the value, or null if it is not set or the value is not registered.
+     */
+    public V get(FlexiEnum flexiEnum) {
+        FlexiEnumType<?> enumType = enumType(flexiEnum);
+        return valueType.cast(enumType.columns().get(this, enumType.ordinalOf(flexiEnum)));
+    }
+
+    /**
+     * Reads an int attribute of a value without boxing.
+     *
+     * @param flexiEnum the value.
+     * @return the attribute of the value, or 0 if it is not set or the value is not registered.
+     * @throws IllegalStateException if this is not an int attribute.
+     */
+    public int getInt(FlexiEnum flexiEnum) {
+        checkKind(Kind.INT);
+        FlexiEnumType<?> enumType = enumType(flexiEnum);
+        return enumType.columns().getInt(this, enumType.ordinalOf(flexiEnum));
+    }
+
+    /**
+     * Reads a long attribute of a value without boxing.
+     *
+     * @param flexiEnum the value.
+     * @return the attribute of the value, or 0 if it is not set or the value is not registered.
+     * @throws IllegalStateException if this is not a long attribute.
+     */
+    public long getLong(FlexiEnum flexiEnum) {
+        checkKind(Kind.LONG);
+        FlexiEnumType<?> enumType = enumType(flexiEnum);
+        return enumType.columns().getLong(this, enumType.ordinalOf(flexiEnum));
+    }
+
+    /**
+     * @param flexiEnum the value.
+     * @return whether the attribute is set for the value.
+     */
+    public boolean isSet(FlexiEnum flexiEnum) {
+        FlexiEnumType<?> enumType = enumType(flexiEnum);
+        return enumType.columns().isSet(this, enumType.ordinalOf(flexiEnum));
+    }
+
+    /**
+     * Finds the value of a type holding a key of this unique attribute. Values removed from the store are not found.
+     *
+     * @param clazz the class of the value.
+     * @param key   the key to look up.
+     * @param <T>   the type of the FlexiEnum.
+     * @return the value holding the key, or null if no stored value holds it.
+     * @throws IllegalStateException if this is not a unique int attribute.
+     */
+    public <T extends FlexiEnum> T find(Class<T> clazz, int key) {
+        if (!unique) {
+            throw new IllegalStateException("Attribute " + name + " is not unique");
+        }
+        FlexiEnumType<T> enumType = FlexiEnumStore.getInstance().getEnumType(clazz);
+        int ordinal = enumType.columns().find(this, key);
+        if (ordinal < 0) {
+            return null;
+        }
+        T flexiEnum = enumType.get(ordinal);
+        return null != flexiEnum && enumType.snapshot().ordinalOf(flexiEnum.name()) == ordinal ? flexiEnum : null;
+    }
+
+    Kind kind() {
+        return kind;
+    }
+
+    /**
+     * @return the slot of the column of this attribute.
+     */
+    int index() {
+        return index;
+    }
+
+    private void checkKind(Kind expected) {
+        if (kind != expected) {
+            throw new IllegalStateException("Attribute " + name + " is not of type " + expected.name().toLowerCase());
+        }
+    }
+
+    private static FlexiEnumType<?> enumType(FlexiEnum flexiEnum) {
+        if (null == flexiEnum) {
+            throw new IllegalArgumentException("Value cannot be null");
+        }
+        return FlexiEnumStore.getInstance().getEnumType(flexiEnum.getClass());
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
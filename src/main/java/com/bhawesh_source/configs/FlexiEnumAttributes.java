@@ -0,0 +1,80 @@
+package com.bhawesh_source.configs;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An immutable set of {@link FlexiEnumAttribute} values of a single {@link FlexiEnum} value, loaded along with the
+ * value through {@link FlexiEnumStore#addEnum(Class, String, FlexiEnumAttributes)} or
+ * {@link FlexiEnumStore#replaceEnums(Class, Map)}.
+ * <pre>
+ * store.addEnum(Region.class, "asia", FlexiEnumAttributes.of(Region.CODE, 42).with(Region.LABEL, "Asia"));
+ * </pre>
+ * A null attribute value unsets the attribute.
+ */
+public final class FlexiEnumAttributes {
+    private static final FlexiEnumAttributes EMPTY = new FlexiEnumAttributes(Collections.<FlexiEnumAttribute<?>, Object>emptyMap());
+
+    private final Map<FlexiEnumAttribute<?>, Object> values;
+
+    private FlexiEnumAttributes(Map<FlexiEnumAttribute<?>, Object> values) {
+        this.values = values;
+    }
+
+    /**
+     * @return attributes without any value.
+     */
+    public static FlexiEnumAttributes empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param attribute the attribute.
+     * @param value     the value of the attribute, or null to unset it.
+     * @param <V>       the type of the attribute values.
+     * @return attributes holding a single value.
+     */
+    public static <V> FlexiEnumAttributes of(FlexiEnumAttribute<V> attribute, V value) {
+        return EMPTY.with(attribute, value);
+    }
+
+    /**
+     * @param attribute the attribute.
+     * @param value     the value of the attribute, or null to unset it.
+     * @param <V>       the type of the attribute values.
+     * @return a copy of these attributes with the given value, replacing any value of the same attribute.
+     */
+    public <V> FlexiEnumAttributes with(FlexiEnumAttribute<V> attribute, V value) {
+        if (null == attribute) {
+            throw new IllegalArgumentException("Attribute cannot be null");
+        }
+        if (null != value && !attribute.getValueType().isInstance(value)) {
+            throw new IllegalArgumentException("Value of attribute " + attribute.getName() + " must be a " + attribute.getValueType().getName());
+        }
+        Map<FlexiEnumAttribute<?>, Object> values = new LinkedHashMap<>(this.values);
+        values.put(attribute, value);
+        return new FlexiEnumAttributes(Collections.unmodifiableMap(values));
+    }
+
+    /**
+     * @param attribute the attribute.
+     * @param <V>       the type of the attribute values.
+     * @return the value of the attribute, or null if it is absent or unset.
+     */
+    public <V> V get(FlexiEnumAttribute<V> attribute) {
+        return attribute.getValueType().cast(values.get(attribute));
+    }
+
+    /**
+     * @return the attribute values in the order they were given, null values standing for unset attributes.
+     */
+    Map<FlexiEnumAttribute<?>, Object> values() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
@@ -0,0 +1,108 @@
+package com.bhawesh_source.configs;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A capacity policy bounding the runtime values of a {@link FlexiEnum} type, for types admitting values from
+ * untrusted input. Once a type holds more runtime values than the maximum size, values are evicted by least recent
+ * or least frequent use, and values not used for the expiry duration are evicted as well. Default values are never
+ * evicted and do not count towards the maximum size.
+ * <p>
+ * Lookups stamp the time of use and count uses on a sample of hits only, so recency and frequency are approximate.
+ * Under an expiry, a hit also stamps a value whose stamp is older than an eighth of the expiry, and values expire
+ * within an eighth of the expiry after it elapsed, never before. Evictions are carried out while values are registered or on {@link FlexiEnumStore#cleanUp(Class)}.
+ * Under {@link #lfu(int) LFU} a new value starts with the lowest frequency, so a flood of new values displaces
+ * other new values rather than the established ones.
+ * Evicted values leave the ordinal table. A {@link FlexiEnumSet} or {@link FlexiEnumMap} still holding one drops it
+ * once its ordinal no longer resolves, and can no longer add it.
+ *
+ * @see FlexiEnumStore#setCapacity(Class, FlexiEnumCapacity)
+ */
+public final class FlexiEnumCapacity {
+    private final int maximumSize;
+    private final boolean frequency;
+    private final long expireAfterAccessNanos;
+
+    private FlexiEnumCapacity(int maximumSize, boolean frequency, long expireAfterAccessNanos) {
+        this.maximumSize = maximumSize;
+        this.frequency = frequency;
+        this.expireAfterAccessNanos = expireAfterAccessNanos;
+    }
+
+    /**
+     * Bounds a type to a maximum number of runtime values, evicting the least recently used values.
+     *
+     * @param maximumSize the maximum number of runtime values.
+     * @return the capacity policy.
+     */
+    public static FlexiEnumCapacity lru(int maximumSize) {
+        return new FlexiEnumCapacity(checkSize(maximumSize), false, 0L);
+    }
+
+    /**
+     * Bounds a type to a maximum number of runtime values, evicting the least frequently used values.
+     *
+     * @param maximumSize the maximum number of runtime values.
+     * @return the capacity policy.
+     */
+    public static FlexiEnumCapacity lfu(int maximumSize) {
+        return new FlexiEnumCapacity(checkSize(maximumSize), true, 0L);
+    }
+
+    /**
+     * Evicts runtime values which were not used for the given duration, without a maximum size.
+     *
+     * @param duration the time after the last use a value expires.
+     * @param unit     the unit of the duration.
+     * @return the capacity policy.
+     */
+    public static FlexiEnumCapacity expireAfterAccess(long duration, TimeUnit unit) {
+        return new FlexiEnumCapacity(Integer.MAX_VALUE, false, checkDuration(duration, unit));
+    }
+
+    /**
+     * @param duration the time after the last use a value expires.
+     * @param unit     the unit of the duration.
+     * @return a copy of this policy which also evicts values not used for the given duration.
+     */
+    public FlexiEnumCapacity withExpireAfterAccess(long duration, TimeUnit unit) {
+        return new FlexiEnumCapacity(maximumSize, frequency, checkDuration(duration, unit));
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return whether the least frequently used values are evicted first, otherwise the least recently used.
+     */
+    public boolean isFrequencyBased() {
+        return frequency;
+    }
+
+    /**
+     * @return the time after the last use a value expires, 0 if values do not expire.
+     */
+    public long getExpireAfterAccessNanos() {
+        return expireAfterAccessNanos;
+    }
+
+    @Override
+    public String toString() {
+        return (frequency ? "LFU" : "LRU") + "(maximumSize=" + maximumSize + ", expireAfterAccessNanos=" + expireAfterAccessNanos + ")";
+    }
+
+    private static int checkSize(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size cannot be negative: " + maximumSize);
+        }
+        return maximumSize;
+    }
+
+    private static long checkDuration(long duration, TimeUnit unit) {
+        if (duration <= 0) {
+            throw new IllegalArgumentException("Expiry duration must be positive: " + duration);
+        }
+        return unit.toNanos(duration);
+    }
+}
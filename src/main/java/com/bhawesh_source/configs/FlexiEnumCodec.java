@@ -0,0 +1,352 @@
+package com.bhawesh_source.configs;
+
+import com.bhawesh_source.exception.FlexiEnumException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A compact binary encoding of {@link FlexiEnum} values for caches and internal protocols, over {@link DataOutput}
+ * and {@link DataInput} streams or {@link ByteBuffer}s.
+ * Ordinals are local to a process, so an {@link Encoder} gives every value a dense id of its stream, in order of
+ * first appearance, and sends the name of the value together with its id the first time the value appears and only
+ * the id afterwards. The matching {@link Decoder} builds the same dictionary while reading, so a repeated value costs
+ * one or two bytes and never touches a name lookup. Ids only depend on the number of distinct values in the stream,
+ * so neither side allocates in proportion to the ordinals of a sparse type, and a decoder accepts a new id only
+ * as the next one.
+ * <p>
+ * Every value is written as a varint of {@code (id + 1) << 1 | hasName}, followed by the varint length and
+ * the UTF-8 bytes of the name if {@code hasName} is set. Null is written as 0, an enum which is not registered
+ * as 1 followed by its name, which is resolved again on every occurrence.
+ * <p>
+ * An encoder and a decoder hold the dictionary of one stream or session and are not thread safe. Both sides must
+ * be created, or {@link Encoder#reset() reset}, at the start of a stream.
+ */
+public final class FlexiEnumCodec {
+
+    private FlexiEnumCodec() {
+    }
+
+    /**
+     * Creates an encoder for a new stream of values of the specified class type.
+     *
+     * @param clazz the class of the enums.
+     * @param <T>   the type of the FlexiEnum.
+     * @return an encoder with an empty dictionary.
+     */
+    public static <T extends FlexiEnum> Encoder<T> encoder(Class<T> clazz) {
+        return new Encoder<>(FlexiEnumStore.getInstance().getEnumType(clazz));
+    }
+
+    /**
+     * Creates a decoder for a new stream of values of the specified class type.
+     *
+     * @param clazz the class of the enums.
+     * @param <T>   the type of the FlexiEnum.
+     * @return a decoder with an empty dictionary.
+     */
+    public static <T extends FlexiEnum> Decoder<T> decoder(Class<T> clazz) {
+        FlexiEnumStore store = FlexiEnumStore.getInstance();
+        FlexiEnumType<T> enumType = store.getEnumType(clazz);
+        if (!enumType.isDefaultsLoaded()) {
+            store.loadDefaultEnums(clazz);
+        }
+        return new Decoder<>(enumType);
+    }
+
+    /**
+     * Writes values of one type to a stream, sending each name once.
+     *
+     * @param <T> the type of the FlexiEnum.
+     */
+    public static final class Encoder<T extends FlexiEnum> {
+        private final FlexiEnumType<T> enumType;
+        private int[] ordinals = new int[16];
+        private int[] ids = new int[16];
+        private int count;
+
+        private Encoder(FlexiEnumType<T> enumType) {
+            this.enumType = enumType;
+        }
+
+        /**
+         * Writes a value to a stream.
+         *
+         * @param out   the stream to write to.
+         * @param value the value to write, may be null.
+         * @throws IOException if the stream cannot be written.
+         */
+        public void write(DataOutput out, T value) throws IOException {
+            int ordinal = enumType.ordinalOf(value);
+            int id = idOf(ordinal);
+            byte[] name = nameToSend(value, id);
+            writeVarInt(out, header(ordinal, id, name));
+            if (null != name && ordinal >= 0) {
+                assign(ordinal);
+            }
+            if (null != name) {
+                writeVarInt(out, name.length);
+                out.write(name);
+            }
+        }
+
+        /**
+         * Writes a value to a buffer.
+         *
+         * @param buffer the buffer to write to.
+         * @param value  the value to write, may be null.
+         * @throws BufferOverflowException if the buffer has not enough room, the value is then neither written
+         *                                 nor added to the dictionary.
+         */
+        public void write(ByteBuffer buffer, T value) {
+            int ordinal = enumType.ordinalOf(value);
+            int id = idOf(ordinal);
+            byte[] name = nameToSend(value, id);
+            int header = header(ordinal, id, name);
+            int size = varIntSize(header) + (null == name ? 0 : varIntSize(name.length) + name.length);
+            if (buffer.remaining() < size) {
+                throw new BufferOverflowException();
+            }
+            if (null != name && ordinal >= 0) {
+                assign(ordinal);
+            }
+            writeVarInt(buffer, header);
+            if (null != name) {
+                writeVarInt(buffer, name.length);
+                buffer.put(name);
+            }
+        }
+
+        /**
+         * Forgets the names sent so far, for a new stream.
+         */
+        public void reset() {
+            Arrays.fill(ordinals, 0);
+            count = 0;
+        }
+
+        /**
+         * @return the UTF-8 name to send with the value, or null if the value is null or the peer already knows it.
+         */
+        private static byte[] nameToSend(FlexiEnum value, int id) {
+            return null == value || id >= 0 ? null : value.name().getBytes(StandardCharsets.UTF_8);
+        }
+
+        /**
+         * @return the header of a value, which is given the next id if its name is sent and it is registered.
+         */
+        private int header(int ordinal, int id, byte[] name) {
+            if (null == name) {
+                return (id + 1) << 1;
+            }
+            return ordinal < 0 ? 1 : ((count + 1) << 1) | 1;
+        }
+
+        /**
+         * Finds the id of an ordinal in an open addressing table keyed by the ordinal plus one.
+         *
+         * @return the id, or -1 if the ordinal was not sent yet.
+         */
+        private int idOf(int ordinal) {
+            if (ordinal < 0) {
+                return -1;
+            }
+            int mask = ordinals.length - 1;
+            for (int slot = spread(ordinal) & mask; ; slot = (slot + 1) & mask) {
+                if (ordinals[slot] == 0) {
+                    return -1;
+                }
+                if (ordinals[slot] == ordinal + 1) {
+                    return ids[slot];
+                }
+            }
+        }
+
+        /**
+         * Gives an ordinal which was not sent yet the next id.
+         */
+        private void assign(int ordinal) {
+            if ((count + 1) * 2 > ordinals.length) {
+                int[] oldOrdinals = ordinals;
+                int[] oldIds = ids;
+                ordinals = new int[oldOrdinals.length << 1];
+                ids = new int[oldOrdinals.length << 1];
+                for (int i = 0; i < oldOrdinals.length; i++) {
+                    if (oldOrdinals[i] != 0) {
+                        put(oldOrdinals[i], oldIds[i]);
+                    }
+                }
+            }
+            put(ordinal + 1, count++);
+        }
+
+        private void put(int key, int id) {
+            int mask = ordinals.length - 1;
+            int slot = spread(key - 1) & mask;
+            while (ordinals[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            ordinals[slot] = key;
+            ids[slot] = id;
+        }
+
+        private static int spread(int ordinal) {
+            int hash = ordinal * 0x9E3779B9;
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    /**
+     * Reads values of one type from a stream written by an {@link Encoder}.
+     *
+     * @param <T> the type of the FlexiEnum.
+     */
+    public static final class Decoder<T extends FlexiEnum> {
+        private final FlexiEnumType<T> enumType;
+        private FlexiEnum[] dictionary = new FlexiEnum[16];
+        private int size;
+
+        private Decoder(FlexiEnumType<T> enumType) {
+            this.enumType = enumType;
+        }
+
+        /**
+         * Reads a value from a stream.
+         *
+         * @param in the stream to read from.
+         * @return the canonical instance of the value, or null if null was written.
+         * @throws IOException if the stream cannot be read, is malformed or names an enum which is not stored.
+         */
+        public T read(DataInput in) throws IOException {
+            int header = readVarInt(in);
+            String name = null;
+            if ((header & 1) != 0) {
+                byte[] bytes = new byte[checkLength(readVarInt(in))];
+                in.readFully(bytes);
+                name = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return resolve(header, name);
+        }
+
+        /**
+         * Reads a value from a buffer.
+         *
+         * @param buffer the buffer to read from.
+         * @return the canonical instance of the value, or null if null was written.
+         * @throws IOException if the buffer is malformed or names an enum which is not stored.
+         */
+        public T read(ByteBuffer buffer) throws IOException {
+            try {
+                int header = readVarInt(buffer);
+                String name = null;
+                if ((header & 1) != 0) {
+                    byte[] bytes = new byte[checkLength(readVarInt(buffer))];
+                    buffer.get(bytes);
+                    name = new String(bytes, StandardCharsets.UTF_8);
+                }
+                return resolve(header, name);
+            } catch (BufferUnderflowException e) {
+                throw new IOException("Truncated FlexiEnum value of " + enumType.type().getName(), e);
+            }
+        }
+
+        /**
+         * Forgets the names received so far, for a new stream.
+         */
+        public void reset() {
+            Arrays.fill(dictionary, 0, size, null);
+            size = 0;
+        }
+
+        private T resolve(int header, String name) throws IOException {
+            int id = (header >>> 1) - 1;
+            if (null == name) {
+                if (id < 0) {
+                    return null;
+                }
+                if (id >= size) {
+                    throw new IOException("Unknown id " + id + " of " + enumType.type().getName() + " in stream");
+                }
+                return enumType.type().cast(dictionary[id]);
+            }
+            if (id >= 0 && id != size) {
+                throw new IOException("Unexpected new id " + id + " of " + enumType.type().getName() + " in stream, expected " + size);
+            }
+            T value;
+            try {
+                value = FlexiEnumStore.valueOf(name, enumType, FlexiEnumLookup.EXACT);
+            } catch (FlexiEnumException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+            if (id >= 0) {
+                if (size == dictionary.length) {
+                    dictionary = Arrays.copyOf(dictionary, size << 1);
+                }
+                dictionary[size++] = value;
+            }
+            return value;
+        }
+
+        private int checkLength(int length) throws IOException {
+            if (length <= 0) {
+                throw new IOException("Invalid name length " + length + " of " + enumType.type().getName() + " in stream");
+            }
+            return length;
+        }
+    }
+
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static void writeVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in FlexiEnum stream");
+    }
+
+    private static int readVarInt(ByteBuffer buffer) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in FlexiEnum stream");
+    }
+}
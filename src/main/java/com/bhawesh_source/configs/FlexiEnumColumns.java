@@ -0,0 +1,305 @@
+package com.bhawesh_source.configs;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * The immutable attribute columns of a {@link FlexiEnum} type. Each {@link FlexiEnumAttribute} owns a column in the
+ * slot of its index, holding its values in a primitive or object array indexed by ordinal and a bit set of the
+ * ordinals it is set for. Unique int columns also hold a primitive open addressing table from key to ordinal.
+ * <p>
+ * Writers copy the columns they change and publish the copy, so readers never lock and a failed update leaves the
+ * published columns untouched.
+ */
+final class FlexiEnumColumns {
+    static final FlexiEnumColumns EMPTY = new FlexiEnumColumns(new Column[0]);
+
+    private final Column[] columns;
+
+    private FlexiEnumColumns(Column[] columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * @return the boxed attribute of an ordinal, or null if it is not set.
+     */
+    Object get(FlexiEnumAttribute<?> attribute, int ordinal) {
+        Column column = column(attribute);
+        return null != column && column.isSet(ordinal) ? column.get(ordinal) : null;
+    }
+
+    /**
+     * @return the int attribute of an ordinal, or 0 if it is not set.
+     */
+    int getInt(FlexiEnumAttribute<?> attribute, int ordinal) {
+        Column column = column(attribute);
+        return null != column && column.isSet(ordinal) ? column.ints[ordinal] : 0;
+    }
+
+    /**
+     * @return the long attribute of an ordinal, or 0 if it is not set.
+     */
+    long getLong(FlexiEnumAttribute<?> attribute, int ordinal) {
+        Column column = column(attribute);
+        return null != column && column.isSet(ordinal) ? column.longs[ordinal] : 0L;
+    }
+
+    boolean isSet(FlexiEnumAttribute<?> attribute, int ordinal) {
+        Column column = column(attribute);
+        return null != column && column.isSet(ordinal);
+    }
+
+    /**
+     * @return the ordinal holding a key of a unique attribute, or -1. The ordinal may belong to a removed value.
+     */
+    int find(FlexiEnumAttribute<?> attribute, int key) {
+        Column column = column(attribute);
+        return null != column ? column.keys.get(key) : -1;
+    }
+
+    /**
+     * Returns a copy of these columns with the attributes of the given ordinals set. Keys of unique attributes are
+     * checked in order, so a key can only move to another value once the value holding it gave it up or was removed.
+     *
+     * @param ordinals   the ordinals to set attributes for.
+     * @param attributes the attributes of each ordinal, null values unsetting an attribute.
+     * @param replace    whether to start from empty columns, dropping the attributes of every other ordinal.
+     * @param live       tells whether the value of an ordinal is still stored, so its unique keys can be taken over.
+     * @return the updated columns.
+     * @throws IllegalArgumentException if a unique key is held by another stored value.
+     */
+    FlexiEnumColumns update(int[] ordinals, FlexiEnumAttributes[] attributes, boolean replace, IntPredicate live) {
+        int bound = 0;
+        for (int ordinal : ordinals) {
+            bound = Math.max(bound, ordinal + 1);
+        }
+        Column[] columns = replace ? new Column[0] : this.columns;
+        Set<Column> copies = Collections.newSetFromMap(new IdentityHashMap<Column, Boolean>());
+        for (int i = 0; i < ordinals.length; i++) {
+            for (Map.Entry<FlexiEnumAttribute<?>, Object> entry : attributes[i].values().entrySet()) {
+                FlexiEnumAttribute<?> attribute = entry.getKey();
+                if (attribute.index() >= columns.length) {
+                    columns = Arrays.copyOf(columns, attribute.index() + 1);
+                } else if (columns == this.columns) {
+                    columns = columns.clone();
+                }
+                Column column = columns[attribute.index()];
+                if (!copies.contains(column)) {
+                    column = null == column ? new Column(attribute, bound) : column.copy(bound);
+                    columns[attribute.index()] = column;
+                    copies.add(column);
+                }
+                column.set(ordinals[i], entry.getValue(), live);
+            }
+        }
+        return columns == this.columns ? this : new FlexiEnumColumns(columns);
+    }
+
+    /**
+     * Checks that no two of the given attribute sets share a key of a unique attribute.
+     *
+     * @param attributes the attribute sets to check.
+     * @throws IllegalArgumentException if a key is shared.
+     */
+    static void checkUnique(Collection<FlexiEnumAttributes> attributes) {
+        Map<FlexiEnumAttribute<?>, Set<Object>> keys = new HashMap<>();
+        for (FlexiEnumAttributes values : attributes) {
+            for (Map.Entry<FlexiEnumAttribute<?>, Object> entry : values.values().entrySet()) {
+                if (entry.getKey().isUnique() && null != entry.getValue()
+                        && !keys.computeIfAbsent(entry.getKey(), attribute -> new HashSet<>()).add(entry.getValue())) {
+                    throw duplicateKey(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    private Column column(FlexiEnumAttribute<?> attribute) {
+        Column[] columns = this.columns;
+        return attribute.index() < columns.length ? columns[attribute.index()] : null;
+    }
+
+    private static IllegalArgumentException duplicateKey(FlexiEnumAttribute<?> attribute, Object key) {
+        return new IllegalArgumentException("Key " + key + " of unique attribute " + attribute.getName() + " is already held by another value");
+    }
+
+    /**
+     * The values of one attribute by ordinal. Only the array of the kind of the attribute is allocated.
+     */
+    private static final class Column {
+        private final FlexiEnumAttribute<?> attribute;
+        private final long[] set;
+        private final int[] ints;
+        private final long[] longs;
+        private final Object[] objects;
+        private final KeyIndex keys;
+
+        Column(FlexiEnumAttribute<?> attribute, int capacity) {
+            this(attribute, new long[(capacity + 63) >>> 6],
+                    attribute.kind() == FlexiEnumAttribute.Kind.INT ? new int[capacity] : null,
+                    attribute.kind() == FlexiEnumAttribute.Kind.LONG ? new long[capacity] : null,
+                    attribute.kind() == FlexiEnumAttribute.Kind.OBJECT ? new Object[capacity] : null,
+                    attribute.isUnique() ? new KeyIndex(16) : null);
+        }
+
+        private Column(FlexiEnumAttribute<?> attribute, long[] set, int[] ints, long[] longs, Object[] objects, KeyIndex keys) {
+            this.attribute = attribute;
+            this.set = set;
+            this.ints = ints;
+            this.longs = longs;
+            this.objects = objects;
+            this.keys = keys;
+        }
+
+        /**
+         * @return a copy of this column holding at least the given number of ordinals.
+         */
+        Column copy(int capacity) {
+            int length = Math.max(capacity, set.length << 6);
+            return new Column(attribute, Arrays.copyOf(set, (length + 63) >>> 6),
+                    null == ints ? null : Arrays.copyOf(ints, length),
+                    null == longs ? null : Arrays.copyOf(longs, length),
+                    null == objects ? null : Arrays.copyOf(objects, length),
+                    null == keys ? null : keys.copy());
+        }
+
+        boolean isSet(int ordinal) {
+            return ordinal >= 0 && (ordinal >>> 6) < set.length && (set[ordinal >>> 6] & (1L << ordinal)) != 0;
+        }
+
+        Object get(int ordinal) {
+            if (null != ints) {
+                return ints[ordinal];
+            }
+            return null != longs ? (Object) longs[ordinal] : objects[ordinal];
+        }
+
+        void set(int ordinal, Object value, IntPredicate live) {
+            if (null != keys && isSet(ordinal) && keys.get(ints[ordinal]) == ordinal) {
+                keys.remove(ints[ordinal]);
+            }
+            if (null == value) {
+                set[ordinal >>> 6] &= ~(1L << ordinal);
+                if (null != objects) {
+                    objects[ordinal] = null;
+                }
+                return;
+            }
+            if (null != keys) {
+                int key = (Integer) value;
+                int holder = keys.get(key);
+                if (holder >= 0 && holder != ordinal && live.test(holder)) {
+                    throw duplicateKey(attribute, key);
+                }
+                keys.put(key, ordinal);
+            }
+            if (null != ints) {
+                ints[ordinal] = (Integer) value;
+            } else if (null != longs) {
+                longs[ordinal] = (Long) value;
+            } else {
+                objects[ordinal] = value;
+            }
+            set[ordinal >>> 6] |= 1L << ordinal;
+        }
+    }
+
+    /**
+     * An open addressing table from int keys to ordinals with linear probing. Slots hold the ordinal plus one, so a
+     * zero slot is empty, and removals shift the following entries back instead of leaving tombstones.
+     */
+    private static final class KeyIndex {
+        private int[] keys;
+        private int[] ordinals;
+        private int size;
+
+        KeyIndex(int capacity) {
+            this.keys = new int[capacity];
+            this.ordinals = new int[capacity];
+        }
+
+        private KeyIndex(int[] keys, int[] ordinals, int size) {
+            this.keys = keys;
+            this.ordinals = ordinals;
+            this.size = size;
+        }
+
+        KeyIndex copy() {
+            return new KeyIndex(keys.clone(), ordinals.clone(), size);
+        }
+
+        int get(int key) {
+            int mask = keys.length - 1;
+            for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+                int ordinal = ordinals[slot];
+                if (ordinal == 0) {
+                    return -1;
+                }
+                if (keys[slot] == key) {
+                    return ordinal - 1;
+                }
+            }
+        }
+
+        void put(int key, int ordinal) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (ordinals[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (ordinals[slot] == 0) {
+                size++;
+            }
+            keys[slot] = key;
+            ordinals[slot] = ordinal + 1;
+        }
+
+        void remove(int key) {
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (keys[slot] != key || ordinals[slot] == 0) {
+                if (ordinals[slot] == 0) {
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            for (int next = (slot + 1) & mask; ordinals[next] != 0; next = (next + 1) & mask) {
+                int home = mix(keys[next]) & mask;
+                if (((next - home) & mask) >= ((next - slot) & mask)) {
+                    keys[slot] = keys[next];
+                    ordinals[slot] = ordinals[next];
+                    slot = next;
+                }
+            }
+            ordinals[slot] = 0;
+            size--;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldOrdinals = ordinals;
+            keys = new int[oldKeys.length << 1];
+            ordinals = new int[oldKeys.length << 1];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldOrdinals[i] != 0) {
+                    put(oldKeys[i], oldOrdinals[i] - 1);
+                }
+            }
+        }
+
+        private static int mix(int key) {
+            int hash = key * 0x9E3779B9;
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.bhawesh_source.configs;
+
+import java.util.List;
+
+/**
+ * A registry of the default values and the constructor of one {@link FlexiEnum} subtype, generated at compile time
+ * by the FlexiEnum annotation processor and found through {@link java.util.ServiceLoader}.
+ * When a registry of a type is present, {@link FlexiEnumStore} reads the defaults and creates instances through it
+ * instead of reflecting over the fields and constructor of the type. Types without a registry keep using reflection.
+ * <p>
+ * Registries are listed in {@code META-INF/services/com.bhawesh_source.configs.FlexiEnumDefaults}.
+ *
+ * @param <T> the type of the FlexiEnum.
+ */
+public interface FlexiEnumDefaults<T extends FlexiEnum> {
+
+    /**
+     * @return the class whose defaults this registry lists.
+     */
+    Class<T> type();
+
+    /**
+     * @return the values of the public static final fields of the type, in declaration order.
+     */
+    List<T> defaults();
+
+    /**
+     * @return whether {@link #newInstance(String)} can be used, false if the String parameter constructor is not
+     * accessible to generated code, in which case the store falls back to reflection.
+     */
+    boolean hasConstructor();
+
+    /**
+     * Creates an instance through the String parameter constructor of the type.
+     *
+     * @param name the name of the enum.
+     * @return the created enum.
+     * @throws UnsupportedOperationException if {@link #hasConstructor()} is false.
+     */
+    T newInstance(String name);
+}
@@ -0,0 +1,66 @@
+package com.bhawesh_source.configs;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.WeakHashMap;
+
+/**
+ * Finds the generated {@link FlexiEnumDefaults} registry of a type.
+ * The registries visible to a class loader are loaded once per loader and indexed by type, so resolving the
+ * registries of many types costs a single service scan. The index is softly held, as it references classes of the
+ * loader: it survives collections while types are initialized, and is only cleared under memory pressure, which
+ * lets an unused loader be unloaded. The registry found for a type is kept with the type itself.
+ */
+@Slf4j
+final class FlexiEnumDefaultsLoader {
+    private static final Map<ClassLoader, SoftReference<Map<Class<?>, FlexiEnumDefaults<?>>>> REGISTRIES = new WeakHashMap<>();
+    private static final ClassValue<FlexiEnumDefaults<?>> DEFAULTS = new ClassValue<FlexiEnumDefaults<?>>() {
+        @Override
+        protected FlexiEnumDefaults<?> computeValue(Class<?> type) {
+            ClassLoader loader = type.getClassLoader();
+            return null == loader ? null : registries(loader).get(type);
+        }
+    };
+
+    private FlexiEnumDefaultsLoader() {
+    }
+
+    /**
+     * @param clazz the class of the enums.
+     * @param <T>   the type of the FlexiEnum.
+     * @return the generated registry of the type, or null if the type has none.
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends FlexiEnum> FlexiEnumDefaults<T> find(Class<T> clazz) {
+        return (FlexiEnumDefaults<T>) DEFAULTS.get(clazz);
+    }
+
+    private static synchronized Map<Class<?>, FlexiEnumDefaults<?>> registries(ClassLoader loader) {
+        SoftReference<Map<Class<?>, FlexiEnumDefaults<?>>> reference = REGISTRIES.get(loader);
+        Map<Class<?>, FlexiEnumDefaults<?>> registries = null == reference ? null : reference.get();
+        if (null == registries) {
+            registries = new HashMap<>();
+            @SuppressWarnings("rawtypes")
+            Iterator<FlexiEnumDefaults> providers = ServiceLoader.load(FlexiEnumDefaults.class, loader).iterator();
+            while (true) {
+                try {
+                    if (!providers.hasNext()) {
+                        break;
+                    }
+                    FlexiEnumDefaults<?> defaults = providers.next();
+                    registries.putIfAbsent(defaults.type(), defaults);
+                } catch (ServiceConfigurationError | LinkageError e) {
+                    log.error("Failed to load a FlexiEnum defaults registry, its type falls back to reflection", e);
+                }
+            }
+            REGISTRIES.put(loader, new SoftReference<>(registries));
+        }
+        return registries;
+    }
+}
@@ -1,14 +1,18 @@
 package com.bhawesh_source.configs;
 
 import com.bhawesh_source.exception.FlexiEnumException;
+import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.BeanProperty;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
 
@@ -20,20 +24,71 @@ import java.io.IOException;
  */
 @Slf4j
 public class FlexiEnumDeserializer<T extends FlexiEnum> extends StdDeserializer<T> implements ContextualDeserializer {
+    private static final ClassValue<FlexiEnumDeserializer<?>[]> DESERIALIZERS = new ClassValue<FlexiEnumDeserializer<?>[]>() {
+        @Override
+        protected FlexiEnumDeserializer<?>[] computeValue(Class<?> type) {
+            return new FlexiEnumDeserializer<?>[FlexiEnumLookup.values().length + 1];
+        }
+    };
 
     private final Class<T> clazz;
+    private final FlexiEnumType<T> enumType;
+    private final FlexiEnumLookup lookup;
 
     public FlexiEnumDeserializer() {
         this(null);
     }
 
     public FlexiEnumDeserializer(Class<T> clazz) {
+        this(clazz, null);
+    }
+
+    /**
+     * @param clazz  the class of the enums to deserialize.
+     * @param lookup the mode to match names with, or null to use the lookup mode of the type.
+     */
+    public FlexiEnumDeserializer(Class<T> clazz, FlexiEnumLookup lookup) {
         super(clazz);
         this.clazz = clazz;
+        this.enumType = null != clazz && FlexiEnum.class.isAssignableFrom(clazz) ? FlexiEnumStore.getInstance().getEnumType(clazz) : null;
+        this.lookup = lookup;
+    }
+
+    /**
+     * Returns the deserializer of a type and lookup mode, shared by every mapper and property. Concurrent first uses
+     * may create it twice, which is harmless since deserializers are immutable.
+     *
+     * @param clazz  the class of the enums to deserialize.
+     * @param lookup the mode to match names with, or null to use the lookup mode of the type.
+     * @param <T>    the type of the FlexiEnum.
+     * @return the deserializer.
+     */
+    static <T extends FlexiEnum> FlexiEnumDeserializer<T> forType(Class<T> clazz, FlexiEnumLookup lookup) {
+        FlexiEnumDeserializer<?>[] deserializers = DESERIALIZERS.get(clazz);
+        int slot = null == lookup ? 0 : lookup.ordinal() + 1;
+        FlexiEnumDeserializer<?> deserializer = deserializers[slot];
+        if (null == deserializer) {
+            deserializer = new FlexiEnumDeserializer<>(clazz, lookup);
+            deserializers[slot] = deserializer;
+        }
+        @SuppressWarnings("unchecked")
+        FlexiEnumDeserializer<T> typed = (FlexiEnumDeserializer<T>) deserializer;
+        return typed;
+    }
+
+    /**
+     * @return the mode names are matched with, or null for the lookup mode of the type.
+     */
+    FlexiEnumLookup lookup() {
+        return lookup;
     }
 
     /**
      * Deserializes a JSON string into a FlexiEnum instance.
+     * String tokens are matched straight against the text buffer of the parser, so a known name is resolved
+     * without materializing a String. Numbers and booleans are matched by their text, other tokens such as objects
+     * and arrays are reported as unexpected. Unknown names are handled by the {@link FlexiEnumMissPolicy} of the type
+     * without throwing, unless the policy is {@link FlexiEnumMissPolicy#FAIL}.
      *
      * @param p    the JSON parser.
      * @param ctxt the deserialization context.
@@ -42,20 +97,97 @@ public class FlexiEnumDeserializer<T extends FlexiEnum> extends StdDeserializer<
      */
     @Override
     public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        try {
-            return FlexiEnumStore.valueOf(p.getText(), clazz);
-        } catch (FlexiEnumException e) {
-            log.error("Error Deserializing for clazz:{}", clazz);
-            return null;
+        if (!isName(p.currentToken())) {
+            @SuppressWarnings("unchecked")
+            T unexpected = (T) ctxt.handleUnexpectedToken(clazz, p);
+            return unexpected;
+        }
+        FlexiEnumLookup lookup = null != this.lookup || null == enumType ? this.lookup : enumType.lookup();
+        if (null == enumType) {
+            try {
+                return null != lookup ? FlexiEnumStore.valueOf(p.getText(), clazz, lookup) : FlexiEnumStore.valueOf(p.getText(), clazz);
+            } catch (FlexiEnumException e) {
+                log.error("Error Deserializing for clazz:{}", clazz);
+                return null;
+            }
+        }
+        T flexiEnum;
+        if (p.hasToken(JsonToken.VALUE_STRING)) {
+            flexiEnum = FlexiEnumMetrics.enabled
+                    ? enumType.statistics().find(enumType.snapshot(), p.getTextCharacters(), p.getTextOffset(), p.getTextLength(), lookup)
+                    : enumType.snapshot().find(p.getTextCharacters(), p.getTextOffset(), p.getTextLength(), lookup);
+            enumType.recordAccess(flexiEnum);
+        } else {
+            flexiEnum = FlexiEnumStore.find(p.getText(), enumType, lookup);
+        }
+        if (null != flexiEnum) {
+            return flexiEnum;
         }
+        String name = p.getText();
+        return StringUtils.isEmpty(name) ? null : miss(enumType, name, false, ctxt);
     }
 
     /**
-     * Creates a contextual deserializer to handle nested or specific types.
+     * @return whether the token is a scalar whose text can be a name.
+     */
+    private static boolean isName(JsonToken token) {
+        return token == JsonToken.VALUE_STRING || token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT
+                || token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE;
+    }
+
+    /**
+     * Applies the miss policy of a type to an unknown name, read as a value or as a map key.
+     */
+    static <T extends FlexiEnum> T miss(FlexiEnumType<T> enumType, String name, boolean key, DeserializationContext ctxt) throws IOException {
+        if (FlexiEnumMetrics.enabled) {
+            enumType.statistics().recordDeserializationMiss();
+        }
+        FlexiEnumMissPolicy policy = enumType.missPolicy();
+        switch (policy) {
+            case FAIL:
+                throw key
+                        ? ctxt.weirdKeyException(enumType.type(), name, "not a registered name")
+                        : ctxt.weirdStringException(name, enumType.type(), "not a registered name");
+            case REGISTER:
+                try {
+                    return FlexiEnumStore.getInstance().addEnum(enumType.type(), name);
+                } catch (FlexiEnumException e) {
+                    logMiss(enumType, name, policy);
+                    return null;
+                }
+            case DEFAULT:
+                logMiss(enumType, name, policy);
+                return enumType.missDefault();
+            default:
+                logMiss(enumType, name, policy);
+                return null;
+        }
+    }
+
+    /**
+     * Logs an unknown name if no miss of the type was logged during the last interval, without a stack trace.
+     */
+    private static void logMiss(FlexiEnumType<?> enumType, String name, FlexiEnumMissPolicy policy) {
+        long misses = enumType.recordMiss();
+        if (misses > 0) {
+            log.warn("Unknown value \"{}\" for clazz:{} handled as {}, {} unknown values since the last report", name, enumType.type(), policy, misses);
+        }
+    }
+
+    @Override
+    public boolean isCachable() {
+        return true;
+    }
+
+    /**
+     * Returns the contextual deserializer to handle nested or specific types, shared per type and lookup mode.
+     * Names are matched case insensitively if the property is annotated with
+     * {@code @JsonFormat(with = JsonFormat.Feature.ACCEPT_CASE_INSENSITIVE_VALUES)} or
+     * {@link MapperFeature#ACCEPT_CASE_INSENSITIVE_ENUMS} is enabled.
      *
      * @param ctxt     the deserialization context.
      * @param property the property associated with the deserializer.
-     * @return a new deserializer instance for the specific type.
+     * @return the deserializer for the specific type.
      */
     @Override
     public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) {
@@ -68,6 +200,13 @@ public class FlexiEnumDeserializer<T extends FlexiEnum> extends StdDeserializer<
         if (type.getContentType() != null) {
             type = type.getContentType();
         }
-        return new FlexiEnumDeserializer<>((Class<T>) type.getRawClass());
+        @SuppressWarnings("unchecked")
+        Class<T> rawClass = (Class<T>) type.getRawClass();
+        FlexiEnumLookup lookup = this.lookup;
+        if (Boolean.TRUE.equals(findFormatFeature(ctxt, property, rawClass, JsonFormat.Feature.ACCEPT_CASE_INSENSITIVE_VALUES))
+                || ctxt.isEnabled(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)) {
+            lookup = FlexiEnumLookup.CASE_INSENSITIVE;
+        }
+        return forType(rawClass, lookup);
     }
 }
@@ -0,0 +1,873 @@
+package com.bhawesh_source.configs;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Compact storage of the runtime values of a single {@link FlexiEnum} type, used by types whose
+ * {@link FlexiEnumStorage} is compact. Names are kept as UTF-8 in one contiguous arena, on the heap or off-heap,
+ * and indexed by ordinal through an int array of arena offsets. Names are looked up through open addressing tables
+ * of ints, one per {@link FlexiEnumLookup} mode, so a stored value costs about a dozen bytes beside its name.
+ * <p>
+ * Instances are only created when a value is actually handed out, and are cached weakly by ordinal, so a value
+ * keeps its identity for as long as any code holds it. A value materialized again after its instance was collected
+ * is a new but equal instance with the same ordinal.
+ * <p>
+ * Entries stay in the arena when values are removed, so every ordinal handed out stays resolvable, as it does for
+ * instances. Removing values only drops them from the live list and rebuilds the name tables. Entries of evicted
+ * values are released instead, and the arena is compacted once released entries take half of it.
+ * Appends are written in place behind the published {@link View}s, which only read entries below the ordinal bound
+ * they were published with.
+ * All writes happen under the lock of the owning {@link FlexiEnumType}.
+ *
+ * @param <T> the type of the FlexiEnum.
+ */
+final class FlexiEnumDictionary<T extends FlexiEnum> {
+    private static final int INITIAL_ARENA_BYTES = 1024;
+
+    private final Class<T> type;
+    private final FlexiEnumFactory<T> factory;
+    private final int base;
+    private final ConcurrentHashMap<Integer, Ref<T>> cache = new ConcurrentHashMap<>();
+    private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+    private volatile View<T> view;
+    private ByteBuffer arena;
+    private int arenaSize;
+    private int[] starts = new int[17];
+    private int count;
+    private int[] live = new int[16];
+    private int liveCount;
+    private final BitSet released = new BitSet();
+    private volatile long[] releasedWords = new long[0];
+    private int releasedBytes;
+    private boolean rebuild = true;
+
+    /**
+     * @param type    the class of the values.
+     * @param factory the factory creating instances when values are materialized.
+     * @param base    the first ordinal the dictionary may hold, ordinals below are held as instances.
+     * @param direct  whether names are kept off-heap.
+     */
+    FlexiEnumDictionary(Class<T> type, FlexiEnumFactory<T> factory, int base, boolean direct) {
+        this.type = type;
+        this.factory = factory;
+        this.base = base;
+        this.arena = allocate(direct, INITIAL_ARENA_BYTES);
+        publish();
+    }
+
+    /**
+     * @return the last published view.
+     */
+    View<T> view() {
+        return view;
+    }
+
+    /**
+     * Materializes the value of an ordinal, whether it is live or was removed.
+     *
+     * @param ordinal the ordinal of the value.
+     * @return the value, or null if the dictionary holds no name for the ordinal.
+     */
+    T get(int ordinal) {
+        View<T> view = this.view;
+        return view.hasEntry(ordinal) ? materialize(view, ordinal) : null;
+    }
+
+    /**
+     * @return whether the entry of the ordinal was released, as of the last {@link #publishReleased()}.
+     */
+    boolean isReleased(int ordinal) {
+        long[] releasedWords = this.releasedWords;
+        int index = ordinal - base;
+        return index >= 0 && (index >>> 6) < releasedWords.length && (releasedWords[index >>> 6] & (1L << index)) != 0;
+    }
+
+    boolean isDirect() {
+        return arena.isDirect();
+    }
+
+    /**
+     * Moves the names to a heap or an off-heap arena. Takes effect with the next {@link #publish()}.
+     */
+    void setDirect(boolean direct) {
+        if (direct != arena.isDirect()) {
+            ByteBuffer moved = allocate(direct, arena.capacity());
+            copy(arena, moved, arenaSize);
+            arena = moved;
+        }
+    }
+
+    /**
+     * Stores a value and marks it live. A value without an ordinal must be given the next free ordinal beforehand.
+     * A value whose ordinal is already held by the dictionary under the same name is revived.
+     *
+     * @param value the value to store.
+     * @return whether the value was stored, false if its ordinal cannot be held by the dictionary.
+     */
+    boolean add(T value) {
+        int ordinal = value.ordinal();
+        if (ordinal < base) {
+            return false;
+        }
+        if (ordinal < base + count) {
+            if (!view.hasEntry(ordinal) || !view.matches(ordinal, value.name(), FlexiEnumLookup.EXACT)) {
+                return false;
+            }
+            //Readers of earlier views saw the ordinal as removed, so the tables cannot be extended in place
+            rebuild = true;
+            if (released.get(ordinal - base)) {
+                released.clear(ordinal - base);
+                releasedBytes -= starts[ordinal - base + 1] - starts[ordinal - base];
+            }
+        } else {
+            append(value.name(), ordinal);
+        }
+        if (liveCount == live.length) {
+            live = Arrays.copyOf(live, liveCount << 1);
+        }
+        live[liveCount++] = ordinal;
+        cache(value);
+        return true;
+    }
+
+    /**
+     * Unmarks every live value.
+     */
+    void clear() {
+        live = new int[Math.max(16, liveCount)];
+        liveCount = 0;
+        rebuild = true;
+    }
+
+    /**
+     * Unmarks the live values of the given names.
+     *
+     * @param names the names of the values to remove.
+     * @return the number of values removed.
+     */
+    int remove(Collection<String> names) {
+        View<T> current = view;
+        BitSet removed = new BitSet();
+        for (String name : names) {
+            int ordinal = current.ordinalOf(name);
+            if (ordinal >= 0) {
+                removed.set(ordinal - base);
+            }
+        }
+        if (removed.isEmpty()) {
+            return 0;
+        }
+        int[] kept = new int[live.length];
+        int size = 0;
+        for (int i = 0; i < liveCount; i++) {
+            if (!removed.get(live[i] - base)) {
+                kept[size++] = live[i];
+            }
+        }
+        int removedCount = liveCount - size;
+        live = kept;
+        liveCount = size;
+        rebuild = true;
+        return removedCount;
+    }
+
+    /**
+     * Releases the entry of a removed value, whose ordinal no longer resolves once the arena is compacted.
+     * The arena is compacted on the next {@link #publish()} if released entries take half of it.
+     *
+     * @param ordinal the ordinal of the value.
+     */
+    void release(int ordinal) {
+        if (ordinal >= base && ordinal < base + count && !released.get(ordinal - base)) {
+            released.set(ordinal - base);
+            releasedBytes += starts[ordinal - base + 1] - starts[ordinal - base];
+            cache.remove(ordinal);
+        }
+    }
+
+    /**
+     * Makes the entries released so far visible to {@link #isReleased(int)}.
+     */
+    void publishReleased() {
+        releasedWords = released.toLongArray();
+    }
+
+    /**
+     * Publishes the live values written so far. Name tables are extended in place when values were only appended,
+     * and rebuilt otherwise.
+     *
+     * @return the new view.
+     */
+    View<T> publish() {
+        if (releasedBytes > arenaSize >> 1) {
+            compact();
+        }
+        View<T> previous = view;
+        View<T> next = new View<>(this, arena, starts, base, base + count, live, liveCount);
+        if (rebuild || null == previous) {
+            next.indexes.set(FlexiEnumLookup.EXACT.ordinal(), Index.build(next, FlexiEnumLookup.EXACT));
+        } else {
+            for (FlexiEnumLookup lookup : FlexiEnumLookup.values()) {
+                Index index = previous.indexes.get(lookup.ordinal());
+                if (null != index) {
+                    next.indexes.set(lookup.ordinal(), index.extend(next, previous.liveCount));
+                }
+            }
+        }
+        rebuild = false;
+        releasedWords = released.toLongArray();
+        view = next;
+        return next;
+    }
+
+    /**
+     * Copies the entries which are not released into a new arena, leaving released ordinals empty.
+     * Published views keep the previous arena.
+     */
+    private void compact() {
+        ByteBuffer compacted = allocate(arena.isDirect(), Math.max(INITIAL_ARENA_BYTES, arenaSize - releasedBytes));
+        ByteBuffer source = arena.duplicate();
+        int[] compactedStarts = new int[starts.length];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            compactedStarts[i] = size;
+            if (!released.get(i)) {
+                source.limit(starts[i + 1]).position(starts[i]);
+                compacted.position(size);
+                compacted.put(source);
+                size += starts[i + 1] - starts[i];
+            }
+        }
+        compactedStarts[count] = size;
+        arena = compacted;
+        starts = compactedStarts;
+        arenaSize = size;
+        released.clear();
+        releasedBytes = 0;
+        rebuild = true;
+    }
+
+    private void append(String name, int ordinal) {
+        int length = utf8Length(name);
+        if ((long) arenaSize + length > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Compact storage of " + type.getName() + " is full");
+        }
+        if (arenaSize + length > arena.capacity()) {
+            ByteBuffer grown = allocate(arena.isDirect(), (int) Math.min(Integer.MAX_VALUE - 8, Math.max((long) arena.capacity() << 1, arenaSize + length)));
+            copy(arena, grown, arenaSize);
+            arena = grown;
+        }
+        int entries = ordinal - base + 1;
+        if (entries + 1 > starts.length) {
+            starts = Arrays.copyOf(starts, Math.max(entries + 1, starts.length << 1));
+        }
+        //Ordinals held as instances leave empty entries
+        while (count < entries - 1) {
+            starts[++count] = arenaSize;
+        }
+        arenaSize = encode(name, arena, arenaSize);
+        starts[++count] = arenaSize;
+    }
+
+    private void cache(T value) {
+        Ref<T> fresh = new Ref<>(value, value.ordinal(), queue);
+        Ref<T> existing = cache.putIfAbsent(value.ordinal(), fresh);
+        if (null != existing && null == existing.get()) {
+            cache.replace(value.ordinal(), existing, fresh);
+        }
+    }
+
+    private T materialize(View<T> view, int ordinal) {
+        Ref<T> ref = cache.get(ordinal);
+        T value = null == ref ? null : ref.get();
+        if (null != value) {
+            return value;
+        }
+        expunge();
+        T created;
+        try {
+            created = factory.newInstance(view.name(ordinal));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create instance of " + type.getName(), e);
+        }
+        created.register(ordinal);
+        Ref<T> fresh = new Ref<>(created, ordinal, queue);
+        while (true) {
+            Ref<T> existing = cache.putIfAbsent(ordinal, fresh);
+            if (null == existing) {
+                return created;
+            }
+            T other = existing.get();
+            if (null != other) {
+                return other;
+            }
+            if (cache.replace(ordinal, existing, fresh)) {
+                return created;
+            }
+        }
+    }
+
+    private void expunge() {
+        Object ref;
+        while (null != (ref = queue.poll())) {
+            Ref<?> cleared = (Ref<?>) ref;
+            cache.remove(cleared.ordinal, cleared);
+        }
+    }
+
+    private static ByteBuffer allocate(boolean direct, int capacity) {
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    private static void copy(ByteBuffer from, ByteBuffer to, int length) {
+        ByteBuffer source = from.duplicate();
+        source.position(0).limit(length);
+        ByteBuffer target = to.duplicate();
+        target.position(0);
+        target.put(source);
+    }
+
+    /**
+     * @return the number of bytes {@link #encode(String, ByteBuffer, int)} writes for a name.
+     */
+    static int utf8Length(String name) {
+        int length = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < name.length() && Character.isLowSurrogate(name.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Writes a name as UTF-8. Unpaired surrogates are written as three byte sequences, so every String round trips.
+     *
+     * @return the position after the written bytes.
+     */
+    static int encode(String name, ByteBuffer arena, int position) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < 0x80) {
+                arena.put(position++, (byte) c);
+            } else if (c < 0x800) {
+                arena.put(position++, (byte) (0xC0 | (c >> 6)));
+                arena.put(position++, (byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < name.length() && Character.isLowSurrogate(name.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, name.charAt(++i));
+                arena.put(position++, (byte) (0xF0 | (codePoint >> 18)));
+                arena.put(position++, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                arena.put(position++, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                arena.put(position++, (byte) (0x80 | (codePoint & 0x3F)));
+            } else {
+                arena.put(position++, (byte) (0xE0 | (c >> 12)));
+                arena.put(position++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+                arena.put(position++, (byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        return position;
+    }
+
+    /**
+     * The live values of a dictionary at one point in time. Reads never lock and only allocate when a value is
+     * materialized. Names are hashed and matched under every {@link FlexiEnumLookup} straight from their UTF-8 bytes.
+     *
+     * @param <T> the type of the FlexiEnum.
+     */
+    static final class View<T extends FlexiEnum> {
+        private final FlexiEnumDictionary<T> dictionary;
+        private final ByteBuffer arena;
+        private final int[] starts;
+        private final int base;
+        private final int bound;
+        private final int[] live;
+        private final int liveCount;
+        private final AtomicReferenceArray<Index> indexes = new AtomicReferenceArray<>(FlexiEnumLookup.values().length);
+
+        private View(FlexiEnumDictionary<T> dictionary, ByteBuffer arena, int[] starts, int base, int bound, int[] live, int liveCount) {
+            this.dictionary = dictionary;
+            this.arena = arena;
+            this.starts = starts;
+            this.base = base;
+            this.bound = bound;
+            this.live = live;
+            this.liveCount = liveCount;
+        }
+
+        /**
+         * @return the number of live values.
+         */
+        int size() {
+            return liveCount;
+        }
+
+        /**
+         * Materializes a live value by its position in registration order.
+         */
+        T get(int position) {
+            return dictionary.materialize(this, live[position]);
+        }
+
+        /**
+         * @return the ordinal of a live value by its position in registration order.
+         */
+        int ordinalAt(int position) {
+            return live[position];
+        }
+
+        /**
+         * @return the name of a live value by its position in registration order.
+         */
+        String nameAt(int position) {
+            return name(live[position]);
+        }
+
+        /**
+         * Materializes a live value by its exact name.
+         */
+        T get(String name) {
+            int ordinal = ordinalOf(name);
+            return ordinal >= 0 ? dictionary.materialize(this, ordinal) : null;
+        }
+
+        /**
+         * @return the ordinal of the live value with the exact name, or -1.
+         */
+        int ordinalOf(String name) {
+            return index(FlexiEnumLookup.EXACT).find(this, name);
+        }
+
+        T find(String name, FlexiEnumLookup lookup) {
+            int ordinal = index(lookup).find(this, name);
+            return ordinal >= 0 ? dictionary.materialize(this, ordinal) : null;
+        }
+
+        T find(char[] buffer, int offset, int length, FlexiEnumLookup lookup) {
+            int ordinal = index(lookup).find(this, buffer, offset, length);
+            return ordinal >= 0 ? dictionary.materialize(this, ordinal) : null;
+        }
+
+        /**
+         * @return the bytes held by the names, the offsets and the name tables of this view.
+         */
+        long estimatedBytes() {
+            long bytes = starts[bound - base] + 4L * (bound - base + 1) + 4L * liveCount;
+            for (int i = 0; i < indexes.length(); i++) {
+                Index index = indexes.get(i);
+                if (null != index) {
+                    bytes += 8L * index.slots.length;
+                }
+            }
+            return bytes;
+        }
+
+        boolean hasEntry(int ordinal) {
+            return ordinal >= base && ordinal < bound && starts[ordinal - base] != starts[ordinal - base + 1];
+        }
+
+        /**
+         * Decodes the name of an ordinal.
+         */
+        String name(int ordinal) {
+            int end = starts[ordinal - base + 1];
+            StringBuilder name = new StringBuilder(end - starts[ordinal - base]);
+            for (int p = starts[ordinal - base]; p < end; ) {
+                int b = arena.get(p) & 0xFF;
+                if (b < 0x80) {
+                    name.append((char) b);
+                    p++;
+                } else if (b < 0xE0) {
+                    name.append((char) (((b & 0x1F) << 6) | (arena.get(p + 1) & 0x3F)));
+                    p += 2;
+                } else if (b < 0xF0) {
+                    name.append(char3(b, p));
+                    p += 3;
+                } else {
+                    name.appendCodePoint(codePoint4(b, p));
+                    p += 4;
+                }
+            }
+            return name.toString();
+        }
+
+        /**
+         * Hashes the name of an ordinal under a mode, as {@link FlexiEnumLookup#hash(String)} does.
+         */
+        int hash(int ordinal, FlexiEnumLookup lookup) {
+            if (lookup != FlexiEnumLookup.EXACT) {
+                return foldedHash(ordinal, lookup);
+            }
+            int hash = 0;
+            int end = starts[ordinal - base + 1];
+            for (int p = starts[ordinal - base]; p < end; ) {
+                int b = arena.get(p) & 0xFF;
+                if (b < 0x80) {
+                    hash = 31 * hash + b;
+                    p++;
+                } else if (b < 0xE0) {
+                    hash = 31 * hash + (((b & 0x1F) << 6) | (arena.get(p + 1) & 0x3F));
+                    p += 2;
+                } else if (b < 0xF0) {
+                    hash = 31 * hash + char3(b, p);
+                    p += 3;
+                } else {
+                    int codePoint = codePoint4(b, p);
+                    hash = 31 * (31 * hash + Character.highSurrogate(codePoint)) + Character.lowSurrogate(codePoint);
+                    p += 4;
+                }
+            }
+            return hash;
+        }
+
+        /**
+         * @return whether the name of an ordinal matches the input under a mode. Exact matches never allocate.
+         */
+        boolean matches(int ordinal, String s, FlexiEnumLookup lookup) {
+            if (lookup != FlexiEnumLookup.EXACT) {
+                int start = lookup.start(s);
+                int end = lookup.end(s, start);
+                long range = foldedRange(ordinal, lookup);
+                int keyStart = (int) (range >>> 32);
+                if ((int) range - keyStart != end - start) {
+                    return false;
+                }
+                int k = 0;
+                int limit = starts[ordinal - base + 1];
+                for (int p = starts[ordinal - base]; p < limit && k < (int) range; ) {
+                    int b = arena.get(p) & 0xFF;
+                    if (b < 0xF0) {
+                        char c = charAt(b, p);
+                        p += width(b);
+                        if (k >= keyStart && lookup.fold(c) != lookup.fold(s.charAt(start + k - keyStart))) {
+                            return false;
+                        }
+                        k++;
+                    } else {
+                        int codePoint = codePoint4(b, p);
+                        p += 4;
+                        //Surrogates fold to themselves and are never whitespace
+                        if (k >= keyStart && (s.charAt(start + k - keyStart) != Character.highSurrogate(codePoint)
+                                || s.charAt(start + k - keyStart + 1) != Character.lowSurrogate(codePoint))) {
+                            return false;
+                        }
+                        k += 2;
+                    }
+                }
+                return true;
+            }
+            int i = 0;
+            int end = starts[ordinal - base + 1];
+            for (int p = starts[ordinal - base]; p < end; ) {
+                int b = arena.get(p) & 0xFF;
+                if (b < 0xF0) {
+                    char c;
+                    if (b < 0x80) {
+                        c = (char) b;
+                        p++;
+                    } else if (b < 0xE0) {
+                        c = (char) (((b & 0x1F) << 6) | (arena.get(p + 1) & 0x3F));
+                        p += 2;
+                    } else {
+                        c = char3(b, p);
+                        p += 3;
+                    }
+                    if (i >= s.length() || s.charAt(i++) != c) {
+                        return false;
+                    }
+                } else {
+                    int codePoint = codePoint4(b, p);
+                    p += 4;
+                    if (i + 1 >= s.length() || s.charAt(i) != Character.highSurrogate(codePoint) || s.charAt(i + 1) != Character.lowSurrogate(codePoint)) {
+                        return false;
+                    }
+                    i += 2;
+                }
+            }
+            return i == s.length();
+        }
+
+        /**
+         * @return whether the name of an ordinal matches the input held in a range of a char buffer under a mode.
+         */
+        boolean matches(int ordinal, char[] buffer, int offset, int length, FlexiEnumLookup lookup) {
+            if (lookup != FlexiEnumLookup.EXACT) {
+                int start = lookup.start(buffer, offset, offset + length);
+                int end = lookup.end(buffer, start, offset + length);
+                long range = foldedRange(ordinal, lookup);
+                int keyStart = (int) (range >>> 32);
+                if ((int) range - keyStart != end - start) {
+                    return false;
+                }
+                int k = 0;
+                int limit = starts[ordinal - base + 1];
+                for (int p = starts[ordinal - base]; p < limit && k < (int) range; ) {
+                    int b = arena.get(p) & 0xFF;
+                    if (b < 0xF0) {
+                        char c = charAt(b, p);
+                        p += width(b);
+                        if (k >= keyStart && lookup.fold(c) != lookup.fold(buffer[start + k - keyStart])) {
+                            return false;
+                        }
+                        k++;
+                    } else {
+                        int codePoint = codePoint4(b, p);
+                        p += 4;
+                        if (k >= keyStart && (buffer[start + k - keyStart] != Character.highSurrogate(codePoint)
+                                || buffer[start + k - keyStart + 1] != Character.lowSurrogate(codePoint))) {
+                            return false;
+                        }
+                        k += 2;
+                    }
+                }
+                return true;
+            }
+            int i = offset;
+            int limit = offset + length;
+            int end = starts[ordinal - base + 1];
+            for (int p = starts[ordinal - base]; p < end; ) {
+                int b = arena.get(p) & 0xFF;
+                if (b < 0xF0) {
+                    char c;
+                    if (b < 0x80) {
+                        c = (char) b;
+                        p++;
+                    } else if (b < 0xE0) {
+                        c = (char) (((b & 0x1F) << 6) | (arena.get(p + 1) & 0x3F));
+                        p += 2;
+                    } else {
+                        c = char3(b, p);
+                        p += 3;
+                    }
+                    if (i >= limit || buffer[i++] != c) {
+                        return false;
+                    }
+                } else {
+                    int codePoint = codePoint4(b, p);
+                    p += 4;
+                    if (i + 1 >= limit || buffer[i] != Character.highSurrogate(codePoint) || buffer[i + 1] != Character.lowSurrogate(codePoint)) {
+                        return false;
+                    }
+                    i += 2;
+                }
+            }
+            return i == limit;
+        }
+
+        /**
+         * Returns the name table of a mode, built on first use. Concurrent first uses may build it twice,
+         * which is harmless as only one is kept.
+         */
+        private Index index(FlexiEnumLookup lookup) {
+            Index index = indexes.get(lookup.ordinal());
+            if (null == index) {
+                indexes.compareAndSet(lookup.ordinal(), null, Index.build(this, lookup));
+                index = indexes.get(lookup.ordinal());
+            }
+            return index;
+        }
+
+        /**
+         * Hashes the name of an ordinal under a mode other than {@link FlexiEnumLookup#EXACT} while decoding it,
+         * skipping the whitespace the mode trims.
+         */
+        private int foldedHash(int ordinal, FlexiEnumLookup lookup) {
+            boolean trims = lookup.trims();
+            boolean started = !trims;
+            int hash = 0;
+            int trimmedHash = 0;
+            int end = starts[ordinal - base + 1];
+            for (int p = starts[ordinal - base]; p < end; ) {
+                int b = arena.get(p) & 0xFF;
+                if (b < 0xF0) {
+                    char c = charAt(b, p);
+                    p += width(b);
+                    boolean whitespace = trims && Character.isWhitespace(c);
+                    if (!started && whitespace) {
+                        continue;
+                    }
+                    started = true;
+                    hash = 31 * hash + lookup.fold(c);
+                    if (!whitespace) {
+                        trimmedHash = hash;
+                    }
+                } else {
+                    int codePoint = codePoint4(b, p);
+                    p += 4;
+                    started = true;
+                    hash = 31 * (31 * hash + Character.highSurrogate(codePoint)) + Character.lowSurrogate(codePoint);
+                    trimmedHash = hash;
+                }
+            }
+            return trimmedHash;
+        }
+
+        /**
+         * Finds the chars of the name of an ordinal compared under a mode, without the whitespace the mode trims.
+         *
+         * @return the index of the first compared char in the high and the index after the last one in the low half.
+         */
+        private long foldedRange(int ordinal, FlexiEnumLookup lookup) {
+            boolean trims = lookup.trims();
+            int first = -1;
+            int last = 0;
+            int k = 0;
+            int end = starts[ordinal - base + 1];
+            for (int p = starts[ordinal - base]; p < end; ) {
+                int b = arena.get(p) & 0xFF;
+                if (b < 0xF0) {
+                    if (!trims || !Character.isWhitespace(charAt(b, p))) {
+                        first = first < 0 ? k : first;
+                        last = k + 1;
+                    }
+                    p += width(b);
+                    k++;
+                } else {
+                    first = first < 0 ? k : first;
+                    last = k + 2;
+                    p += 4;
+                    k += 2;
+                }
+            }
+            return first < 0 ? 0L : ((long) first << 32) | last;
+        }
+
+        /**
+         * Decodes the char of a sequence of one to three bytes starting with the given byte.
+         */
+        private char charAt(int b, int p) {
+            if (b < 0x80) {
+                return (char) b;
+            }
+            return b < 0xE0 ? (char) (((b & 0x1F) << 6) | (arena.get(p + 1) & 0x3F)) : char3(b, p);
+        }
+
+        private static int width(int b) {
+            return b < 0x80 ? 1 : b < 0xE0 ? 2 : b < 0xF0 ? 3 : 4;
+        }
+
+        private char char3(int b, int p) {
+            return (char) (((b & 0x0F) << 12) | ((arena.get(p + 1) & 0x3F) << 6) | (arena.get(p + 2) & 0x3F));
+        }
+
+        private int codePoint4(int b, int p) {
+            return ((b & 0x07) << 18) | ((arena.get(p + 1) & 0x3F) << 12) | ((arena.get(p + 2) & 0x3F) << 6) | (arena.get(p + 3) & 0x3F);
+        }
+    }
+
+    /**
+     * An open addressing table from the names of live values, matched under one mode, to their ordinals.
+     * Slots hold the ordinal plus one, so zero marks an empty slot. A table is extended in place by the writer
+     * until it needs to grow, readers skip slots at or above the bound of their view.
+     */
+    static final class Index {
+        private final FlexiEnumLookup lookup;
+        private final int[] slots;
+        private final int[] hashes;
+        private final int mask;
+        private int size;
+
+        private Index(FlexiEnumLookup lookup, int capacity) {
+            this.lookup = lookup;
+            this.slots = new int[capacity];
+            this.hashes = new int[capacity];
+            this.mask = capacity - 1;
+        }
+
+        static Index build(View<?> view, FlexiEnumLookup lookup) {
+            Index index = new Index(lookup, Integer.highestOneBit(Math.max(2, view.liveCount) * 2 - 1) << 1);
+            for (int i = 0; i < view.liveCount; i++) {
+                index.insert(view, view.live[i]);
+            }
+            return index;
+        }
+
+        /**
+         * Inserts the values which became live after the given position, growing into a new table if needed.
+         */
+        Index extend(View<?> view, int from) {
+            if ((size + view.liveCount - from) * 2 > slots.length) {
+                return build(view, lookup);
+            }
+            for (int i = from; i < view.liveCount; i++) {
+                insert(view, view.live[i]);
+            }
+            return this;
+        }
+
+        int find(View<?> view, String name) {
+            int hash = lookup.hash(name);
+            for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+                int entry = slots[slot];
+                if (0 == entry) {
+                    return -1;
+                }
+                if (entry <= view.bound && hashes[slot] == hash && view.matches(entry - 1, name, lookup)) {
+                    return entry - 1;
+                }
+            }
+        }
+
+        int find(View<?> view, char[] buffer, int offset, int length) {
+            int hash = lookup.hash(buffer, offset, length);
+            for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+                int entry = slots[slot];
+                if (0 == entry) {
+                    return -1;
+                }
+                if (entry <= view.bound && hashes[slot] == hash && view.matches(entry - 1, buffer, offset, length, lookup)) {
+                    return entry - 1;
+                }
+            }
+        }
+
+        /**
+         * Adds the name of an ordinal. When several names match each other under the mode, the earlier one wins.
+         * The hash is written before the slot, so readers never pair a slot with a stale hash.
+         */
+        private void insert(View<?> view, int ordinal) {
+            int hash = view.hash(ordinal, lookup);
+            String name = lookup == FlexiEnumLookup.EXACT ? null : view.name(ordinal);
+            int slot = spread(hash) & mask;
+            while (0 != slots[slot]) {
+                if (null != name && hashes[slot] == hash && view.matches(slots[slot] - 1, name, lookup)) {
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            hashes[slot] = hash;
+            slots[slot] = ordinal + 1;
+            size++;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    /**
+     * A weakly cached instance, remembering its ordinal to be expunged from the cache once collected.
+     */
+    private static final class Ref<T> extends WeakReference<T> {
+        private final int ordinal;
+
+        Ref(T referent, int ordinal, ReferenceQueue<? super T> queue) {
+            super(referent, queue);
+            this.ordinal = ordinal;
+        }
+    }
+}
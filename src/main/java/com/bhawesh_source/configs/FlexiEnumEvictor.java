@@ -0,0 +1,219 @@
+package com.bhawesh_source.configs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tracks the use of the values of a {@link FlexiEnum} type bounded by a {@link FlexiEnumCapacity} and selects the
+ * values to evict. The time of the last use and a small saturating use count are kept per ordinal in plain arrays.
+ * One in {@value #SAMPLE_RATE} hits stamps the time of use and bumps the use count. Under an expiry, other hits only
+ * stamp a value whose stamp is older than an eighth of the expiry, so a popular value is mostly read and its cache
+ * line is not written by every lookup. Values expire once their stamp is older than the expiry plus that eighth,
+ * so a value in use never expires early. Writes are racy, which keeps the hot path free of locks and allocation:
+ * a stamp lost to a concurrent write is at most as old as that write, and lost counts only make frequency and aging
+ * approximate.
+ * <p>
+ * Victims are chosen by sampling {@value #CANDIDATES} random values and evicting the least recently or frequently
+ * used of them, as Redis does, so an eviction costs the same at any size. Use counts are halved after ten accesses
+ * per value of the maximum size, so values which were popular long ago age out.
+ * Selection runs under the lock of the owning {@link FlexiEnumType}.
+ */
+final class FlexiEnumEvictor {
+    private static final int SAMPLE_RATE = 16;
+    private static final int CANDIDATES = 16;
+    private static final byte MAX_FREQUENCY = 15;
+
+    private final FlexiEnumCapacity capacity;
+    private final BitSet defaults;
+    private final long refreshNanos;
+    private volatile long[] lastAccess = new long[16];
+    private volatile byte[] frequencies = new byte[16];
+    /**
+     * Sampled accesses since the last aging, approximate as increments may be lost to races.
+     */
+    private int accesses;
+    private long lastSweep;
+
+    /**
+     * @param capacity the capacity policy.
+     * @param defaults the ordinals of the default values, which are never evicted.
+     */
+    FlexiEnumEvictor(FlexiEnumCapacity capacity, BitSet defaults) {
+        this.capacity = capacity;
+        this.defaults = defaults;
+        this.refreshNanos = capacity.getExpireAfterAccessNanos() >> 3;
+    }
+
+    FlexiEnumCapacity capacity() {
+        return capacity;
+    }
+
+    /**
+     * Records a use of a value, stamping and counting it for a sample of the calls, and stamping it under an expiry
+     * if its stamp is getting stale.
+     *
+     * @param ordinal the ordinal of the value.
+     */
+    void recordAccess(int ordinal) {
+        long[] lastAccess = this.lastAccess;
+        if (ordinal < 0 || ordinal >= lastAccess.length) {
+            return;
+        }
+        if ((ThreadLocalRandom.current().nextInt() & (SAMPLE_RATE - 1)) != 0) {
+            if (refreshNanos > 0) {
+                long now = System.nanoTime();
+                if (now - lastAccess[ordinal] > refreshNanos) {
+                    lastAccess[ordinal] = now;
+                }
+            }
+            return;
+        }
+        lastAccess[ordinal] = System.nanoTime();
+        byte[] frequencies = this.frequencies;
+        if (ordinal < frequencies.length) {
+            if (frequencies[ordinal] < MAX_FREQUENCY) {
+                frequencies[ordinal]++;
+            }
+            accesses++;
+        }
+    }
+
+    /**
+     * Marks a registered value as used once, now.
+     *
+     * @param ordinal the ordinal of the value.
+     * @param now     the current {@link System#nanoTime()}.
+     */
+    void recordAdded(int ordinal, long now) {
+        long[] lastAccess = this.lastAccess;
+        byte[] frequencies = this.frequencies;
+        if (ordinal >= lastAccess.length) {
+            int length = Math.max(ordinal + 1, lastAccess.length << 1);
+            lastAccess = Arrays.copyOf(lastAccess, length);
+            frequencies = Arrays.copyOf(frequencies, length);
+            this.frequencies = frequencies;
+            this.lastAccess = lastAccess;
+        }
+        lastAccess[ordinal] = now;
+        frequencies[ordinal] = 1;
+    }
+
+    /**
+     * Selects the values to evict from a snapshot: runtime values not used for the expiry duration, then the least
+     * recently or frequently used runtime values over the maximum size. Values registered by the change being
+     * published are only selected for size if no other value is left.
+     *
+     * @param snapshot the values of the type.
+     * @param added    the ordinals of the values registered by the change being published.
+     * @param now      the current {@link System#nanoTime()}.
+     * @param sweep    whether to look for expired values even if the last sweep was recent.
+     * @return the names of the values to evict, mapped to their ordinals.
+     */
+    Map<String, Integer> select(FlexiEnumType.Snapshot<?> snapshot, BitSet added, long now, boolean sweep) {
+        Map<String, Integer> victims = new LinkedHashMap<>();
+        BitSet selected = new BitSet();
+        long[] lastAccess = this.lastAccess;
+        int size = snapshot.size();
+        long expiry = capacity.getExpireAfterAccessNanos();
+        if (expiry > 0 && (sweep || now - lastSweep >= expiry >> 3)) {
+            lastSweep = now;
+            for (int position = 0; position < size; position++) {
+                int ordinal = snapshot.ordinalAt(position);
+                if (!defaults.get(ordinal) && !added.get(ordinal) && now - stamp(lastAccess, ordinal) > expiry + refreshNanos) {
+                    victims.put(snapshot.nameAt(position), ordinal);
+                    selected.set(ordinal);
+                }
+            }
+        }
+        int overflow = size - victims.size() - defaults.cardinality() - capacity.getMaximumSize();
+        if (overflow <= 0) {
+            return victims;
+        }
+        if (capacity.isFrequencyBased() && accesses >= 10L * capacity.getMaximumSize()) {
+            age();
+        }
+        if (overflow * CANDIDATES < size) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (; overflow > 0; overflow--) {
+                int victim = -1;
+                for (int i = 0; i < CANDIDATES; i++) {
+                    int position = random.nextInt(size);
+                    int ordinal = snapshot.ordinalAt(position);
+                    if (!defaults.get(ordinal) && !added.get(ordinal) && !selected.get(ordinal)
+                            && (victim < 0 || isColder(ordinal, snapshot.ordinalAt(victim)))) {
+                        victim = position;
+                    }
+                }
+                if (victim < 0) {
+                    break;
+                }
+                victims.put(snapshot.nameAt(victim), snapshot.ordinalAt(victim));
+                selected.set(snapshot.ordinalAt(victim));
+            }
+        }
+        if (overflow > 0) {
+            selectExactly(snapshot, added, selected, overflow, victims);
+        }
+        return victims;
+    }
+
+    /**
+     * Selects the coldest values by sorting all candidates, values registered by the change being published last.
+     */
+    private void selectExactly(FlexiEnumType.Snapshot<?> snapshot, BitSet added, BitSet selected, int count, Map<String, Integer> victims) {
+        List<Integer> candidates = new ArrayList<>();
+        for (int position = 0; position < snapshot.size(); position++) {
+            int ordinal = snapshot.ordinalAt(position);
+            if (!defaults.get(ordinal) && !selected.get(ordinal)) {
+                candidates.add(position);
+            }
+        }
+        candidates.sort((a, b) -> {
+            int ordinalA = snapshot.ordinalAt(a);
+            int ordinalB = snapshot.ordinalAt(b);
+            if (added.get(ordinalA) != added.get(ordinalB)) {
+                return added.get(ordinalA) ? 1 : -1;
+            }
+            return isColder(ordinalA, ordinalB) ? -1 : isColder(ordinalB, ordinalA) ? 1 : 0;
+        });
+        for (int i = 0; i < count && i < candidates.size(); i++) {
+            int position = candidates.get(i);
+            victims.put(snapshot.nameAt(position), snapshot.ordinalAt(position));
+        }
+    }
+
+    /**
+     * @return whether the first value should be evicted before the second, older ordinals first on a tie.
+     */
+    private boolean isColder(int ordinal, int other) {
+        if (capacity.isFrequencyBased()) {
+            byte[] frequencies = this.frequencies;
+            int frequency = ordinal < frequencies.length ? frequencies[ordinal] : 0;
+            int otherFrequency = other < frequencies.length ? frequencies[other] : 0;
+            if (frequency != otherFrequency) {
+                return frequency < otherFrequency;
+            }
+        }
+        long[] lastAccess = this.lastAccess;
+        long stamp = stamp(lastAccess, ordinal);
+        long otherStamp = stamp(lastAccess, other);
+        return stamp != otherStamp ? stamp - otherStamp < 0 : ordinal < other;
+    }
+
+    private void age() {
+        byte[] frequencies = this.frequencies;
+        for (int i = 0; i < frequencies.length; i++) {
+            frequencies[i] >>= 1;
+        }
+        accesses = 0;
+    }
+
+    private static long stamp(long[] lastAccess, int ordinal) {
+        return ordinal < lastAccess.length ? lastAccess[ordinal] : 0L;
+    }
+}
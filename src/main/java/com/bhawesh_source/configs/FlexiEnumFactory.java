@@ -0,0 +1,93 @@
+package com.bhawesh_source.configs;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Creates instances of a {@link FlexiEnum} subtype through its single String parameter constructor.
+ * The constructor is resolved once per type into a {@link MethodHandle}, so creating an instance skips the
+ * constructor lookup, access checks and argument array of reflective instantiation.
+ * Types with a generated {@link FlexiEnumDefaults} registry are created through the registry without any reflection.
+ * A constructor which cannot be resolved is logged once and the same failure is reported on every later use.
+ *
+ * @param <T> the type of the FlexiEnum.
+ */
+@Slf4j
+final class FlexiEnumFactory<T extends FlexiEnum> {
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(FlexiEnum.class, String.class);
+
+    private final Class<T> type;
+    private final FlexiEnumDefaults<T> generated;
+    private final MethodHandle constructor;
+    private final ReflectiveOperationException failure;
+
+    private FlexiEnumFactory(Class<T> type, FlexiEnumDefaults<T> generated, MethodHandle constructor, ReflectiveOperationException failure) {
+        this.type = type;
+        this.generated = generated;
+        this.constructor = constructor;
+        this.failure = failure;
+    }
+
+    /**
+     * Resolves the String parameter constructor of the specified class type.
+     *
+     * @param clazz the class of the enums to create.
+     * @param <T>   the type of the FlexiEnum.
+     * @return the factory, which reports the resolution failure on use if the constructor is not usable.
+     */
+    static <T extends FlexiEnum> FlexiEnumFactory<T> of(Class<T> clazz) {
+        FlexiEnumDefaults<T> generated = FlexiEnumDefaultsLoader.find(clazz);
+        if (null != generated && generated.hasConstructor()) {
+            return new FlexiEnumFactory<>(clazz, generated, null, null);
+        }
+        ReflectiveOperationException failure;
+        try {
+            Constructor<T> declaredConstructor = clazz.getDeclaredConstructor(String.class);
+            declaredConstructor.setAccessible(true);
+            MethodHandle constructor = MethodHandles.lookup().unreflectConstructor(declaredConstructor).asType(CONSTRUCTOR_TYPE);
+            return new FlexiEnumFactory<>(clazz, null, constructor, null);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            failure = e;
+        } catch (RuntimeException e) {
+            failure = new IllegalAccessException(e.getMessage());
+            failure.initCause(e);
+        }
+        log.error("Failed to resolve String constructor of " + clazz.getName(), failure);
+        return new FlexiEnumFactory<>(clazz, null, null, failure);
+    }
+
+    /**
+     * Creates a new instance with the given name.
+     *
+     * @param name the name of the enum.
+     * @return the created enum instance.
+     * @throws NoSuchMethodException     if the class has no String parameter constructor.
+     * @throws IllegalAccessException    if the constructor is inaccessible.
+     * @throws InvocationTargetException if the constructor throws an exception.
+     */
+    T newInstance(String name) throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
+        if (null != generated) {
+            try {
+                return generated.newInstance(name);
+            } catch (RuntimeException e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+        if (null == constructor) {
+            if (failure instanceof NoSuchMethodException) {
+                throw (NoSuchMethodException) failure;
+            }
+            throw (IllegalAccessException) failure;
+        }
+        try {
+            return type.cast((FlexiEnum) constructor.invokeExact(name));
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.bhawesh_source.configs;
+
+import com.bhawesh_source.exception.FlexiEnumException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the runtime enums of a {@link FlexiEnumStore} in sync with definition files of a directory, one file per type.
+ * A background thread watches the directory with a {@link WatchService}, parses only the files which changed and
+ * applies the difference through {@link FlexiEnumStore#syncEnums(Class, java.util.Collection)}, so unchanged enums
+ * keep their instance and readers never observe a half-applied reload.
+ * <p>
+ * Events arriving within {@link #DEBOUNCE_MILLIS} of each other are coalesced, so a file written in several
+ * steps is parsed once. A file which cannot be parsed is logged and leaves its type unchanged, and a deleted file
+ * leaves its type unchanged until it is created again.
+ */
+@Slf4j
+public final class FlexiEnumFileWatcher implements Closeable {
+    /**
+     * How long the watcher waits for further events before reloading the changed files.
+     */
+    public static final long DEBOUNCE_MILLIS = 50L;
+
+    private final FlexiEnumStore store;
+    private final Path directory;
+    private final Map<Path, Source<?>> sources = new ConcurrentHashMap<>();
+    private WatchService watchService;
+    private Thread thread;
+
+    /**
+     * @param store     the store to keep in sync.
+     * @param directory the directory holding the definition files.
+     */
+    public FlexiEnumFileWatcher(FlexiEnumStore store, Path directory) {
+        this.store = store;
+        this.directory = directory.toAbsolutePath();
+    }
+
+    /**
+     * Binds a definition file to an enum type and loads it if it exists.
+     *
+     * @param fileName the name of the file within the directory.
+     * @param clazz    the class of the enums defined by the file.
+     * @param format   the format of the file.
+     * @param <T>      the type of the FlexiEnum.
+     * @throws FlexiEnumException if the existing file cannot be read or an enum cannot be created.
+     */
+    public <T extends FlexiEnum> void register(String fileName, Class<T> clazz, FlexiEnumFormat format) throws FlexiEnumException {
+        Path file = directory.resolve(fileName);
+        Source<T> source = new Source<>(file, clazz, format);
+        sources.put(file.getFileName(), source);
+        if (Files.exists(file)) {
+            source.load();
+        }
+    }
+
+    /**
+     * Reloads every registered file which exists, regardless of change events.
+     *
+     * @return the number of types whose enums changed.
+     * @throws FlexiEnumException if a file cannot be read or an enum cannot be created, later files are not loaded.
+     */
+    public int reload() throws FlexiEnumException {
+        int changed = 0;
+        for (Source<?> source : sources.values()) {
+            if (Files.exists(source.file) && source.load()) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Starts watching the directory on a daemon thread.
+     *
+     * @throws FlexiEnumException if the directory cannot be watched.
+     */
+    public synchronized void start() throws FlexiEnumException {
+        if (null != thread) {
+            return;
+        }
+        try {
+            watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new FlexiEnumException("Failed to watch FlexiEnum definitions in " + directory, e);
+        }
+        thread = new Thread(this::watch, "flexienum-file-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching the directory. Enums loaded so far stay in the store.
+     *
+     * @throws IOException if the watch service cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (null != watchService) {
+            watchService.close();
+            watchService = null;
+        }
+        if (null != thread) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    private void watch() {
+        WatchService watchService = this.watchService;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Set<Path> changed = new LinkedHashSet<>();
+                boolean overflow = poll(watchService.take(), changed);
+                WatchKey key;
+                while (null != (key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS))) {
+                    overflow |= poll(key, changed);
+                }
+                if (overflow) {
+                    changed.addAll(sources.keySet());
+                }
+                for (Path fileName : changed) {
+                    Source<?> source = sources.get(fileName);
+                    if (null != source && Files.exists(source.file)) {
+                        try {
+                            source.load();
+                        } catch (FlexiEnumException | RuntimeException e) {
+                            log.error("Failed to reload FlexiEnum definitions from " + source.file, e);
+                        }
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            log.debug("Stopped watching FlexiEnum definitions in " + directory);
+        }
+    }
+
+    /**
+     * Collects the file names of the events of a key and re-arms it.
+     *
+     * @return whether events were lost.
+     */
+    private static boolean poll(WatchKey key, Set<Path> changed) {
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+            } else {
+                changed.add((Path) event.context());
+            }
+        }
+        key.reset();
+        return overflow;
+    }
+
+    /**
+     * A definition file bound to its enum type.
+     */
+    private final class Source<T extends FlexiEnum> {
+        private final Path file;
+        private final Class<T> clazz;
+        private final FlexiEnumFormat format;
+
+        Source(Path file, Class<T> clazz, FlexiEnumFormat format) {
+            this.file = file;
+            this.clazz = clazz;
+            this.format = format;
+        }
+
+        /**
+         * Parses the file and applies its difference to the store.
+         *
+         * @return whether the enums of the type changed.
+         */
+        boolean load() throws FlexiEnumException {
+            Set<String> names = new LinkedHashSet<>();
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                format.readNames(reader, names);
+            } catch (IOException e) {
+                throw new FlexiEnumException("Failed to read " + format + " enums of " + clazz.getName() + " from " + file, e);
+            }
+            boolean changed = store.syncEnums(clazz, names);
+            if (changed) {
+                log.info("Reloaded enums of " + clazz.getName() + " from " + file);
+            }
+            return changed;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.bhawesh_source.configs;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Collection;
+
+/**
+ * Text formats understood by {@link FlexiEnumStore#importEnums(Class, Reader, FlexiEnumFormat)}.
+ */
+public enum FlexiEnumFormat {
+    /**
+     * Comma separated names, any number per line. Names may be quoted with double quotes, a double quote inside a
+     * quoted name is written twice. Surrounding whitespace of unquoted names and empty fields are ignored.
+     */
+    CSV {
+        @Override
+        void readNames(Reader reader, Collection<String> names) throws IOException {
+            BufferedReader in = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean wasQuoted = false;
+            int c;
+            while ((c = in.read()) != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        in.mark(1);
+                        if (in.read() == '"') {
+                            field.append('"');
+                        } else {
+                            in.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                    wasQuoted = true;
+                    field.setLength(0);
+                } else if (c == ',' || c == '\n' || c == '\r') {
+                    addField(field, wasQuoted, names);
+                    wasQuoted = false;
+                } else {
+                    field.append((char) c);
+                }
+            }
+            if (quoted) {
+                throw new IOException("Unterminated quoted name in CSV input");
+            }
+            addField(field, wasQuoted, names);
+        }
+
+        private void addField(StringBuilder field, boolean wasQuoted, Collection<String> names) {
+            String name = wasQuoted ? field.toString() : field.toString().trim();
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+            field.setLength(0);
+        }
+    },
+
+    /**
+     * One JSON string per line, for example {@code "INDIA"}. Blank lines are ignored.
+     */
+    JSON_LINES {
+        @Override
+        void readNames(Reader reader, Collection<String> names) throws IOException {
+            try (JsonParser parser = JSON_FACTORY.createParser(reader)) {
+                JsonToken token;
+                while ((token = parser.nextToken()) != null) {
+                    if (token != JsonToken.VALUE_STRING) {
+                        throw new IOException("Expected a JSON string but found " + token + " at " + parser.currentLocation());
+                    }
+                    names.add(parser.getText());
+                }
+            }
+        }
+    };
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory().configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false);
+
+    /**
+     * Reads all names from the reader.
+     *
+     * @param reader the reader to read from, left open.
+     * @param names  the collection receiving the names in input order.
+     * @throws IOException if the input cannot be read or is malformed.
+     */
+    abstract void readNames(Reader reader, Collection<String> names) throws IOException;
+}
@@ -0,0 +1,62 @@
+package com.bhawesh_source.configs;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exposes the {@link FlexiEnumStatistics} of every type as an MBean named
+ * {@code com.bhawesh_source.flexienum:type=FlexiEnumStatistics,name=<class name>}.
+ * Same-named classes of different class loaders get an additional {@code id} key.
+ * Registered MBeans keep their types reachable until the sink is removed.
+ */
+@Slf4j
+public class FlexiEnumJmxSink implements FlexiEnumMetricsSink {
+    private static final String DOMAIN = "com.bhawesh_source.flexienum";
+
+    private final MBeanServer server;
+    private final Map<FlexiEnumStatistics, ObjectName> names = new ConcurrentHashMap<>();
+
+    public FlexiEnumJmxSink() {
+        this(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public FlexiEnumJmxSink(MBeanServer server) {
+        this.server = server;
+    }
+
+    @Override
+    public void register(FlexiEnumStatistics statistics) {
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":type=FlexiEnumStatistics,name=" + ObjectName.quote(statistics.getTypeName()));
+            try {
+                server.registerMBean(statistics, name);
+            } catch (InstanceAlreadyExistsException e) {
+                name = new ObjectName(name + ",id=" + Integer.toHexString(System.identityHashCode(statistics)));
+                server.registerMBean(statistics, name);
+            }
+            names.put(statistics, name);
+        } catch (JMException e) {
+            log.error("Failed to register FlexiEnum statistics MBean for " + statistics.getTypeName(), e);
+        }
+    }
+
+    @Override
+    public void unregister(FlexiEnumStatistics statistics) {
+        ObjectName name = names.remove(statistics);
+        if (null == name) {
+            return;
+        }
+        try {
+            server.unregisterMBean(name);
+        } catch (JMException e) {
+            log.error("Failed to unregister FlexiEnum statistics MBean " + name, e);
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package com.bhawesh_source.configs;
+
+import com.bhawesh_source.exception.FlexiEnumException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Persists the enums of a {@link FlexiEnumStore} in a directory, so a restarted application gets its runtime enums
+ * back without re-importing them.
+ * The state is kept as a compact binary snapshot of every type, holding class names, names, ordinals and aliases,
+ * plus an append-only journal of the changes made since the snapshot. Additions and removals, evictions included,
+ * are journaled as the names they add or remove rather than as the whole type. Opening a journal maps the snapshot
+ * file, replays the journal on top of it and then appends every later change of the store to the journal.
+ * {@link #checkpoint()} folds the journal into a new snapshot.
+ * <p>
+ * The snapshot and every journal record carry a CRC32 checksum. A snapshot failing its checksum is ignored,
+ * the journal is replayed up to its first incomplete or corrupt record, which is what a crash while appending
+ * leaves behind, and truncated there. Records are idempotent, so replaying a change already held by the snapshot
+ * is harmless. Records are written to the file system on every change and forced to disk on checkpoint and close.
+ * <p>
+ * A failed append is logged and stops the journal until the next successful checkpoint, which persists the
+ * complete state again.
+ */
+@Slf4j
+public final class FlexiEnumJournal implements FlexiEnumListener, Closeable {
+    static final String SNAPSHOT_FILE = "flexienum.snapshot";
+    static final String JOURNAL_FILE = "flexienum.journal";
+    private static final int SNAPSHOT_MAGIC = 0x46455331;
+    private static final int JOURNAL_MAGIC = 0x46454a31;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final byte OP_ADD = 1;
+    private static final byte OP_REPLACE = 2;
+    private static final byte OP_ALIAS = 3;
+    private static final byte OP_REMOVE = 4;
+
+    private final FlexiEnumStore store;
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocate(4096);
+    private long sequence;
+    private boolean broken;
+
+    private FlexiEnumJournal(FlexiEnumStore store, Path directory) {
+        this.store = store;
+        this.snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        this.journalFile = directory.resolve(JOURNAL_FILE);
+    }
+
+    /**
+     * Opens the journal of a directory with the context class loader of the current thread.
+     *
+     * @param store     the store to restore and persist.
+     * @param directory the directory holding the snapshot and journal files, created if missing.
+     * @return the open journal, which persists every later change of the store until closed.
+     * @throws FlexiEnumException if the files cannot be read or written.
+     * @see #open(FlexiEnumStore, Path, ClassLoader)
+     */
+    public static FlexiEnumJournal open(FlexiEnumStore store, Path directory) throws FlexiEnumException {
+        return open(store, directory, Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Restores the store from the snapshot and journal of a directory and starts journaling its changes.
+     * Persisted types whose class cannot be loaded are skipped and dropped from the next checkpoint.
+     *
+     * @param store     the store to restore and persist.
+     * @param directory the directory holding the snapshot and journal files, created if missing.
+     * @param loader    the class loader resolving the persisted class names.
+     * @return the open journal, which persists every later change of the store until closed.
+     * @throws FlexiEnumException if the files cannot be read or written.
+     */
+    public static FlexiEnumJournal open(FlexiEnumStore store, Path directory, ClassLoader loader) throws FlexiEnumException {
+        FlexiEnumJournal journal = new FlexiEnumJournal(store, directory);
+        try {
+            Files.createDirectories(directory);
+            journal.sequence = journal.readSnapshot(loader);
+            long validLength = journal.replayJournal(loader);
+            journal.openChannel(validLength);
+        } catch (IOException e) {
+            journal.closeQuietly();
+            throw new FlexiEnumException("Failed to open FlexiEnum journal in " + directory, e);
+        }
+        store.addListener(journal);
+        return journal;
+    }
+
+    /**
+     * Writes the current state of every type to a new snapshot and starts an empty journal.
+     * The snapshot is written to a temporary file and moved over the previous one, so a crash leaves either
+     * the previous snapshot and journal or the new snapshot.
+     *
+     * @throws FlexiEnumException if the snapshot cannot be written, the journal is kept in that case.
+     */
+    public synchronized void checkpoint() throws FlexiEnumException {
+        if (null == channel) {
+            throw new FlexiEnumException("FlexiEnum journal " + journalFile + " is closed");
+        }
+        try {
+            writeSnapshot(snapshotFile, sequence);
+            channel.truncate(HEADER_SIZE);
+            channel.position(HEADER_SIZE);
+            channel.force(true);
+            broken = false;
+        } catch (IOException e) {
+            throw new FlexiEnumException("Failed to write FlexiEnum snapshot " + snapshotFile, e);
+        }
+    }
+
+    /**
+     * @return the sequence number of the last persisted change.
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Stops journaling, forces the journal to disk and closes it.
+     *
+     * @throws IOException if the journal cannot be forced or closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        store.removeListener(this);
+        if (null != channel) {
+            try {
+                channel.force(true);
+            } finally {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    @Override
+    public <T extends FlexiEnum> void onAdded(Class<T> clazz, List<T> added) {
+        append(OP_ADD, clazz, added, null, null);
+    }
+
+    @Override
+    public <T extends FlexiEnum> void onRemoved(Class<T> clazz, List<T> removed, List<T> values) {
+        append(OP_REMOVE, clazz, removed, null, null);
+    }
+
+    @Override
+    public <T extends FlexiEnum> void onReplaced(Class<T> clazz, List<T> values) {
+        append(OP_REPLACE, clazz, values, null, null);
+    }
+
+    @Override
+    public <T extends FlexiEnum> void onAliasAdded(Class<T> clazz, String alias, String name) {
+        append(OP_ALIAS, clazz, null, alias, name);
+    }
+
+    private synchronized void append(byte op, Class<? extends FlexiEnum> clazz, List<? extends FlexiEnum> values, String alias, String name) {
+        if (null == channel || broken) {
+            return;
+        }
+        buffer.clear();
+        buffer.position(RECORD_HEADER_SIZE);
+        putLong(sequence + 1);
+        putByte(op);
+        putString(clazz.getName());
+        if (op == OP_ALIAS) {
+            putString(alias);
+            putString(name);
+        } else {
+            putInt(values.size());
+            for (FlexiEnum value : values) {
+                putString(value.name());
+            }
+        }
+        buffer.flip();
+        int length = buffer.limit() - RECORD_HEADER_SIZE;
+        buffer.putInt(0, length);
+        buffer.putInt(4, checksum(buffer, RECORD_HEADER_SIZE, length));
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            sequence++;
+        } catch (IOException e) {
+            broken = true;
+            log.error("Failed to append to FlexiEnum journal " + journalFile + ", journaling stops until the next checkpoint", e);
+        }
+    }
+
+    /**
+     * Restores the store from the snapshot file.
+     *
+     * @return the sequence number of the last change held by the snapshot, 0 if there is no valid snapshot.
+     */
+    private long readSnapshot(ClassLoader loader) throws IOException {
+        if (!Files.exists(snapshotFile)) {
+            return 0L;
+        }
+        ByteBuffer in = map(snapshotFile);
+        if (in.limit() < HEADER_SIZE + 16 || in.getInt(0) != SNAPSHOT_MAGIC
+                || in.getInt(in.limit() - 4) != checksum(in, 0, in.limit() - 4)) {
+            log.error("Ignoring corrupt FlexiEnum snapshot " + snapshotFile);
+            return 0L;
+        }
+        in.position(HEADER_SIZE);
+        long snapshotSequence = in.getLong();
+        int typeCount = in.getInt();
+        for (int t = 0; t < typeCount; t++) {
+            String className = getString(in);
+            int count = in.getInt();
+            List<String> names = new ArrayList<>(count);
+            int[] ordinals = new int[count];
+            for (int i = 0; i < count; i++) {
+                ordinals[i] = in.getInt();
+                names.add(getString(in));
+            }
+            int aliasCount = in.getInt();
+            Map<String, String> aliases = new LinkedHashMap<>();
+            for (int i = 0; i < aliasCount; i++) {
+                aliases.put(getString(in), getString(in));
+            }
+            Class<? extends FlexiEnum> clazz = loadType(className, loader);
+            if (null != clazz) {
+                restore(clazz, names, ordinals, aliases);
+            }
+        }
+        return snapshotSequence;
+    }
+
+    /**
+     * Replays the records of the journal file newer than the snapshot.
+     *
+     * @return the length of the valid part of the journal, 0 if the journal has no valid header.
+     */
+    private long replayJournal(ClassLoader loader) throws IOException {
+        if (!Files.exists(journalFile)) {
+            return 0L;
+        }
+        ByteBuffer in = map(journalFile);
+        if (in.limit() < HEADER_SIZE || in.getInt(0) != JOURNAL_MAGIC) {
+            log.error("Ignoring FlexiEnum journal " + journalFile + " without a valid header");
+            return 0L;
+        }
+        int position = HEADER_SIZE;
+        while (in.limit() - position >= RECORD_HEADER_SIZE) {
+            int length = in.getInt(position);
+            int start = position + RECORD_HEADER_SIZE;
+            if (length <= 0 || length > in.limit() - start || in.getInt(position + 4) != checksum(in, start, length)) {
+                break;
+            }
+            in.limit(start + length).position(start);
+            try {
+                replay(in, loader);
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                in.limit(in.capacity());
+                break;
+            }
+            in.limit(in.capacity());
+            position = start + length;
+        }
+        if (position != in.limit()) {
+            log.warn("Truncating FlexiEnum journal " + journalFile + " after an incomplete or corrupt record at offset " + position);
+        }
+        return position;
+    }
+
+    private void replay(ByteBuffer in, ClassLoader loader) {
+        long recordSequence = in.getLong();
+        byte op = in.get();
+        String className = getString(in);
+        List<String> names = new ArrayList<>();
+        String alias = null;
+        if (op == OP_ALIAS) {
+            alias = getString(in);
+            names.add(getString(in));
+        } else if (op == OP_ADD || op == OP_REPLACE || op == OP_REMOVE) {
+            int count = in.getInt();
+            for (int i = 0; i < count; i++) {
+                names.add(getString(in));
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown journal operation " + op);
+        }
+        if (recordSequence <= sequence) {
+            return;
+        }
+        sequence = recordSequence;
+        Class<? extends FlexiEnum> clazz = loadType(className, loader);
+        if (null == clazz) {
+            return;
+        }
+        try {
+            if (op == OP_ADD) {
+                store.addEnums(clazz, names);
+            } else if (op == OP_REMOVE) {
+                store.getEnumType(clazz).update(Collections.emptyList(), new HashSet<>(names));
+            } else if (op == OP_REPLACE) {
+                int[] ordinals = new int[names.size()];
+                Arrays.fill(ordinals, -1);
+                restore(clazz, names, ordinals, Collections.emptyMap());
+            } else if (null != store.getEnumType(clazz).get(names.get(0))) {
+                store.addAlias(clazz, alias, names.get(0));
+            }
+        } catch (FlexiEnumException e) {
+            log.error("Failed to replay FlexiEnum journal record " + recordSequence + " of " + className, e);
+        }
+    }
+
+    private void restore(Class<? extends FlexiEnum> clazz, List<String> names, int[] ordinals, Map<String, String> aliases) {
+        try {
+            store.restoreEnums(clazz, names, ordinals, aliases);
+        } catch (FlexiEnumException e) {
+            log.error("Failed to restore enums of " + clazz.getName(), e);
+        }
+    }
+
+    private void writeSnapshot(Path target, long snapshotSequence) throws IOException {
+        buffer.clear();
+        putInt(SNAPSHOT_MAGIC);
+        putInt(1);
+        putLong(snapshotSequence);
+        List<Class<? extends FlexiEnum>> types = store.getTypes();
+        int countPosition = buffer.position();
+        putInt(0);
+        int typeCount = 0;
+        for (Class<? extends FlexiEnum> clazz : types) {
+            FlexiEnumType<? extends FlexiEnum> enumType = store.getEnumType(clazz);
+            FlexiEnumType.Snapshot<? extends FlexiEnum> snapshot = enumType.snapshot();
+            List<? extends FlexiEnum> values = snapshot.values();
+            Map<String, String> aliases = snapshot.aliases();
+            if (values.isEmpty() && aliases.isEmpty()) {
+                continue;
+            }
+            List<FlexiEnum> ordered = new ArrayList<>(values);
+            ordered.sort((a, b) -> Integer.compare(a.ordinal(), b.ordinal()));
+            putString(clazz.getName());
+            putInt(ordered.size());
+            for (FlexiEnum value : ordered) {
+                putInt(value.ordinal());
+                putString(value.name());
+            }
+            putInt(aliases.size());
+            for (Map.Entry<String, String> alias : aliases.entrySet()) {
+                putString(alias.getKey());
+                putString(alias.getValue());
+            }
+            typeCount++;
+        }
+        buffer.putInt(countPosition, typeCount);
+        putInt(checksum(buffer, 0, buffer.position()));
+        buffer.flip();
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+        try {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void openChannel(long validLength) throws IOException {
+        channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (validLength < HEADER_SIZE) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(JOURNAL_MAGIC).putInt(1);
+            header.flip();
+            channel.truncate(0);
+            channel.write(header, 0);
+            validLength = HEADER_SIZE;
+        } else if (channel.size() > validLength) {
+            channel.truncate(validLength);
+        }
+        channel.position(validLength);
+    }
+
+    private void closeQuietly() {
+        if (null != channel) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close FlexiEnum journal " + journalFile, e);
+            }
+            channel = null;
+        }
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            return in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static Class<? extends FlexiEnum> loadType(String className, ClassLoader loader) {
+        try {
+            Class<?> clazz = Class.forName(className, true, loader);
+            if (FlexiEnum.class.isAssignableFrom(clazz)) {
+                return (Class<? extends FlexiEnum>) clazz;
+            }
+            log.warn("Skipping persisted enums of " + className + " which is not a FlexiEnum");
+        } catch (ClassNotFoundException | LinkageError e) {
+            log.warn("Skipping persisted enums of " + className + " which cannot be loaded", e);
+        }
+        return null;
+    }
+
+    static int checksum(ByteBuffer in, int offset, int length) {
+        ByteBuffer range = in.duplicate();
+        range.limit(offset + length).position(offset);
+        CRC32 crc = new CRC32();
+        crc.update(range);
+        return (int) crc.getValue();
+    }
+
+    static String getString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void putString(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        ensure(4 + bytes.length);
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    private void putLong(long value) {
+        ensure(8);
+        buffer.putLong(value);
+    }
+
+    private void putInt(int value) {
+        ensure(4);
+        buffer.putInt(value);
+    }
+
+    private void putByte(byte value) {
+        ensure(1);
+        buffer.put(value);
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() << 1, buffer.position() + bytes));
+            buffer.flip();
+            buffer = grown.put(buffer);
+        }
+    }
+}
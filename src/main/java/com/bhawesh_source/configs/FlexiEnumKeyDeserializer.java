@@ -0,0 +1,121 @@
+package com.bhawesh_source.configs;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.deser.ContextualKeyDeserializer;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+
+/**
+ * A key deserializer for maps keyed by {@link FlexiEnum} types, such as {@code Map<Region, Integer>} and
+ * {@link FlexiEnumMap}. Keys are resolved through the same lookups as {@link FlexiEnumDeserializer}, and unknown keys
+ * are handled by the {@link FlexiEnumMissPolicy} of the type, so under {@link FlexiEnumMissPolicy#NULL} an unknown key
+ * becomes a null key, which {@link FlexiEnumMap} skips.
+ *
+ * @param <T> The type of the FlexiEnum keys.
+ */
+public class FlexiEnumKeyDeserializer<T extends FlexiEnum> extends KeyDeserializer implements ContextualKeyDeserializer {
+    private static final ClassValue<FlexiEnumKeyDeserializer<?>[]> DESERIALIZERS = new ClassValue<FlexiEnumKeyDeserializer<?>[]>() {
+        @Override
+        protected FlexiEnumKeyDeserializer<?>[] computeValue(Class<?> type) {
+            return new FlexiEnumKeyDeserializer<?>[FlexiEnumLookup.values().length + 1];
+        }
+    };
+
+    private final Class<T> clazz;
+    private final FlexiEnumType<T> enumType;
+    private final FlexiEnumLookup lookup;
+
+    public FlexiEnumKeyDeserializer() {
+        this(null);
+    }
+
+    public FlexiEnumKeyDeserializer(Class<T> clazz) {
+        this(clazz, null);
+    }
+
+    /**
+     * @param clazz  the class of the keys to deserialize.
+     * @param lookup the mode to match names with, or null to use the lookup mode of the type.
+     */
+    public FlexiEnumKeyDeserializer(Class<T> clazz, FlexiEnumLookup lookup) {
+        this.clazz = clazz;
+        this.enumType = null != clazz && FlexiEnum.class.isAssignableFrom(clazz) ? FlexiEnumStore.getInstance().getEnumType(clazz) : null;
+        this.lookup = lookup;
+    }
+
+    /**
+     * Returns the key deserializer of a type and lookup mode, shared by every mapper and property.
+     *
+     * @param clazz  the class of the keys to deserialize.
+     * @param lookup the mode to match names with, or null to use the lookup mode of the type.
+     * @param <T>    the type of the FlexiEnum.
+     * @return the key deserializer.
+     */
+    static <T extends FlexiEnum> FlexiEnumKeyDeserializer<T> forType(Class<T> clazz, FlexiEnumLookup lookup) {
+        FlexiEnumKeyDeserializer<?>[] deserializers = DESERIALIZERS.get(clazz);
+        int slot = null == lookup ? 0 : lookup.ordinal() + 1;
+        FlexiEnumKeyDeserializer<?> deserializer = deserializers[slot];
+        if (null == deserializer) {
+            deserializer = new FlexiEnumKeyDeserializer<>(clazz, lookup);
+            deserializers[slot] = deserializer;
+        }
+        @SuppressWarnings("unchecked")
+        FlexiEnumKeyDeserializer<T> typed = (FlexiEnumKeyDeserializer<T>) deserializer;
+        return typed;
+    }
+
+    /**
+     * Deserializes a map key into a FlexiEnum instance.
+     *
+     * @param key  the key as read from the input.
+     * @param ctxt the deserialization context.
+     * @return the FlexiEnum instance, or what the miss policy of the type gives for an unknown key.
+     * @throws IOException if the type of the keys is not known or the miss policy fails.
+     */
+    @Override
+    public Object deserializeKey(String key, DeserializationContext ctxt) throws IOException {
+        if (null == enumType) {
+            throw JsonMappingException.from(ctxt, "No FlexiEnum type known to deserialize map key \"" + key + "\"");
+        }
+        T flexiEnum = FlexiEnumStore.find(key, enumType, null != lookup ? lookup : enumType.lookup());
+        if (null != flexiEnum || StringUtils.isEmpty(key)) {
+            return flexiEnum;
+        }
+        return FlexiEnumDeserializer.miss(enumType, key, true, ctxt);
+    }
+
+    /**
+     * Returns the shared key deserializer for the key type of the map being deserialized, which is the type of the
+     * property or, for a map read as a root value, the contextual type. Names are matched case insensitively under the
+     * same conditions as in {@link FlexiEnumDeserializer#createContextual(DeserializationContext, BeanProperty)}.
+     *
+     * @param ctxt     the deserialization context.
+     * @param property the map property, null for a root value.
+     * @return a key deserializer for the key type.
+     */
+    @Override
+    public KeyDeserializer createContextual(DeserializationContext ctxt, BeanProperty property) {
+        JavaType type = null != property ? property.getType() : ctxt.getContextualType();
+        if (null != type && type.isMapLikeType()) {
+            type = type.getKeyType();
+        }
+        if (null == type || !FlexiEnum.class.isAssignableFrom(type.getRawClass())) {
+            return this;
+        }
+        @SuppressWarnings("unchecked")
+        Class<T> rawClass = (Class<T>) type.getRawClass();
+        FlexiEnumLookup lookup = this.lookup;
+        if (ctxt.isEnabled(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS) || (null != property
+                && Boolean.TRUE.equals(property.findPropertyFormat(ctxt.getConfig(), rawClass).getFeature(JsonFormat.Feature.ACCEPT_CASE_INSENSITIVE_VALUES)))) {
+            lookup = FlexiEnumLookup.CASE_INSENSITIVE;
+        }
+        return forType(rawClass, lookup);
+    }
+}
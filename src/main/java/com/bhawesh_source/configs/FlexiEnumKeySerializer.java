@@ -0,0 +1,36 @@
+package com.bhawesh_source.configs;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * A key serializer writing {@link FlexiEnum} map keys as their names, the counterpart of
+ * {@link FlexiEnumKeyDeserializer}. Like {@link FlexiEnumSerializer}, registered enums write their name pre-encoded.
+ */
+public class FlexiEnumKeySerializer extends StdSerializer<FlexiEnum> {
+    private static final long serialVersionUID = 1L;
+
+    public FlexiEnumKeySerializer() {
+        super(FlexiEnum.class);
+    }
+
+    /**
+     * Serializes a FlexiEnum map key into its name.
+     *
+     * @param flexiEnum     the FlexiEnum key to serialize.
+     * @param jsonGenerator the JSON generator used to write JSON content.
+     * @param provider      the serializer provider.
+     * @throws IOException if an error occurs during serialization.
+     */
+    @Override
+    public void serialize(FlexiEnum flexiEnum, JsonGenerator jsonGenerator, SerializerProvider provider) throws IOException {
+        if (jsonGenerator.canWriteBinaryNatively()) {
+            jsonGenerator.writeFieldName(flexiEnum.name());
+        } else {
+            jsonGenerator.writeFieldName(flexiEnum.serializedName());
+        }
+    }
+}
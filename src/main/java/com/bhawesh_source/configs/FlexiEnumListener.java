@@ -0,0 +1,58 @@
+package com.bhawesh_source.configs;
+
+import java.util.List;
+
+/**
+ * Notified of every change to the enums held by a {@link FlexiEnumStore}.
+ * Notifications of a type are delivered in the order the changes are published, while the type is locked
+ * for writing, so implementations should return quickly and must not change the same type.
+ *
+ * @see FlexiEnumStore#addListener(FlexiEnumListener)
+ */
+public interface FlexiEnumListener {
+
+    /**
+     * Called after enums were added to a type.
+     *
+     * @param clazz the class of the enums.
+     * @param added the added enums, in registration order.
+     * @param <T>   the type of the FlexiEnum.
+     */
+    default <T extends FlexiEnum> void onAdded(Class<T> clazz, List<T> added) {
+    }
+
+    /**
+     * Called after enums were removed from a type, which includes enums evicted by a {@link FlexiEnumCapacity}.
+     * When a change both removes and adds enums, this is called before {@link #onAdded(Class, List)}.
+     * Defaults to {@link #onReplaced(Class, List)}, for listeners which only track whole states.
+     *
+     * @param clazz   the class of the enums.
+     * @param removed the removed enums.
+     * @param values  the enums of the type after the removal, defaults included.
+     * @param <T>     the type of the FlexiEnum.
+     */
+    default <T extends FlexiEnum> void onRemoved(Class<T> clazz, List<T> removed, List<T> values) {
+        onReplaced(clazz, values);
+    }
+
+    /**
+     * Called after all enums of a type were replaced, which includes clearing the type.
+     *
+     * @param clazz  the class of the enums.
+     * @param values the enums of the type after the replacement, defaults included.
+     * @param <T>    the type of the FlexiEnum.
+     */
+    default <T extends FlexiEnum> void onReplaced(Class<T> clazz, List<T> values) {
+    }
+
+    /**
+     * Called after an alias was registered.
+     *
+     * @param clazz the class of the enums.
+     * @param alias the alias.
+     * @param name  the name the alias stands for.
+     * @param <T>   the type of the FlexiEnum.
+     */
+    default <T extends FlexiEnum> void onAliasAdded(Class<T> clazz, String alias, String name) {
+    }
+}
@@ -0,0 +1,216 @@
+package com.bhawesh_source.configs;
+
+/**
+ * Modes used to match an input against the names and aliases of {@link FlexiEnum} values.
+ * Each mode folds characters on the fly while hashing and comparing, so matching never allocates a folded
+ * copy of the input. Every stored type keeps a separate precomputed index per mode.
+ *
+ * @see FlexiEnumStore#setLookup(Class, FlexiEnumLookup)
+ * @see FlexiEnumStore#valueOf(String, Class, FlexiEnumLookup)
+ */
+public enum FlexiEnumLookup {
+    /**
+     * The input must equal the name exactly.
+     */
+    EXACT(false) {
+        @Override
+        char fold(char c) {
+            return c;
+        }
+    },
+
+    /**
+     * The input must equal the name ignoring case, as {@link String#equalsIgnoreCase(String)} does.
+     */
+    CASE_INSENSITIVE(false) {
+        @Override
+        char fold(char c) {
+            return Character.toLowerCase(Character.toUpperCase(c));
+        }
+    },
+
+    /**
+     * The input must equal the name ignoring case and leading or trailing whitespace, with spaces and hyphens
+     * matching underscores, so {@code " north-america "} matches {@code NORTH_AMERICA}.
+     */
+    NORMALIZED(true) {
+        @Override
+        char fold(char c) {
+            if (c == ' ' || c == '-') {
+                return '_';
+            }
+            return Character.toLowerCase(Character.toUpperCase(c));
+        }
+    };
+
+    private final boolean trims;
+
+    FlexiEnumLookup(boolean trims) {
+        this.trims = trims;
+    }
+
+    /**
+     * @param c a character of a name or an input.
+     * @return the character compared in place of the given one.
+     */
+    abstract char fold(char c);
+
+    /**
+     * Hashes a name or input. For {@link #EXACT} the hash equals {@link String#hashCode()}.
+     */
+    int hash(String s) {
+        if (this == EXACT) {
+            return s.hashCode();
+        }
+        int start = start(s);
+        int end = end(s, start);
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + fold(s.charAt(i));
+        }
+        return hash;
+    }
+
+    /**
+     * Hashes an input held in a range of a char buffer.
+     */
+    int hash(char[] buffer, int offset, int length) {
+        int start = start(buffer, offset, offset + length);
+        int end = end(buffer, start, offset + length);
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + fold(buffer[i]);
+        }
+        return hash;
+    }
+
+    /**
+     * @return whether the stored key matches the input under this mode.
+     */
+    boolean matches(String key, String s) {
+        if (this == EXACT) {
+            return key.equals(s);
+        }
+        int keyStart = start(key);
+        int keyEnd = end(key, keyStart);
+        int start = start(s);
+        int end = end(s, start);
+        if (keyEnd - keyStart != end - start) {
+            return false;
+        }
+        for (int i = 0; i < end - start; i++) {
+            if (fold(key.charAt(keyStart + i)) != fold(s.charAt(start + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return whether the stored key matches the input held in a range of a char buffer under this mode.
+     */
+    boolean matches(String key, char[] buffer, int offset, int length) {
+        int keyStart = start(key);
+        int keyEnd = end(key, keyStart);
+        int start = start(buffer, offset, offset + length);
+        int end = end(buffer, start, offset + length);
+        if (keyEnd - keyStart != end - start) {
+            return false;
+        }
+        for (int i = 0; i < end - start; i++) {
+            if (fold(key.charAt(keyStart + i)) != fold(buffer[start + i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares names or query keys by their folded characters, so that names matching each other under this mode
+     * compare as equal. Whitespace is compared like any other character, and for {@link #EXACT} the order is that of
+     * {@link String#compareTo(String)}.
+     */
+    int compare(String a, String b) {
+        if (this == EXACT) {
+            return a.compareTo(b);
+        }
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            char ac = fold(a.charAt(i));
+            char bc = fold(b.charAt(i));
+            if (ac != bc) {
+                return ac - bc;
+            }
+        }
+        return a.length() - b.length();
+    }
+
+    /**
+     * @return whether the name starts with the prefix, comparing folded characters as {@link #compare(String, String)}.
+     */
+    boolean startsWith(String name, String prefix) {
+        if (this == EXACT) {
+            return name.startsWith(prefix);
+        }
+        if (name.length() < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (fold(name.charAt(i)) != fold(prefix.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return whether leading and trailing whitespace is ignored.
+     */
+    boolean trims() {
+        return trims;
+    }
+
+    /**
+     * @return the index of the first character of the input compared under this mode.
+     */
+    int start(String s) {
+        int start = 0;
+        if (trims) {
+            while (start < s.length() && Character.isWhitespace(s.charAt(start))) {
+                start++;
+            }
+        }
+        return start;
+    }
+
+    /**
+     * @return the index after the last character of the input compared under this mode.
+     */
+    int end(String s, int start) {
+        int end = s.length();
+        if (trims) {
+            while (end > start && Character.isWhitespace(s.charAt(end - 1))) {
+                end--;
+            }
+        }
+        return end;
+    }
+
+    int start(char[] buffer, int start, int end) {
+        if (trims) {
+            while (start < end && Character.isWhitespace(buffer[start])) {
+                start++;
+            }
+        }
+        return start;
+    }
+
+    int end(char[] buffer, int start, int end) {
+        if (trims) {
+            while (end > start && Character.isWhitespace(buffer[end - 1])) {
+                end--;
+            }
+        }
+        return end;
+    }
+}
@@ -0,0 +1,315 @@
+package com.bhawesh_source.configs;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@link Map} with {@link FlexiEnum} keys of a single type, backed by an array indexed by
+ * {@link FlexiEnum#ordinal()}, the FlexiEnum counterpart of {@link java.util.EnumMap}.
+ * The array starts empty and grows as enums with higher ordinals are used as keys, so a map only costs memory up to
+ * the highest ordinal it holds. Iteration follows ordinal order.
+ * Only values registered in {@link FlexiEnumStore} can be used as keys. Null values are permitted. Keys evicted from
+ * the store are dropped from the map, with their mappings, once they can no longer be resolved by ordinal.
+ * This class is not thread safe. Jackson reads JSON objects straight into a map, see {@link FlexiEnumMapDeserializer}.
+ *
+ * @param <K> the type of the FlexiEnum keys.
+ * @param <V> the type of the mapped values.
+ */
+@JsonDeserialize(using = FlexiEnumMapDeserializer.class)
+public class FlexiEnumMap<K extends FlexiEnum, V> extends AbstractMap<K, V> implements Cloneable {
+    private static final Object NULL = new Object();
+    private static final Object[] EMPTY = new Object[0];
+
+    private final FlexiEnumType<K> enumType;
+    private Object[] vals;
+    private int size;
+    private int modCount;
+    private int releases;
+    private transient Set<Entry<K, V>> entrySet;
+
+    FlexiEnumMap(FlexiEnumType<K> enumType) {
+        this.enumType = enumType;
+        this.vals = EMPTY;
+        this.releases = enumType.releases();
+    }
+
+    /**
+     * Creates an empty map for keys of the specified class type.
+     *
+     * @param clazz the class of the keys.
+     */
+    public FlexiEnumMap(Class<K> clazz) {
+        this(FlexiEnumStore.getInstance().getEnumType(clazz));
+    }
+
+    /**
+     * Creates a map for keys of the specified class type, initialized with the mappings of the specified map.
+     *
+     * @param clazz the class of the keys.
+     * @param map   the mappings to copy.
+     */
+    public FlexiEnumMap(Class<K> clazz, Map<? extends K, ? extends V> map) {
+        this(clazz);
+        putAll(map);
+    }
+
+    @Override
+    public int size() {
+        expungeReleased();
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        expungeReleased();
+        int ordinal = enumType.ordinalOf(key);
+        return ordinal >= 0 && ordinal < vals.length && vals[ordinal] != null;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        expungeReleased();
+        Object masked = maskNull(value);
+        for (Object val : vals) {
+            if (masked.equals(val)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V get(Object key) {
+        expungeReleased();
+        int ordinal = enumType.ordinalOf(key);
+        return ordinal >= 0 && ordinal < vals.length ? unmaskNull(vals[ordinal]) : null;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        int ordinal = enumType.ordinalOf(key);
+        if (ordinal < 0 || !enumType.isResolvable(ordinal)) {
+            throw new IllegalArgumentException("Enum \"" + key + "\" is not registered for " + enumType.type().getName());
+        }
+        if (ordinal >= vals.length) {
+            vals = Arrays.copyOf(vals, Math.max(ordinal + 1, Math.min(vals.length << 1, enumType.ordinalBound())));
+        }
+        Object old = vals[ordinal];
+        vals[ordinal] = maskNull(value);
+        if (old == null) {
+            size++;
+            modCount++;
+        }
+        return unmaskNull(old);
+    }
+
+    @Override
+    public V remove(Object key) {
+        int ordinal = enumType.ordinalOf(key);
+        if (ordinal < 0 || ordinal >= vals.length || vals[ordinal] == null) {
+            return null;
+        }
+        Object old = vals[ordinal];
+        vals[ordinal] = null;
+        size--;
+        modCount++;
+        return unmaskNull(old);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(vals, null);
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> entrySet = this.entrySet;
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Entry<K, V>>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    expungeReleased();
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return FlexiEnumMap.this.size();
+                }
+
+                @Override
+                public void clear() {
+                    FlexiEnumMap.this.clear();
+                }
+            };
+            this.entrySet = entrySet;
+        }
+        return entrySet;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public FlexiEnumMap<K, V> clone() {
+        expungeReleased();
+        try {
+            FlexiEnumMap<K, V> clone = (FlexiEnumMap<K, V>) super.clone();
+            clone.vals = vals.length == 0 ? EMPTY : vals.clone();
+            clone.entrySet = null;
+            return clone;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Drops the mappings of keys evicted since the last check, which would otherwise iterate with a null key.
+     */
+    private void expungeReleased() {
+        int releases = enumType.releases();
+        if (releases == this.releases) {
+            return;
+        }
+        this.releases = releases;
+        for (int i = 0; i < vals.length; i++) {
+            if (vals[i] != null && !enumType.isResolvable(i)) {
+                vals[i] = null;
+                size--;
+            }
+        }
+    }
+
+    private static Object maskNull(Object value) {
+        return value == null ? NULL : value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V unmaskNull(Object value) {
+        return value == NULL ? null : (V) value;
+    }
+
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+        private int expectedModCount = modCount;
+        private int next = -1;
+        private K nextKey;
+        private int last = -1;
+
+        EntryIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next >= 0;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next < 0) {
+                throw new NoSuchElementException();
+            }
+            OrdinalEntry entry = new OrdinalEntry(next, nextKey);
+            last = next;
+            advance();
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (vals[last] != null) {
+                vals[last] = null;
+                size--;
+            }
+            last = -1;
+            expectedModCount = ++modCount;
+        }
+
+        /**
+         * Resolves the next key ahead of {@link #next()}, skipping keys evicted during the iteration.
+         */
+        private void advance() {
+            nextKey = null;
+            while ((next = nextIndex(next + 1)) >= 0) {
+                nextKey = enumType.get(next);
+                if (nextKey != null) {
+                    return;
+                }
+            }
+        }
+
+        private int nextIndex(int from) {
+            for (int i = from; i < vals.length; i++) {
+                if (vals[i] != null) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private class OrdinalEntry implements Entry<K, V> {
+        private final int ordinal;
+        private final K key;
+
+        OrdinalEntry(int ordinal, K key) {
+            this.ordinal = ordinal;
+            this.key = key;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return unmaskNull(vals[ordinal]);
+        }
+
+        @Override
+        public V setValue(V value) {
+            Object old = vals[ordinal];
+            vals[ordinal] = maskNull(value);
+            return unmaskNull(old);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            V value = getValue();
+            return getKey().equals(e.getKey()) && (value == null ? e.getValue() == null : value.equals(e.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            V value = getValue();
+            return getKey().hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.bhawesh_source.configs;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.ContextualKeyDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+
+import java.io.IOException;
+
+/**
+ * A deserializer reading a JSON object straight into a {@link FlexiEnumMap}. Each field name is resolved by the
+ * {@link FlexiEnumKeyDeserializer} of the key type and its value stored in the ordinal indexed array as it is read,
+ * without an intermediate map. Entries whose key is dropped by the {@link FlexiEnumMissPolicy} of the type are skipped.
+ * Properties whose values carry no type information share the contextual deserializer they resolve to, as long as
+ * they resolve to the same key and value deserializers, so a mapper holds one per map type in the common case.
+ */
+public class FlexiEnumMapDeserializer extends StdDeserializer<FlexiEnumMap<?, ?>> implements ContextualDeserializer {
+    private static final long serialVersionUID = 1L;
+
+    private final FlexiEnumType<?> enumType;
+    private final KeyDeserializer keyDeserializer;
+    private final JsonDeserializer<?> valueDeserializer;
+    private final TypeDeserializer valueTypeDeserializer;
+    private transient volatile FlexiEnumMapDeserializer shared;
+
+    public FlexiEnumMapDeserializer() {
+        this(null, null, null, null);
+    }
+
+    /**
+     * @param enumType              the registry of the key type, null until contextualized.
+     * @param keyDeserializer       the deserializer of the keys, null to look it up when contextualized.
+     * @param valueDeserializer     the deserializer of the values, null to look it up when contextualized.
+     * @param valueTypeDeserializer the deserializer of the type information of the values, may be null.
+     */
+    FlexiEnumMapDeserializer(FlexiEnumType<?> enumType, KeyDeserializer keyDeserializer, JsonDeserializer<?> valueDeserializer, TypeDeserializer valueTypeDeserializer) {
+        super(FlexiEnumMap.class);
+        this.enumType = enumType;
+        this.keyDeserializer = keyDeserializer;
+        this.valueDeserializer = valueDeserializer;
+        this.valueTypeDeserializer = valueTypeDeserializer;
+    }
+
+    /**
+     * Deserializes a JSON object into a FlexiEnumMap.
+     *
+     * @param p    the JSON parser.
+     * @param ctxt the deserialization context.
+     * @return the deserialized map.
+     * @throws IOException if the input is not an object or an entry cannot be deserialized.
+     */
+    @Override
+    public FlexiEnumMap<?, ?> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (null == enumType) {
+            throw JsonMappingException.from(p, "No FlexiEnum key type known to deserialize FlexiEnumMap");
+        }
+        String name;
+        if (p.isExpectedStartObjectToken()) {
+            name = p.nextFieldName();
+        } else if (p.hasToken(JsonToken.FIELD_NAME)) {
+            name = p.currentName();
+        } else if (p.hasToken(JsonToken.END_OBJECT)) {
+            name = null;
+        } else {
+            return (FlexiEnumMap<?, ?>) ctxt.handleUnexpectedToken(FlexiEnumMap.class, p);
+        }
+        @SuppressWarnings("unchecked")
+        FlexiEnumType<FlexiEnum> keyType = (FlexiEnumType<FlexiEnum>) enumType;
+        FlexiEnumMap<FlexiEnum, Object> map = new FlexiEnumMap<>(keyType);
+        for (; null != name; name = p.nextFieldName()) {
+            JsonToken token = p.nextToken();
+            FlexiEnum key = (FlexiEnum) keyDeserializer.deserializeKey(name, ctxt);
+            if (null == key) {
+                p.skipChildren();
+                continue;
+            }
+            Object value;
+            if (token == JsonToken.VALUE_NULL) {
+                value = valueDeserializer.getNullValue(ctxt);
+            } else if (null != valueTypeDeserializer) {
+                value = valueDeserializer.deserializeWithType(p, ctxt, valueTypeDeserializer);
+            } else {
+                value = valueDeserializer.deserialize(p, ctxt);
+            }
+            map.put(key, value);
+        }
+        return map;
+    }
+
+    @Override
+    public boolean isCachable() {
+        return true;
+    }
+
+    /**
+     * Returns the deserializer for the key and value types of the map being deserialized, the one returned last if
+     * it reads the values without type information and with the same key and value deserializers.
+     *
+     * @param ctxt     the deserialization context.
+     * @param property the map property, null for a root value.
+     * @return the deserializer for the key and value types.
+     * @throws JsonMappingException if the key type is not a FlexiEnum type.
+     */
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) throws JsonMappingException {
+        JavaType type = null != property ? property.getType() : ctxt.getContextualType();
+        JavaType keyType = null != type ? type.getKeyType() : null;
+        if (null == keyType || !FlexiEnum.class.isAssignableFrom(keyType.getRawClass())) {
+            return ctxt.reportBadDefinition(null != type ? type : ctxt.constructType(FlexiEnumMap.class), "FlexiEnumMap needs a FlexiEnum key type");
+        }
+        JavaType valueType = type.getContentType();
+        @SuppressWarnings("unchecked")
+        Class<? extends FlexiEnum> keyClass = (Class<? extends FlexiEnum>) keyType.getRawClass();
+        FlexiEnumType<?> enumType = FlexiEnumStore.getInstance().getEnumType(keyClass);
+        KeyDeserializer keyDeserializer = this.keyDeserializer;
+        if (null == keyDeserializer) {
+            keyDeserializer = ctxt.findKeyDeserializer(keyType, property);
+        } else if (keyDeserializer instanceof ContextualKeyDeserializer) {
+            keyDeserializer = ((ContextualKeyDeserializer) keyDeserializer).createContextual(ctxt, property);
+        }
+        JsonDeserializer<?> valueDeserializer = null == this.valueDeserializer
+                ? ctxt.findContextualValueDeserializer(valueType, property)
+                : ctxt.handleSecondaryContextualization(this.valueDeserializer, property, valueType);
+        TypeDeserializer valueTypeDeserializer = null != this.valueTypeDeserializer
+                ? this.valueTypeDeserializer.forProperty(property)
+                : ctxt.getFactory().findTypeDeserializer(ctxt.getConfig(), valueType);
+        if (null != valueTypeDeserializer) {
+            return new FlexiEnumMapDeserializer(enumType, keyDeserializer, valueDeserializer, valueTypeDeserializer);
+        }
+        FlexiEnumMapDeserializer shared = this.shared;
+        if (null == shared || shared.enumType != enumType || shared.keyDeserializer != keyDeserializer || shared.valueDeserializer != valueDeserializer) {
+            shared = new FlexiEnumMapDeserializer(enumType, keyDeserializer, valueDeserializer, null);
+            this.shared = shared;
+        }
+        return shared;
+    }
+}
@@ -0,0 +1,115 @@
+package com.bhawesh_source.configs;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Switches and collects the {@link FlexiEnumStatistics} kept for every {@link FlexiEnum} type.
+ * Metrics are disabled by default. While disabled, lookups and deserialization pay a single branch and nothing else.
+ * While enabled, lookups count hits and misses in striped counters, and one in {@link #setLatencySampling(int)}
+ * lookups is additionally timed into a latency histogram.
+ * Statistics are handed to every {@link FlexiEnumMetricsSink}, for example a {@link FlexiEnumJmxSink}.
+ */
+@Slf4j
+public final class FlexiEnumMetrics {
+    static volatile boolean enabled;
+    static volatile int latencySampling;
+
+    private static final WeakHashMap<FlexiEnumStatistics, Boolean> STATISTICS = new WeakHashMap<>();
+    private static final List<FlexiEnumMetricsSink> SINKS = new CopyOnWriteArrayList<>();
+
+    static {
+        try {
+            for (FlexiEnumMetricsSink sink : ServiceLoader.load(FlexiEnumMetricsSink.class)) {
+                SINKS.add(sink);
+            }
+        } catch (ServiceConfigurationError e) {
+            log.error("Failed to load FlexiEnum metrics sinks", e);
+        }
+    }
+
+    private FlexiEnumMetrics() {
+    }
+
+    /**
+     * Enables or disables counting. Counters keep their values while disabled.
+     *
+     * @param enabled whether lookups and updates are counted.
+     */
+    public static void setEnabled(boolean enabled) {
+        FlexiEnumMetrics.enabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets how often lookups are timed while metrics are enabled.
+     *
+     * @param everyNth time one in this many lookups on average, 0 to disable latency sampling.
+     */
+    public static void setLatencySampling(int everyNth) {
+        if (everyNth < 0) {
+            throw new IllegalArgumentException("Latency sampling cannot be negative");
+        }
+        latencySampling = everyNth;
+    }
+
+    /**
+     * Adds a sink and hands it the statistics of every type known so far.
+     *
+     * @param sink the sink to add.
+     */
+    public static void addSink(FlexiEnumMetricsSink sink) {
+        synchronized (STATISTICS) {
+            SINKS.add(sink);
+            for (FlexiEnumStatistics statistics : STATISTICS.keySet()) {
+                sink.register(statistics);
+            }
+        }
+    }
+
+    /**
+     * Removes a sink, which is asked to unregister the statistics of every type known so far.
+     *
+     * @param sink the sink to remove.
+     */
+    public static void removeSink(FlexiEnumMetricsSink sink) {
+        synchronized (STATISTICS) {
+            if (SINKS.remove(sink)) {
+                for (FlexiEnumStatistics statistics : STATISTICS.keySet()) {
+                    sink.unregister(statistics);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the statistics of every type which is still reachable.
+     */
+    public static List<FlexiEnumStatistics> statistics() {
+        synchronized (STATISTICS) {
+            return Collections.unmodifiableList(new ArrayList<>(STATISTICS.keySet()));
+        }
+    }
+
+    /**
+     * Called when a type is created. Statistics are held weakly here, so a type without sinks stays collectable.
+     */
+    static void register(FlexiEnumStatistics statistics) {
+        synchronized (STATISTICS) {
+            STATISTICS.put(statistics, Boolean.TRUE);
+            for (FlexiEnumMetricsSink sink : SINKS) {
+                sink.register(statistics);
+            }
+        }
+    }
+}
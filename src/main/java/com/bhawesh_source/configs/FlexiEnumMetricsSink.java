@@ -0,0 +1,25 @@
+package com.bhawesh_source.configs;
+
+/**
+ * Receives the {@link FlexiEnumStatistics} of every {@link FlexiEnum} type, to expose them to a monitoring system.
+ * Sinks read the counters whenever they publish, nothing is pushed to them on lookups.
+ * Implementations listed in {@code META-INF/services/com.bhawesh_source.configs.FlexiEnumMetricsSink} are
+ * installed automatically, others through {@link FlexiEnumMetrics#addSink(FlexiEnumMetricsSink)}.
+ */
+public interface FlexiEnumMetricsSink {
+
+    /**
+     * Called once for every type, for types already known when the sink is added and for types created later.
+     *
+     * @param statistics the statistics of the type.
+     */
+    void register(FlexiEnumStatistics statistics);
+
+    /**
+     * Called when the sink is removed, for every type it was given.
+     *
+     * @param statistics the statistics of the type.
+     */
+    default void unregister(FlexiEnumStatistics statistics) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.bhawesh_source.configs;
+
+/**
+ * Policies {@link FlexiEnumDeserializer} applies to a name which does not match any registered {@link FlexiEnum}
+ * value. Misses are resolved without throwing, and are logged at most once per interval per type with the number of
+ * misses since the last log line, so a producer shipping a new value does not flood the log.
+ *
+ * @see FlexiEnumStore#setMissPolicy(Class, FlexiEnumMissPolicy)
+ */
+public enum FlexiEnumMissPolicy {
+    /**
+     * The unknown name is deserialized as null.
+     */
+    NULL,
+
+    /**
+     * The unknown name is deserialized as the fallback value given to
+     * {@link FlexiEnumStore#setMissPolicy(Class, FlexiEnumMissPolicy, FlexiEnum)}.
+     */
+    DEFAULT,
+
+    /**
+     * Deserialization fails with an {@link com.fasterxml.jackson.databind.exc.InvalidFormatException}.
+     * Misses are not logged, the exception reports them.
+     */
+    FAIL,
+
+    /**
+     * The unknown name is registered in the global store as a new value of the type. Combine with
+     * {@link FlexiEnumStore#setCapacity(Class, FlexiEnumCapacity)} for names coming from untrusted input.
+     * Registering a name costs amortized constant time for a type without aliases. A type with aliases rebuilds its
+     * name indexes on every registered name, and an admission which evicts a value rebuilds the snapshot, both in
+     * time linear in the number of values.
+     */
+    REGISTER
+}
@@ -0,0 +1,104 @@
+package com.bhawesh_source.configs;
+
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.deser.Deserializers;
+import com.fasterxml.jackson.databind.deser.KeyDeserializers;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.databind.type.MapType;
+
+/**
+ * A Jackson {@link Module} wiring {@link FlexiEnum} types into a mapper explicitly, for mappers which do not rely on
+ * the annotations of {@link FlexiEnum}, for instance with {@link com.fasterxml.jackson.databind.MapperFeature#USE_ANNOTATIONS}
+ * disabled.
+ * <p>
+ * Every concrete FlexiEnum type gets a single deserializer, key deserializer and {@link FlexiEnumSet} deserializer per
+ * lookup mode, shared by all mappers and properties and holding the registry of the type, so building the deserializer
+ * caches of a mapper allocates nothing per property for them. Serializers are stateless and shared as well.
+ * {@link FlexiEnumMap} targets are read by a {@link FlexiEnumMapDeserializer} per mapper and map type, shared by the
+ * properties which read their values without type information.
+ * <pre>
+ * ObjectMapper mapper = JsonMapper.builder().addModule(new FlexiEnumModule()).build();
+ * </pre>
+ */
+public class FlexiEnumModule extends Module {
+    private static final FlexiEnumSerializer SERIALIZER = new FlexiEnumSerializer(FlexiEnum.class);
+    private static final FlexiEnumKeySerializer KEY_SERIALIZER = new FlexiEnumKeySerializer();
+
+    @Override
+    public String getModuleName() {
+        return "FlexiEnumModule";
+    }
+
+    @Override
+    public Version version() {
+        return Version.unknownVersion();
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        context.addSerializers(new Serializers.Base() {
+            @Override
+            public JsonSerializer<?> findSerializer(SerializationConfig config, JavaType type, BeanDescription beanDesc) {
+                return type.isTypeOrSubTypeOf(FlexiEnum.class) ? SERIALIZER : null;
+            }
+        });
+        context.addKeySerializers(new Serializers.Base() {
+            @Override
+            public JsonSerializer<?> findSerializer(SerializationConfig config, JavaType type, BeanDescription beanDesc) {
+                return type.isTypeOrSubTypeOf(FlexiEnum.class) ? KEY_SERIALIZER : null;
+            }
+        });
+        context.addDeserializers(new Deserializers.Base() {
+            @Override
+            public JsonDeserializer<?> findBeanDeserializer(JavaType type, DeserializationConfig config, BeanDescription beanDesc) {
+                Class<? extends FlexiEnum> clazz = flexiEnumClass(type);
+                return null != clazz ? FlexiEnumDeserializer.forType(clazz, null) : null;
+            }
+
+            @Override
+            public JsonDeserializer<?> findCollectionDeserializer(CollectionType type, DeserializationConfig config, BeanDescription beanDesc,
+                                                                  TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer) {
+                if (!type.hasRawClass(FlexiEnumSet.class)) {
+                    return null;
+                }
+                Class<? extends FlexiEnum> clazz = flexiEnumClass(type.getContentType());
+                return null != clazz && null == elementDeserializer && null == elementTypeDeserializer
+                        ? FlexiEnumSetDeserializer.forType(clazz, null)
+                        : new FlexiEnumSetDeserializer(null, elementDeserializer, elementTypeDeserializer);
+            }
+
+            @Override
+            public JsonDeserializer<?> findMapDeserializer(MapType type, DeserializationConfig config, BeanDescription beanDesc, KeyDeserializer keyDeserializer,
+                                                           TypeDeserializer elementTypeDeserializer, JsonDeserializer<?> elementDeserializer) {
+                return type.hasRawClass(FlexiEnumMap.class)
+                        ? new FlexiEnumMapDeserializer(null, keyDeserializer, elementDeserializer, elementTypeDeserializer)
+                        : null;
+            }
+        });
+        context.addKeyDeserializers(new KeyDeserializers() {
+            @Override
+            public KeyDeserializer findKeyDeserializer(JavaType type, DeserializationConfig config, BeanDescription beanDesc) {
+                Class<? extends FlexiEnum> clazz = flexiEnumClass(type);
+                return null != clazz ? FlexiEnumKeyDeserializer.forType(clazz, null) : null;
+            }
+        });
+    }
+
+    /**
+     * @return the class of a concrete FlexiEnum type, or null for any other type.
+     */
+    @SuppressWarnings("unchecked")
+    private static Class<? extends FlexiEnum> flexiEnumClass(JavaType type) {
+        return type.isTypeOrSubTypeOf(FlexiEnum.class) && !type.isAbstract() ? (Class<? extends FlexiEnum>) type.getRawClass() : null;
+    }
+}
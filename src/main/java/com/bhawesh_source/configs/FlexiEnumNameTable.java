@@ -0,0 +1,154 @@
+package com.bhawesh_source.configs;
+
+/**
+ * An open addressing hash table from name to {@link FlexiEnum}, matching keys under a {@link FlexiEnumLookup}.
+ * Names can be looked up either as a {@link String} or as a range of a char buffer, such as the text buffer of a
+ * Jackson parser, and a successful lookup allocates nothing in both cases.
+ * Exact hashes follow {@link String#hashCode()}, so exact String lookups reuse the hash cached in the String.
+ * <p>
+ * Every key remembers its order among the keys of the table, and lookups only match keys up to a bound. A table of
+ * values without aliases is extended in place by appending values, which readers of a snapshot published before
+ * do not see as the appended keys lie beyond their bound. Appending only allocates when the table has to grow.
+ *
+ * @param <T> the type of the FlexiEnum.
+ */
+final class FlexiEnumNameTable<T extends FlexiEnum> {
+    private final FlexiEnumLookup lookup;
+    private final String[] keys;
+    private final FlexiEnum[] slots;
+    private final int[] hashes;
+    private final int[] orders;
+    private final int mask;
+
+    /**
+     * Builds an exact table of the given values, which must have distinct names.
+     *
+     * @param values the values to index.
+     * @param count  the number of values to index from the start of the array.
+     */
+    FlexiEnumNameTable(T[] values, int count) {
+        this(values, count, null, null, FlexiEnumLookup.EXACT);
+    }
+
+    /**
+     * Builds a table of the given values and aliases. When several keys match each other under the lookup mode,
+     * names win over aliases and earlier keys win over later ones. Aliases follow the values in key order.
+     *
+     * @param values       the values to index by name.
+     * @param count        the number of values to index from the start of the array.
+     * @param aliases      further keys, may be null.
+     * @param aliasTargets the values of the aliases, may be null.
+     * @param lookup       the mode keys are matched with.
+     */
+    FlexiEnumNameTable(T[] values, int count, String[] aliases, T[] aliasTargets, FlexiEnumLookup lookup) {
+        int size = count + (null == aliases ? 0 : aliases.length);
+        int capacity = Integer.highestOneBit(Math.max(2, size) * 2 - 1) << 1;
+        this.lookup = lookup;
+        this.keys = new String[capacity];
+        this.slots = new FlexiEnum[capacity];
+        this.hashes = new int[capacity];
+        this.orders = new int[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < count; i++) {
+            put(values[i].name(), values[i], i + 1);
+        }
+        if (null != aliases) {
+            for (int i = 0; i < aliases.length; i++) {
+                put(aliases[i], aliasTargets[i], count + i + 1);
+            }
+        }
+    }
+
+    /**
+     * Appends values to a table without aliases, which was built from or extended to the first values of the array.
+     * Must only be called by the single writer of the snapshots sharing this table.
+     *
+     * @param values the values, starting with the values already in this table.
+     * @param from   the number of values already in this table.
+     * @param to     the number of values to hold.
+     * @return this table if it had room for the appended values, otherwise a new table of all values.
+     */
+    FlexiEnumNameTable<T> extend(T[] values, int from, int to) {
+        if (to * 2 > keys.length) {
+            return new FlexiEnumNameTable<>(values, to, null, null, lookup);
+        }
+        for (int i = from; i < to; i++) {
+            put(values[i].name(), values[i], i + 1);
+        }
+        return this;
+    }
+
+    /**
+     * Looks up a value by a name or alias.
+     *
+     * @param name  the input to match.
+     * @param bound the number of keys visible to the caller.
+     * @return the value, or null if no visible key matches the input.
+     */
+    @SuppressWarnings("unchecked")
+    T get(String name, int bound) {
+        int hash = lookup.hash(name);
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            String key = keys[slot];
+            if (null == key) {
+                return null;
+            }
+            if (isVisible(slot, bound) && hashes[slot] == hash && lookup.matches(key, name)) {
+                return (T) slots[slot];
+            }
+        }
+    }
+
+    /**
+     * Looks up a value by a name or alias held in a range of a char buffer.
+     *
+     * @param buffer the buffer holding the input.
+     * @param offset the index of the first char of the input.
+     * @param length the number of chars of the input.
+     * @param bound  the number of keys visible to the caller.
+     * @return the value, or null if no visible key matches the input.
+     */
+    @SuppressWarnings("unchecked")
+    T get(char[] buffer, int offset, int length, int bound) {
+        int hash = lookup.hash(buffer, offset, length);
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            String key = keys[slot];
+            if (null == key) {
+                return null;
+            }
+            if (isVisible(slot, bound) && hashes[slot] == hash && lookup.matches(key, buffer, offset, length)) {
+                return (T) slots[slot];
+            }
+        }
+    }
+
+    /**
+     * A key being appended may be seen before its order is written, an order of 0 then hides it.
+     */
+    private boolean isVisible(int slot, int bound) {
+        int order = orders[slot];
+        return order != 0 && order <= bound;
+    }
+
+    /**
+     * Adds a key unless a matching key is present. The order is written last.
+     */
+    private void put(String key, T value, int order) {
+        int hash = lookup.hash(key);
+        int slot = spread(hash) & mask;
+        while (null != keys[slot]) {
+            if (hashes[slot] == hash && lookup.matches(keys[slot], key)) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        slots[slot] = value;
+        hashes[slot] = hash;
+        orders[slot] = order;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -22,6 +22,9 @@ public class FlexiEnumSerializer extends StdSerializer<FlexiEnum> {
 
     /**
      * Serializes a FlexiEnum instance into its string representation (name).
+     * Registered enums write their name pre-encoded, skipping escaping and encoding on every write.
+     * Binary formats such as Smile and CBOR get the plain name, so their own dictionaries of repeated strings
+     * (shared string values, string references) apply.
      *
      * @param flexiEnum     the FlexiEnum instance to serialize.
      * @param jsonGenerator the JSON generator used to write JSON content.
@@ -30,6 +33,10 @@ public class FlexiEnumSerializer extends StdSerializer<FlexiEnum> {
      */
     @Override
     public void serialize(FlexiEnum flexiEnum, JsonGenerator jsonGenerator, SerializerProvider provider) throws IOException {
-        jsonGenerator.writeString(flexiEnum.name());
+        if (jsonGenerator.canWriteBinaryNatively()) {
+            jsonGenerator.writeString(flexiEnum.name());
+        } else {
+            jsonGenerator.writeString(flexiEnum.serializedName());
+        }
     }
 }
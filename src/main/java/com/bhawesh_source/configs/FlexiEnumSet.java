@@ -0,0 +1,375 @@
+package com.bhawesh_source.configs;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link java.util.Set} of {@link FlexiEnum} values of a single type, backed by a bit vector indexed by
+ * {@link FlexiEnum#ordinal()}, the FlexiEnum counterpart of {@link java.util.EnumSet}.
+ * The bit vector starts empty and grows as enums with higher ordinals are added, so a set only costs memory up to
+ * the highest ordinal it holds. Iteration follows ordinal order.
+ * Only values registered in {@link FlexiEnumStore} can be added. Values evicted from the store are dropped from the
+ * set once they can no longer be resolved by ordinal. This class is not thread safe.
+ * Jackson reads JSON arrays straight into a set, see {@link FlexiEnumSetDeserializer}.
+ *
+ * @param <E> the type of the FlexiEnum.
+ */
+@JsonDeserialize(using = FlexiEnumSetDeserializer.class)
+public class FlexiEnumSet<E extends FlexiEnum> extends AbstractSet<E> implements Cloneable {
+    private static final long[] EMPTY = new long[0];
+
+    private final FlexiEnumType<E> enumType;
+    private long[] elements;
+    private int size;
+    private int modCount;
+    private int releases;
+
+    FlexiEnumSet(FlexiEnumType<E> enumType) {
+        this.enumType = enumType;
+        this.elements = EMPTY;
+        this.releases = enumType.releases();
+    }
+
+    /**
+     * Creates an empty set for the specified class type.
+     *
+     * @param clazz the class of the enums.
+     * @param <E>   the type of the FlexiEnum.
+     * @return an empty set.
+     */
+    public static <E extends FlexiEnum> FlexiEnumSet<E> noneOf(Class<E> clazz) {
+        return new FlexiEnumSet<>(FlexiEnumStore.getInstance().getEnumType(clazz));
+    }
+
+    /**
+     * Creates a set containing all enums of the specified class type currently stored in {@link FlexiEnumStore}.
+     *
+     * @param clazz the class of the enums.
+     * @param <E>   the type of the FlexiEnum.
+     * @return a set of all stored enums.
+     */
+    public static <E extends FlexiEnum> FlexiEnumSet<E> allOf(Class<E> clazz) {
+        FlexiEnumSet<E> set = noneOf(clazz);
+        set.addAll(set.enumType.snapshot().values());
+        return set;
+    }
+
+    /**
+     * Creates a set containing the specified enums.
+     *
+     * @param first an enum to include.
+     * @param rest  further enums to include.
+     * @param <E>   the type of the FlexiEnum.
+     * @return a set of the specified enums.
+     */
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    public static <E extends FlexiEnum> FlexiEnumSet<E> of(E first, E... rest) {
+        FlexiEnumSet<E> set = noneOf((Class<E>) first.getClass());
+        set.add(first);
+        for (E e : rest) {
+            set.add(e);
+        }
+        return set;
+    }
+
+    /**
+     * Creates a set containing the enums of the specified collection.
+     *
+     * @param clazz  the class of the enums.
+     * @param values the enums to include.
+     * @param <E>    the type of the FlexiEnum.
+     * @return a set of the specified enums.
+     */
+    public static <E extends FlexiEnum> FlexiEnumSet<E> copyOf(Class<E> clazz, Collection<? extends E> values) {
+        FlexiEnumSet<E> set = noneOf(clazz);
+        set.addAll(values);
+        return set;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        expungeReleased();
+        int ordinal = enumType.ordinalOf(o);
+        if (ordinal < 0 || (ordinal >>> 6) >= elements.length) {
+            return false;
+        }
+        return (elements[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    @Override
+    public boolean add(E e) {
+        int ordinal = enumType.ordinalOf(e);
+        if (ordinal < 0 || !enumType.isResolvable(ordinal)) {
+            throw new IllegalArgumentException("Enum \"" + e + "\" is not registered for " + enumType.type().getName());
+        }
+        int word = ordinal >>> 6;
+        if (word >= elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(word + 1, Math.min(elements.length << 1, (enumType.ordinalBound() + 63) >>> 6)));
+        }
+        long old = elements[word];
+        elements[word] = old | (1L << ordinal);
+        if (old == elements[word]) {
+            return false;
+        }
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int ordinal = enumType.ordinalOf(o);
+        if (ordinal < 0 || (ordinal >>> 6) >= elements.length) {
+            return false;
+        }
+        int word = ordinal >>> 6;
+        long old = elements[word];
+        elements[word] = old & ~(1L << ordinal);
+        if (old == elements[word]) {
+            return false;
+        }
+        size--;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (!(c instanceof FlexiEnumSet)) {
+            return super.containsAll(c);
+        }
+        FlexiEnumSet<?> other = (FlexiEnumSet<?>) c;
+        if (other.enumType != enumType) {
+            return other.isEmpty();
+        }
+        expungeReleased();
+        other.expungeReleased();
+        for (int i = 0; i < other.elements.length; i++) {
+            long mine = i < elements.length ? elements[i] : 0L;
+            if ((other.elements[i] & ~mine) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        if (!(c instanceof FlexiEnumSet)) {
+            return super.addAll(c);
+        }
+        FlexiEnumSet<?> other = (FlexiEnumSet<?>) c;
+        if (other.enumType != enumType) {
+            return super.addAll(c);
+        }
+        expungeReleased();
+        other.expungeReleased();
+        if (other.elements.length > elements.length) {
+            elements = Arrays.copyOf(elements, other.elements.length);
+        }
+        for (int i = 0; i < other.elements.length; i++) {
+            elements[i] |= other.elements[i];
+        }
+        return recalculateSize();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        if (!(c instanceof FlexiEnumSet) || ((FlexiEnumSet<?>) c).enumType != enumType) {
+            return super.retainAll(c);
+        }
+        FlexiEnumSet<?> other = (FlexiEnumSet<?>) c;
+        expungeReleased();
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] &= i < other.elements.length ? other.elements[i] : 0L;
+        }
+        return recalculateSize();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        if (!(c instanceof FlexiEnumSet) || ((FlexiEnumSet<?>) c).enumType != enumType) {
+            return super.removeAll(c);
+        }
+        FlexiEnumSet<?> other = (FlexiEnumSet<?>) c;
+        expungeReleased();
+        for (int i = 0; i < elements.length && i < other.elements.length; i++) {
+            elements[i] &= ~other.elements[i];
+        }
+        return recalculateSize();
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(elements, 0L);
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        expungeReleased();
+        return size;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        expungeReleased();
+        return new BitIterator();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof FlexiEnumSet) || ((FlexiEnumSet<?>) o).enumType != enumType) {
+            return super.equals(o);
+        }
+        FlexiEnumSet<?> other = (FlexiEnumSet<?>) o;
+        if (other.size() != size()) {
+            return false;
+        }
+        for (int i = 0; i < Math.max(elements.length, other.elements.length); i++) {
+            long mine = i < elements.length ? elements[i] : 0L;
+            long theirs = i < other.elements.length ? other.elements[i] : 0L;
+            if (mine != theirs) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public FlexiEnumSet<E> clone() {
+        expungeReleased();
+        try {
+            FlexiEnumSet<E> clone = (FlexiEnumSet<E>) super.clone();
+            clone.elements = elements.length == 0 ? EMPTY : elements.clone();
+            return clone;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Drops the ordinals of values evicted since the last check, which would otherwise iterate as null.
+     */
+    private void expungeReleased() {
+        int releases = enumType.releases();
+        if (releases == this.releases) {
+            return;
+        }
+        this.releases = releases;
+        for (int word = 0; word < elements.length; word++) {
+            for (long bits = elements[word]; bits != 0; bits &= bits - 1) {
+                int ordinal = (word << 6) + Long.numberOfTrailingZeros(bits);
+                if (!enumType.isResolvable(ordinal)) {
+                    elements[word] &= ~(1L << ordinal);
+                    size--;
+                }
+            }
+        }
+    }
+
+    private boolean recalculateSize() {
+        int oldSize = size;
+        int newSize = 0;
+        for (long word : elements) {
+            newSize += Long.bitCount(word);
+        }
+        size = newSize;
+        if (newSize != oldSize) {
+            modCount++;
+            return true;
+        }
+        return false;
+    }
+
+    private class BitIterator implements Iterator<E> {
+        private int expectedModCount = modCount;
+        private int next = -1;
+        private E nextValue;
+        private int last = -1;
+
+        BitIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next >= 0;
+        }
+
+        @Override
+        public E next() {
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next < 0) {
+                throw new NoSuchElementException();
+            }
+            E value = nextValue;
+            last = next;
+            advance();
+            return value;
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            long old = elements[last >>> 6];
+            elements[last >>> 6] = old & ~(1L << last);
+            if (old != elements[last >>> 6]) {
+                size--;
+            }
+            last = -1;
+            expectedModCount = ++modCount;
+        }
+
+        /**
+         * Resolves the next value ahead of {@link #next()}, skipping ordinals evicted during the iteration.
+         */
+        private void advance() {
+            nextValue = null;
+            while ((next = nextSetBit(next + 1)) >= 0) {
+                nextValue = enumType.get(next);
+                if (nextValue != null) {
+                    return;
+                }
+            }
+        }
+
+        private int nextSetBit(int from) {
+            int word = from >>> 6;
+            if (word >= elements.length) {
+                return -1;
+            }
+            long bits = elements[word] & (-1L << from);
+            while (true) {
+                if (bits != 0) {
+                    return (word << 6) + Long.numberOfTrailingZeros(bits);
+                }
+                if (++word >= elements.length) {
+                    return -1;
+                }
+                bits = elements[word];
+            }
+        }
+    }
+}
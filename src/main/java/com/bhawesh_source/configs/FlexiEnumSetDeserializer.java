@@ -0,0 +1,146 @@
+package com.bhawesh_source.configs;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+
+import java.io.IOException;
+
+/**
+ * A deserializer reading a JSON array straight into a {@link FlexiEnumSet}. Elements are resolved one token at a
+ * time by the deserializer of the element type and set in the bit vector, without an intermediate collection.
+ * Nulls and unknown names dropped by the {@link FlexiEnumMissPolicy} of the type are skipped.
+ * Sets read by the shared {@link FlexiEnumDeserializer} of their element type, without type information, share a
+ * single deserializer per element type and lookup mode.
+ */
+public class FlexiEnumSetDeserializer extends StdDeserializer<FlexiEnumSet<?>> implements ContextualDeserializer {
+    private static final long serialVersionUID = 1L;
+    private static final ClassValue<FlexiEnumSetDeserializer[]> DESERIALIZERS = new ClassValue<FlexiEnumSetDeserializer[]>() {
+        @Override
+        protected FlexiEnumSetDeserializer[] computeValue(Class<?> type) {
+            return new FlexiEnumSetDeserializer[FlexiEnumLookup.values().length + 1];
+        }
+    };
+
+    private final FlexiEnumType<?> enumType;
+    private final JsonDeserializer<?> elementDeserializer;
+    private final TypeDeserializer elementTypeDeserializer;
+
+    public FlexiEnumSetDeserializer() {
+        this(null, null, null);
+    }
+
+    /**
+     * @param enumType                the registry of the element type, null until contextualized.
+     * @param elementDeserializer     the deserializer of the elements, null to look it up when contextualized.
+     * @param elementTypeDeserializer the deserializer of the type information of the elements, may be null.
+     */
+    FlexiEnumSetDeserializer(FlexiEnumType<?> enumType, JsonDeserializer<?> elementDeserializer, TypeDeserializer elementTypeDeserializer) {
+        super(FlexiEnumSet.class);
+        this.enumType = enumType;
+        this.elementDeserializer = elementDeserializer;
+        this.elementTypeDeserializer = elementTypeDeserializer;
+    }
+
+    /**
+     * Returns the deserializer of sets of a type read with a lookup mode, shared by every mapper and property.
+     * Concurrent first uses may create it twice, which is harmless since deserializers are immutable.
+     *
+     * @param clazz  the class of the elements.
+     * @param lookup the mode to match names with, or null to use the lookup mode of the type.
+     * @return the deserializer.
+     */
+    static FlexiEnumSetDeserializer forType(Class<? extends FlexiEnum> clazz, FlexiEnumLookup lookup) {
+        FlexiEnumSetDeserializer[] deserializers = DESERIALIZERS.get(clazz);
+        int slot = null == lookup ? 0 : lookup.ordinal() + 1;
+        FlexiEnumSetDeserializer deserializer = deserializers[slot];
+        if (null == deserializer) {
+            deserializer = new FlexiEnumSetDeserializer(FlexiEnumStore.getInstance().getEnumType(clazz), FlexiEnumDeserializer.forType(clazz, lookup), null);
+            deserializers[slot] = deserializer;
+        }
+        return deserializer;
+    }
+
+    /**
+     * Deserializes a JSON array into a FlexiEnumSet.
+     *
+     * @param p    the JSON parser.
+     * @param ctxt the deserialization context.
+     * @return the deserialized set.
+     * @throws IOException if the input is not an array or an element cannot be deserialized.
+     */
+    @Override
+    public FlexiEnumSet<?> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (null == enumType) {
+            throw JsonMappingException.from(p, "No FlexiEnum element type known to deserialize FlexiEnumSet");
+        }
+        if (!p.isExpectedStartArrayToken()) {
+            return (FlexiEnumSet<?>) ctxt.handleUnexpectedToken(FlexiEnumSet.class, p);
+        }
+        @SuppressWarnings("unchecked")
+        FlexiEnumType<FlexiEnum> elementType = (FlexiEnumType<FlexiEnum>) enumType;
+        FlexiEnumSet<FlexiEnum> set = new FlexiEnumSet<>(elementType);
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.VALUE_NULL) {
+                FlexiEnum flexiEnum = (FlexiEnum) (null != elementTypeDeserializer
+                        ? elementDeserializer.deserializeWithType(p, ctxt, elementTypeDeserializer)
+                        : elementDeserializer.deserialize(p, ctxt));
+                if (null != flexiEnum) {
+                    set.add(flexiEnum);
+                }
+            }
+        }
+        return set;
+    }
+
+    @Override
+    public boolean isCachable() {
+        return true;
+    }
+
+    /**
+     * Returns the deserializer for the element type of the set being deserialized, the shared one unless the
+     * elements are read by another deserializer than the shared {@link FlexiEnumDeserializer} of their type.
+     *
+     * @param ctxt     the deserialization context.
+     * @param property the set property, null for a root value.
+     * @return the deserializer for the element type.
+     * @throws JsonMappingException if the element type is not a FlexiEnum type.
+     */
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) throws JsonMappingException {
+        JavaType type = null != property ? property.getType() : ctxt.getContextualType();
+        JavaType elementType = null != type ? type.getContentType() : null;
+        if (null == elementType || !FlexiEnum.class.isAssignableFrom(elementType.getRawClass())) {
+            return ctxt.reportBadDefinition(null != type ? type : ctxt.constructType(FlexiEnumSet.class), "FlexiEnumSet needs a FlexiEnum element type");
+        }
+        @SuppressWarnings("unchecked")
+        Class<? extends FlexiEnum> elementClass = (Class<? extends FlexiEnum>) elementType.getRawClass();
+        JsonDeserializer<?> elementDeserializer = null == this.elementDeserializer || isShared(elementClass, this.elementDeserializer)
+                ? ctxt.findContextualValueDeserializer(elementType, property)
+                : ctxt.handleSecondaryContextualization(this.elementDeserializer, property, elementType);
+        TypeDeserializer elementTypeDeserializer = null != this.elementTypeDeserializer
+                ? this.elementTypeDeserializer.forProperty(property)
+                : ctxt.getFactory().findTypeDeserializer(ctxt.getConfig(), elementType);
+        if (null == elementTypeDeserializer && isShared(elementClass, elementDeserializer)) {
+            return forType(elementClass, ((FlexiEnumDeserializer<?>) elementDeserializer).lookup());
+        }
+        return new FlexiEnumSetDeserializer(FlexiEnumStore.getInstance().getEnumType(elementClass), elementDeserializer, elementTypeDeserializer);
+    }
+
+    /**
+     * @return whether the deserializer is the shared {@link FlexiEnumDeserializer} of a type.
+     */
+    private static boolean isShared(Class<? extends FlexiEnum> clazz, JsonDeserializer<?> deserializer) {
+        return deserializer instanceof FlexiEnumDeserializer
+                && deserializer == FlexiEnumDeserializer.forType(clazz, ((FlexiEnumDeserializer<?>) deserializer).lookup());
+    }
+}
@@ -0,0 +1,548 @@
+package com.bhawesh_source.configs;
+
+import com.bhawesh_source.exception.FlexiEnumException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shares the enums of a {@link FlexiEnumStore} between the JVMs of a host through a memory-mapped file.
+ * One process opens the file as publisher and writes the names, ordinals and aliases of every type it holds,
+ * the other processes open it as subscribers and restore the published types into their store, so every JVM
+ * sees the same enums with the same ordinals without loading them itself.
+ * <p>
+ * The file starts with a header holding a sequence number, followed by a directory with the offset, length and
+ * sequence number of the latest record of every type, and the records. The publisher appends the records of the
+ * types which changed, points their directory entries at them and then advances the sequence. The sequence is odd
+ * while the publisher writes, and every record carries a CRC32 checksum, so a subscriber reading a half-written
+ * file notices and retries at the next {@link #sync()}. Checking for changes reads a single long from the mapping,
+ * and only the types whose sequence moved are parsed and restored.
+ * Changes are only marked until the next sync, so a burst of additions or evictions costs one record per type.
+ * Once the records fill the file, the publisher writes the latest record of each type again from the start.
+ * The file only ever grows, so a mapping held by a subscriber never points past its end.
+ * <p>
+ * Subscribers treat the published types as read-only: an enum added locally to a published type gets an ordinal
+ * of its own and disappears with the next change published for the type.
+ * Only one publisher may write a file at a time.
+ */
+@Slf4j
+public final class FlexiEnumSharedRegistry implements FlexiEnumListener, Closeable {
+    private static final int MAGIC = 0x46455231;
+    private static final int FORMAT = 1;
+    private static final int SEQUENCE_OFFSET = 8;
+    private static final int TYPE_COUNT_OFFSET = 16;
+    private static final int DATA_END_OFFSET = 20;
+    private static final int DIRECTORY_CAPACITY_OFFSET = 24;
+    private static final int HEADER_SIZE = 32;
+    private static final int ENTRY_SIZE = 16;
+    private static final int MIN_DIRECTORY_CAPACITY = 64;
+    private static final int MIN_FILE_SIZE = 1 << 16;
+    private static final int RETRIES = 8;
+
+    private final FlexiEnumStore store;
+    private final Path file;
+    private final boolean publisher;
+    private final ClassLoader loader;
+    private final Set<Class<? extends FlexiEnum>> dirty = new LinkedHashSet<>();
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final Map<String, Long> applied = new HashMap<>();
+    private FileChannel channel;
+    private MappedByteBuffer mapping;
+    private long sequence;
+    private Thread thread;
+
+    private FlexiEnumSharedRegistry(FlexiEnumStore store, Path file, boolean publisher, ClassLoader loader) {
+        this.store = store;
+        this.file = file;
+        this.publisher = publisher;
+        this.loader = loader;
+    }
+
+    /**
+     * Opens a file as publisher and writes every type of the store to it. Changes of the store are published by
+     * {@link #sync()}, called by the thread started with {@link #start(long, TimeUnit)} or directly.
+     *
+     * @param store the store whose enums are shared.
+     * @param file  the registry file, created if missing.
+     * @return the open publisher.
+     * @throws FlexiEnumException if the file cannot be mapped or written.
+     */
+    public static FlexiEnumSharedRegistry publish(FlexiEnumStore store, Path file) throws FlexiEnumException {
+        FlexiEnumSharedRegistry registry = new FlexiEnumSharedRegistry(store, file, true, null);
+        try {
+            registry.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            registry.channel.read(header, 0);
+            registry.sequence = header.getInt(0) == MAGIC ? header.getLong(SEQUENCE_OFFSET) & ~1L : 0L;
+            store.addListener(registry);
+            synchronized (registry) {
+                registry.rewrite();
+            }
+        } catch (IOException e) {
+            store.removeListener(registry);
+            registry.closeQuietly();
+            throw new FlexiEnumException("Failed to publish FlexiEnum registry " + file, e);
+        }
+        return registry;
+    }
+
+    /**
+     * Opens a file as subscriber with the context class loader of the current thread.
+     *
+     * @param store the store to restore the shared enums into.
+     * @param file  the registry file.
+     * @return the open subscriber.
+     * @throws FlexiEnumException if the file cannot be mapped or read.
+     * @see #subscribe(FlexiEnumStore, Path, ClassLoader)
+     */
+    public static FlexiEnumSharedRegistry subscribe(FlexiEnumStore store, Path file) throws FlexiEnumException {
+        return subscribe(store, file, Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Opens a file as subscriber and restores the published types into the store. Later changes are picked up by
+     * {@link #sync()}, called by the thread started with {@link #start(long, TimeUnit)} or directly.
+     * Published types whose class cannot be loaded are skipped.
+     *
+     * @param store  the store to restore the shared enums into.
+     * @param file   the registry file.
+     * @param loader the class loader resolving the published class names.
+     * @return the open subscriber.
+     * @throws FlexiEnumException if the file cannot be mapped or read.
+     */
+    public static FlexiEnumSharedRegistry subscribe(FlexiEnumStore store, Path file, ClassLoader loader) throws FlexiEnumException {
+        FlexiEnumSharedRegistry registry = new FlexiEnumSharedRegistry(store, file, false, loader);
+        try {
+            registry.channel = FileChannel.open(file, StandardOpenOption.READ);
+            registry.sync();
+        } catch (IOException | FlexiEnumException e) {
+            registry.closeQuietly();
+            throw new FlexiEnumException("Failed to subscribe to FlexiEnum registry " + file, e);
+        }
+        return registry;
+    }
+
+    /**
+     * Publishes the types which changed since the last call, or restores the types whose published sequence moved.
+     *
+     * @return the number of types written or restored.
+     * @throws FlexiEnumException if the file cannot be written or read, or a type cannot be restored.
+     */
+    public synchronized int sync() throws FlexiEnumException {
+        if (null == channel) {
+            throw new FlexiEnumException("FlexiEnum registry " + file + " is closed");
+        }
+        try {
+            return publisher ? publishChanges() : applyChanges();
+        } catch (IOException e) {
+            throw new FlexiEnumException("Failed to sync FlexiEnum registry " + file, e);
+        }
+    }
+
+    /**
+     * @return the sequence of the last change written or restored.
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Starts calling {@link #sync()} at a fixed interval on a daemon thread.
+     *
+     * @param interval the time between two syncs.
+     * @param unit     the unit of the interval.
+     */
+    public synchronized void start(long interval, TimeUnit unit) {
+        if (null != thread) {
+            return;
+        }
+        long millis = Math.max(1L, unit.toMillis(interval));
+        thread = new Thread(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    Thread.sleep(millis);
+                    try {
+                        sync();
+                    } catch (FlexiEnumException e) {
+                        log.error("Failed to sync FlexiEnum registry " + file, e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                log.debug("Stopped syncing FlexiEnum registry " + file);
+            }
+        }, publisher ? "flexienum-registry-publisher" : "flexienum-registry-subscriber");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops syncing, publishing the pending changes first for a publisher. The file is kept, so subscribers keep
+     * the enums published so far.
+     *
+     * @throws IOException if the pending changes cannot be published or the file cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (null != thread) {
+            thread.interrupt();
+            thread = null;
+        }
+        if (publisher) {
+            store.removeListener(this);
+        }
+        if (null != channel) {
+            try {
+                if (publisher) {
+                    publishChanges();
+                }
+            } finally {
+                channel.close();
+                channel = null;
+                mapping = null;
+            }
+        }
+    }
+
+    @Override
+    public <T extends FlexiEnum> void onAdded(Class<T> clazz, List<T> added) {
+        markDirty(clazz);
+    }
+
+    @Override
+    public <T extends FlexiEnum> void onRemoved(Class<T> clazz, List<T> removed, List<T> values) {
+        markDirty(clazz);
+    }
+
+    @Override
+    public <T extends FlexiEnum> void onReplaced(Class<T> clazz, List<T> values) {
+        markDirty(clazz);
+    }
+
+    @Override
+    public <T extends FlexiEnum> void onAliasAdded(Class<T> clazz, String alias, String name) {
+        markDirty(clazz);
+    }
+
+    private synchronized void markDirty(Class<? extends FlexiEnum> clazz) {
+        dirty.add(clazz);
+    }
+
+    /**
+     * Appends the records of the changed types, or rewrites the file if they do not fit.
+     */
+    private int publishChanges() throws IOException {
+        if (dirty.isEmpty()) {
+            return 0;
+        }
+        List<byte[]> records = new ArrayList<>(dirty.size());
+        List<String> classNames = new ArrayList<>(dirty.size());
+        int length = 0;
+        int newTypes = 0;
+        for (Class<? extends FlexiEnum> clazz : dirty) {
+            byte[] record = encode(clazz);
+            records.add(record);
+            classNames.add(clazz.getName());
+            length += record.length;
+            if (!slots.containsKey(clazz.getName())) {
+                newTypes++;
+            }
+        }
+        int dataEnd = mapping.getInt(DATA_END_OFFSET);
+        int directoryCapacity = mapping.getInt(DIRECTORY_CAPACITY_OFFSET);
+        if (slots.size() + newTypes > directoryCapacity || (long) dataEnd + length > mapping.capacity()) {
+            return rewrite();
+        }
+        long next = beginWrite();
+        for (int i = 0; i < records.size(); i++) {
+            mapping.position(dataEnd);
+            mapping.put(records.get(i));
+            Integer slot = slots.get(classNames.get(i));
+            if (null == slot) {
+                slot = slots.size();
+                slots.put(classNames.get(i), slot);
+            }
+            putEntry(slot, next, dataEnd, records.get(i).length);
+            dataEnd += records.get(i).length;
+        }
+        mapping.putInt(TYPE_COUNT_OFFSET, slots.size());
+        mapping.putInt(DATA_END_OFFSET, dataEnd);
+        endWrite(next);
+        dirty.clear();
+        return records.size();
+    }
+
+    /**
+     * Writes the latest record of every type of the store from the start of the data area, growing the file and
+     * its directory as needed.
+     */
+    private int rewrite() throws IOException {
+        dirty.clear();
+        List<byte[]> records = new ArrayList<>();
+        List<String> classNames = new ArrayList<>();
+        long length = 0;
+        for (Class<? extends FlexiEnum> clazz : store.getTypes()) {
+            byte[] record = encode(clazz);
+            records.add(record);
+            classNames.add(clazz.getName());
+            length += record.length;
+        }
+        int directoryCapacity = MIN_DIRECTORY_CAPACITY;
+        while (directoryCapacity < records.size() * 2) {
+            directoryCapacity <<= 1;
+        }
+        long dataStart = HEADER_SIZE + (long) directoryCapacity * ENTRY_SIZE;
+        long size = Math.max(Math.max(MIN_FILE_SIZE, channel.size()), null == mapping ? 0 : mapping.capacity());
+        while (size < (dataStart + length) * 2) {
+            size <<= 1;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("FlexiEnum registry " + file + " would exceed 2 GB");
+        }
+        if (null == mapping || mapping.capacity() < size) {
+            mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        long next = beginWrite();
+        mapping.putInt(0, MAGIC);
+        mapping.putInt(4, FORMAT);
+        mapping.putInt(DIRECTORY_CAPACITY_OFFSET, directoryCapacity);
+        slots.clear();
+        int dataEnd = (int) dataStart;
+        for (int i = 0; i < records.size(); i++) {
+            mapping.position(dataEnd);
+            mapping.put(records.get(i));
+            slots.put(classNames.get(i), i);
+            putEntry(i, next, dataEnd, records.get(i).length);
+            dataEnd += records.get(i).length;
+        }
+        mapping.putInt(TYPE_COUNT_OFFSET, records.size());
+        mapping.putInt(DATA_END_OFFSET, dataEnd);
+        endWrite(next);
+        return records.size();
+    }
+
+    private long beginWrite() {
+        mapping.putLong(SEQUENCE_OFFSET, sequence + 1);
+        return sequence + 2;
+    }
+
+    private void endWrite(long next) {
+        mapping.putLong(SEQUENCE_OFFSET, next);
+        sequence = next;
+    }
+
+    private void putEntry(int slot, long entrySequence, int offset, int length) {
+        int position = HEADER_SIZE + slot * ENTRY_SIZE;
+        mapping.putLong(position, entrySequence);
+        mapping.putInt(position + 8, offset);
+        mapping.putInt(position + 12, length);
+    }
+
+    /**
+     * Restores the types whose directory entry is newer than the last restored record. A file caught while the
+     * publisher writes is read again, and left for the next call if it keeps changing.
+     */
+    private int applyChanges() throws IOException, FlexiEnumException {
+        if (null == mapping) {
+            if (channel.size() < HEADER_SIZE) {
+                return 0;
+            }
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        for (int attempt = 0; attempt < RETRIES; attempt++) {
+            long published = mapping.getLong(SEQUENCE_OFFSET);
+            if (published == sequence) {
+                return 0;
+            }
+            if (mapping.capacity() != channel.size()) {
+                mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            ByteBuffer in = mapping.duplicate();
+            if (in.getInt(0) != MAGIC || (published & 1L) != 0) {
+                Thread.yield();
+                continue;
+            }
+            List<Record> changed = readChanges(in);
+            if (null == changed || in.getLong(SEQUENCE_OFFSET) != published) {
+                Thread.yield();
+                continue;
+            }
+            for (Record record : changed) {
+                record.restore();
+                applied.put(record.className, record.sequence);
+            }
+            sequence = published;
+            return changed.size();
+        }
+        return 0;
+    }
+
+    /**
+     * @return the records newer than the last restored ones, or null if the file is inconsistent.
+     */
+    private List<Record> readChanges(ByteBuffer in) {
+        int typeCount = in.getInt(TYPE_COUNT_OFFSET);
+        int directoryCapacity = in.getInt(DIRECTORY_CAPACITY_OFFSET);
+        if (typeCount < 0 || typeCount > directoryCapacity || HEADER_SIZE + (long) directoryCapacity * ENTRY_SIZE > in.capacity()) {
+            return null;
+        }
+        List<Record> changed = new ArrayList<>();
+        Set<String> seen = new LinkedHashSet<>();
+        for (int slot = 0; slot < typeCount; slot++) {
+            int position = HEADER_SIZE + slot * ENTRY_SIZE;
+            long entrySequence = in.getLong(position);
+            int offset = in.getInt(position + 8);
+            int length = in.getInt(position + 12);
+            if (offset < 0 || length < 4 || (long) offset + length > in.capacity()
+                    || in.getInt(offset + length - 4) != FlexiEnumJournal.checksum(in, offset, length - 4)) {
+                return null;
+            }
+            ByteBuffer record = in.duplicate();
+            record.limit(offset + length - 4).position(offset);
+            String className;
+            try {
+                className = FlexiEnumJournal.getString(record);
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                return null;
+            }
+            seen.add(className);
+            Long last = applied.get(className);
+            if (null == last || last != entrySequence) {
+                Record decoded = decode(className, entrySequence, record);
+                if (null == decoded) {
+                    return null;
+                }
+                changed.add(decoded);
+            }
+        }
+        applied.keySet().retainAll(seen);
+        return changed;
+    }
+
+    private Record decode(String className, long entrySequence, ByteBuffer in) {
+        try {
+            int count = in.getInt();
+            List<String> names = new ArrayList<>(count);
+            int[] ordinals = new int[count];
+            for (int i = 0; i < count; i++) {
+                ordinals[i] = in.getInt();
+                names.add(FlexiEnumJournal.getString(in));
+            }
+            int aliasCount = in.getInt();
+            Map<String, String> aliases = new LinkedHashMap<>();
+            for (int i = 0; i < aliasCount; i++) {
+                aliases.put(FlexiEnumJournal.getString(in), FlexiEnumJournal.getString(in));
+            }
+            return new Record(className, entrySequence, names, ordinals, aliases);
+        } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Encodes the values of a type in ordinal order and its aliases, followed by a checksum.
+     */
+    private <T extends FlexiEnum> byte[] encode(Class<T> clazz) {
+        FlexiEnumType.Snapshot<T> snapshot = store.getEnumType(clazz).snapshot();
+        int size = snapshot.size();
+        Integer[] positions = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            positions[i] = i;
+        }
+        Arrays.sort(positions, (a, b) -> Integer.compare(snapshot.ordinalAt(a), snapshot.ordinalAt(b)));
+        Encoder out = new Encoder();
+        out.putString(clazz.getName());
+        out.putInt(size);
+        for (int position : positions) {
+            out.putInt(snapshot.ordinalAt(position));
+            out.putString(snapshot.nameAt(position));
+        }
+        Map<String, String> aliases = snapshot.aliases();
+        out.putInt(aliases.size());
+        for (Map.Entry<String, String> alias : aliases.entrySet()) {
+            out.putString(alias.getKey());
+            out.putString(alias.getValue());
+        }
+        out.putInt(FlexiEnumJournal.checksum(out.buffer, 0, out.buffer.position()));
+        return Arrays.copyOf(out.buffer.array(), out.buffer.position());
+    }
+
+    private void closeQuietly() {
+        if (null != channel) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Failed to close FlexiEnum registry " + file, e);
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * A published type read from the file.
+     */
+    private final class Record {
+        private final String className;
+        private final long sequence;
+        private final List<String> names;
+        private final int[] ordinals;
+        private final Map<String, String> aliases;
+
+        Record(String className, long sequence, List<String> names, int[] ordinals, Map<String, String> aliases) {
+            this.className = className;
+            this.sequence = sequence;
+            this.names = names;
+            this.ordinals = ordinals;
+            this.aliases = aliases;
+        }
+
+        void restore() throws FlexiEnumException {
+            Class<? extends FlexiEnum> clazz = FlexiEnumJournal.loadType(className, loader);
+            if (null != clazz) {
+                store.restoreEnums(clazz, names, ordinals, aliases);
+            }
+        }
+    }
+
+    /**
+     * A growable buffer records are encoded into.
+     */
+    private static final class Encoder {
+        private ByteBuffer buffer = ByteBuffer.allocate(256);
+
+        void putString(String s) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            ensure(4 + bytes.length);
+            buffer.putInt(bytes.length).put(bytes);
+        }
+
+        void putInt(int value) {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() << 1, buffer.position() + bytes));
+                buffer.flip();
+                buffer = grown.put(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.bhawesh_source.configs;
+
+/**
+ * An immutable index of the positions of the values of a snapshot, sorted by name under a {@link FlexiEnumLookup}.
+ * Prefix and range queries find their first match by binary search and then walk the sorted positions, so they cost
+ * a logarithmic number of comparisons plus the size of the result. The index only holds positions, and names are
+ * read back from the snapshot, so names of compact values are decoded on comparison rather than kept as Strings.
+ * <p>
+ * When a snapshot only appends values to the previous one, its index is built by sorting the appended positions and
+ * merging them into the index of the previous snapshot, instead of sorting every name again.
+ */
+final class FlexiEnumSortedIndex {
+    private final FlexiEnumLookup lookup;
+    private final int[] positions;
+
+    private FlexiEnumSortedIndex(FlexiEnumLookup lookup, int[] positions) {
+        this.lookup = lookup;
+        this.positions = positions;
+    }
+
+    /**
+     * Builds the index of a snapshot.
+     *
+     * @param snapshot the snapshot to index.
+     * @param lookup   the mode names are compared under.
+     * @param previous the index of a snapshot whose positions are a prefix of the positions of this snapshot, or null
+     *                 to sort every name.
+     * @return the index.
+     */
+    static FlexiEnumSortedIndex build(FlexiEnumType.Snapshot<?> snapshot, FlexiEnumLookup lookup, FlexiEnumSortedIndex previous) {
+        int size = snapshot.size();
+        int from = null == previous ? 0 : previous.size();
+        int count = size - from;
+        int[] added = new int[count];
+        String[] addedNames = new String[count];
+        for (int i = 0; i < count; i++) {
+            added[i] = from + i;
+            addedNames[i] = snapshot.nameAt(from + i);
+        }
+        sort(added, addedNames, lookup);
+        if (null == previous || from == 0) {
+            return new FlexiEnumSortedIndex(lookup, added);
+        }
+        int[] positions = new int[size];
+        int i = 0;
+        int j = 0;
+        String name = snapshot.nameAt(previous.positions[0]);
+        for (int k = 0; k < size; k++) {
+            if (j == count || (i < from && lookup.compare(name, addedNames[j]) <= 0)) {
+                positions[k] = previous.positions[i++];
+                name = i < from ? snapshot.nameAt(previous.positions[i]) : null;
+            } else {
+                positions[k] = added[j++];
+            }
+        }
+        return new FlexiEnumSortedIndex(lookup, positions);
+    }
+
+    int size() {
+        return positions.length;
+    }
+
+    /**
+     * @return the position in the snapshot of the value at the given rank in sorted order.
+     */
+    int position(int rank) {
+        return positions[rank];
+    }
+
+    /**
+     * @param snapshot the snapshot this index was built for.
+     * @param key      the key to search for.
+     * @return the rank of the first name which does not sort before the key.
+     */
+    int lowerBound(FlexiEnumType.Snapshot<?> snapshot, String key) {
+        int low = 0;
+        int high = positions.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (lookup.compare(snapshot.nameAt(positions[mid]), key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Sorts positions by their names with a stable merge sort, so values of names equal under the lookup mode keep
+     * their registration order.
+     */
+    private static void sort(int[] positions, String[] names, FlexiEnumLookup lookup) {
+        if (positions.length < 2) {
+            return;
+        }
+        mergeSort(positions.clone(), names.clone(), positions, names, 0, positions.length, lookup);
+    }
+
+    private static void mergeSort(int[] srcPositions, String[] srcNames, int[] positions, String[] names, int low, int high,
+                                  FlexiEnumLookup lookup) {
+        if (high - low < 8) {
+            for (int i = low + 1; i < high; i++) {
+                int position = positions[i];
+                String name = names[i];
+                int j = i;
+                for (; j > low && lookup.compare(names[j - 1], name) > 0; j--) {
+                    positions[j] = positions[j - 1];
+                    names[j] = names[j - 1];
+                }
+                positions[j] = position;
+                names[j] = name;
+            }
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        mergeSort(positions, names, srcPositions, srcNames, low, mid, lookup);
+        mergeSort(positions, names, srcPositions, srcNames, mid, high, lookup);
+        for (int k = low, i = low, j = mid; k < high; k++) {
+            if (j == high || (i < mid && lookup.compare(srcNames[i], srcNames[j]) <= 0)) {
+                positions[k] = srcPositions[i];
+                names[k] = srcNames[i++];
+            } else {
+                positions[k] = srcPositions[j];
+                names[k] = srcNames[j++];
+            }
+        }
+    }
+}
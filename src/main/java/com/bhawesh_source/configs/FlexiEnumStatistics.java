@@ -0,0 +1,185 @@
+package com.bhawesh_source.configs;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of a single {@link FlexiEnum} type: lookup hits and misses, unknown values rejected while deserializing,
+ * added, replaced and evicted values, as well as the current cardinality, an estimate of the heap held by the values
+ * and sampled lookup latencies. Counters only move while {@link FlexiEnumMetrics} is enabled.
+ * Latencies are kept in power of two buckets, so percentiles are accurate to a factor of two.
+ */
+public final class FlexiEnumStatistics implements FlexiEnumStatisticsMBean {
+    private static final int VALUE_OVERHEAD_BYTES = 160;
+
+    private final FlexiEnumType<?> enumType;
+    private final LongAdder lookupHits = new LongAdder();
+    private final LongAdder lookupMisses = new LongAdder();
+    private final LongAdder deserializationMisses = new LongAdder();
+    private final LongAdder added = new LongAdder();
+    private final LongAdder replacements = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicLongArray latencyBuckets = new AtomicLongArray(Long.SIZE);
+
+    FlexiEnumStatistics(FlexiEnumType<?> enumType) {
+        this.enumType = enumType;
+    }
+
+    /**
+     * Looks up a name in the snapshot, counting the result and timing the lookup if it is sampled.
+     */
+    <T extends FlexiEnum> T find(FlexiEnumType.Snapshot<T> snapshot, String name, FlexiEnumLookup lookup) {
+        T flexiEnum;
+        if (isSampled()) {
+            long start = System.nanoTime();
+            flexiEnum = snapshot.find(name, lookup);
+            recordLatency(System.nanoTime() - start);
+        } else {
+            flexiEnum = snapshot.find(name, lookup);
+        }
+        (null != flexiEnum ? lookupHits : lookupMisses).increment();
+        return flexiEnum;
+    }
+
+    /**
+     * Looks up a name held in a char buffer in the snapshot.
+     */
+    <T extends FlexiEnum> T find(FlexiEnumType.Snapshot<T> snapshot, char[] buffer, int offset, int length, FlexiEnumLookup lookup) {
+        T flexiEnum;
+        if (isSampled()) {
+            long start = System.nanoTime();
+            flexiEnum = snapshot.find(buffer, offset, length, lookup);
+            recordLatency(System.nanoTime() - start);
+        } else {
+            flexiEnum = snapshot.find(buffer, offset, length, lookup);
+        }
+        (null != flexiEnum ? lookupHits : lookupMisses).increment();
+        return flexiEnum;
+    }
+
+    void recordDeserializationMiss() {
+        deserializationMisses.increment();
+    }
+
+    void recordAdded(int count) {
+        added.add(count);
+    }
+
+    void recordReplacement() {
+        replacements.increment();
+    }
+
+    void recordEvicted(int count) {
+        evictions.add(count);
+    }
+
+    @Override
+    public String getTypeName() {
+        return enumType.type().getName();
+    }
+
+    @Override
+    public long getLookupHits() {
+        return lookupHits.sum();
+    }
+
+    @Override
+    public long getLookupMisses() {
+        return lookupMisses.sum();
+    }
+
+    @Override
+    public long getDeserializationMisses() {
+        return deserializationMisses.sum();
+    }
+
+    @Override
+    public long getAdded() {
+        return added.sum();
+    }
+
+    @Override
+    public long getReplacements() {
+        return replacements.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public int getCardinality() {
+        return enumType.snapshot().size();
+    }
+
+    /**
+     * Estimates the memory held by the current values: the instances, their names in String and pre-encoded form,
+     * and their share of the snapshot arrays and indexes, plus the arena and tables of compact values.
+     */
+    @Override
+    public long getEstimatedBytes() {
+        FlexiEnumType.Snapshot<?> snapshot = enumType.snapshot();
+        List<? extends FlexiEnum> instances = snapshot.instances();
+        long bytes = (long) instances.size() * VALUE_OVERHEAD_BYTES;
+        for (FlexiEnum instance : instances) {
+            bytes += 2L * instance.name().length();
+        }
+        return bytes + snapshot.compactBytes();
+    }
+
+    @Override
+    public long getVersion() {
+        return enumType.snapshot().version();
+    }
+
+    @Override
+    public long getLatencySamples() {
+        long samples = 0;
+        for (int i = 0; i < latencyBuckets.length(); i++) {
+            samples += latencyBuckets.get(i);
+        }
+        return samples;
+    }
+
+    @Override
+    public long getLatencyP50Nanos() {
+        return latencyPercentile(0.50);
+    }
+
+    @Override
+    public long getLatencyP99Nanos() {
+        return latencyPercentile(0.99);
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 1.
+     * @return the upper bound of the bucket holding the percentile, or 0 if no latency was sampled.
+     */
+    public long latencyPercentile(double percentile) {
+        long samples = getLatencySamples();
+        if (samples == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile * samples);
+        long seen = 0;
+        for (int i = 0; i < latencyBuckets.length(); i++) {
+            seen += latencyBuckets.get(i);
+            if (seen >= Math.max(1, rank)) {
+                return i >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << i);
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    private static boolean isSampled() {
+        int sampling = FlexiEnumMetrics.latencySampling;
+        return sampling > 0 && ThreadLocalRandom.current().nextInt(sampling) == 0;
+    }
+
+    private void recordLatency(long nanos) {
+        latencyBuckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(Math.max(0, nanos)));
+    }
+}
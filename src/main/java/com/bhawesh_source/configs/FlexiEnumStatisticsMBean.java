@@ -0,0 +1,33 @@
+package com.bhawesh_source.configs;
+
+/**
+ * JMX view of the {@link FlexiEnumStatistics} of one {@link FlexiEnum} type.
+ */
+public interface FlexiEnumStatisticsMBean {
+
+    String getTypeName();
+
+    long getLookupHits();
+
+    long getLookupMisses();
+
+    long getDeserializationMisses();
+
+    long getAdded();
+
+    long getReplacements();
+
+    long getEvictions();
+
+    int getCardinality();
+
+    long getEstimatedBytes();
+
+    long getVersion();
+
+    long getLatencySamples();
+
+    long getLatencyP50Nanos();
+
+    long getLatencyP99Nanos();
+}
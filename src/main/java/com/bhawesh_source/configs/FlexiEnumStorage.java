@@ -0,0 +1,25 @@
+package com.bhawesh_source.configs;
+
+/**
+ * Modes used to keep the runtime values of a {@link FlexiEnum} type in {@link FlexiEnumStore}.
+ * Default values, and values registered while a type uses {@link #INSTANCES}, are always kept as instances.
+ *
+ * @see FlexiEnumStore#setStorage(Class, FlexiEnumStorage)
+ */
+public enum FlexiEnumStorage {
+    /**
+     * Every value is kept as an instance for the lifetime of the store. Best for types with up to some ten thousand values.
+     */
+    INSTANCES,
+
+    /**
+     * Names are kept as UTF-8 in a heap arena, indexed by primitive hash tables. Instances are created when a value
+     * is handed out and cached weakly, for types holding millions of values of which only a few are in use at once.
+     */
+    COMPACT,
+
+    /**
+     * Like {@link #COMPACT}, with the names kept in an off-heap arena outside of the garbage collected heap.
+     */
+    COMPACT_DIRECT
+}
@@ -4,63 +4,95 @@ import com.bhawesh_source.exception.FlexiEnumException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 /**
  * Class used to manage {@link FlexiEnum} instances at runtime.
  * this class use "Single Access Factory" pattern to avoid initialization of enums from different places
  * All GET methods are static and can be used anywhere, Get methods don't use
+ * <p>
+ * The static GET methods read the global store. A {@link #newScope() scope} is a store layered on another store,
+ * for example one per tenant: it sees every enum of its parent, and enums added to the scope stay invisible to the
+ * parent and to sibling scopes. Enums of a scope are read through the instance methods {@link #getEnum(Class, String)}
+ * and {@link #getEnums(Class)}.
  */
 @Slf4j
 public class FlexiEnumStore {
-    private static boolean initiated = false;
-    private final Map<String, Set<FlexiEnum>> possibleEnums = new ConcurrentHashMap<>();
-    private final Map<String, Boolean> defaultEnumLoaded = new ConcurrentHashMap<>();
-    private static FlexiEnumStore flexiEnumStore;
+    private static final int PARALLEL_IMPORT_THRESHOLD = 4096;
+    private static final FlexiEnumStore flexiEnumStore = new FlexiEnumStore(null);
+    private final FlexiEnumStore parent;
+    private final List<FlexiEnumListener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<Class<? extends FlexiEnum>, Boolean> types = Collections.synchronizedMap(new WeakHashMap<>());
+    private final ClassValue<FlexiEnumType<?>> possibleEnums = new ClassValue<FlexiEnumType<?>>() {
+        @Override
+        protected FlexiEnumType<?> computeValue(Class<?> type) {
+            FlexiEnumType<?> enumType = newEnumType(type.asSubclass(FlexiEnum.class));
+            types.put(enumType.type(), Boolean.TRUE);
+            return enumType;
+        }
+    };
 
     /**
      * Private constructor for the FlexiEnumStore to enforce the singleton pattern.
+     *
+     * @param parent the store this store is a scope of, or null for the global store.
      */
-    private FlexiEnumStore() {
+    private FlexiEnumStore(FlexiEnumStore parent) {
+        this.parent = parent;
     }
 
     /**
      * Retrieves the singleton instance of the FlexiEnumStore.
      * Ensures only a single instance is created during the application's lifetime.
      *
-     * @return the singleton instance of FlexiEnumStore or null if already initialized.
+     * @return the singleton instance of FlexiEnumStore.
      */
 
     public static FlexiEnumStore getInstance() {
-        if (!initiated) {
-            initiated = true;
-            flexiEnumStore = new FlexiEnumStore();
-            return flexiEnumStore;
-        }
         return flexiEnumStore;
     }
 
     /**
-     * Clears all enums of the specified class type from the store, then load default enums
+     * Creates a scope layered on this store. The scope resolves every enum of this store, including enums added
+     * to this store later, and keeps the enums added to it to itself. Where a scope and its parent hold the same name,
+     * the enum of the parent wins. Creating a scope allocates no per-type state until a type is first used in it,
+     * and a type without enums of its own in the scope shares the registry snapshot of its parent.
+     * <p>
+     * Enums of all scopes share the ordinals of the global store, so they can be kept in the same
+     * {@link FlexiEnumSet} or {@link FlexiEnumMap}. A scope is released by dropping every reference to it.
+     *
+     * @return a new scope of this store.
+     */
+
+    public FlexiEnumStore newScope() {
+        return new FlexiEnumStore(this);
+    }
+
+    /**
+     * Clears all enums of the specified class type from the store, then load default enums.
+     * Readers observe either the previous enums or only the default enums, never an empty store.
      *
      * @param clazz the class of the enums to clear.
      * @param <T>   the type of the FlexiEnum.
      */
 
     public <T extends FlexiEnum> void clearEnums(Class<T> clazz) {
-        possibleEnums.remove(getEnumName(clazz));
-        defaultEnumLoaded.put(getEnumName(clazz), false);
-        loadDefaultEnums(clazz);
+        getEnumType(clazz).replace(getDefaultEnums(clazz));
     }
 
     /**
      * Adds multiple enums of the specified class type to the store.
+     * All enums are published together, readers never observe only a part of them.
      *
      * @param clazz the class of the enums to add.
      * @param names a list of names for the enums to create and add.
@@ -68,8 +100,99 @@ public class FlexiEnumStore {
      */
 
     public <T extends FlexiEnum> void addEnums(Class<T> clazz, List<String> names) throws FlexiEnumException {
+        importNames(clazz, new LinkedHashSet<>(names));
+    }
+
+    /**
+     * Imports the enums named by a stream into the store.
+     * Duplicate and already stored names are skipped, large batches are created in parallel on the common
+     * {@link java.util.concurrent.ForkJoinPool} and all enums are published together.
+     *
+     * @param clazz the class of the enums to import.
+     * @param names the names of the enums to create and add.
+     * @param <T>   the type of the FlexiEnum.
+     * @return the number of enums added to the store.
+     * @throws FlexiEnumException if a name is null or an enum cannot be created, nothing is added in that case.
+     */
+
+    public <T extends FlexiEnum> int importEnums(Class<T> clazz, Stream<String> names) throws FlexiEnumException {
+        return importNames(clazz, names.collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+
+    /**
+     * Imports the enums named by an iterator into the store.
+     *
+     * @param clazz the class of the enums to import.
+     * @param names the names of the enums to create and add.
+     * @param <T>   the type of the FlexiEnum.
+     * @return the number of enums added to the store.
+     * @throws FlexiEnumException if a name is null or an enum cannot be created, nothing is added in that case.
+     * @see #importEnums(Class, Stream)
+     */
+
+    public <T extends FlexiEnum> int importEnums(Class<T> clazz, Iterator<String> names) throws FlexiEnumException {
+        Set<String> distinctNames = new LinkedHashSet<>();
+        while (names.hasNext()) {
+            distinctNames.add(names.next());
+        }
+        return importNames(clazz, distinctNames);
+    }
+
+    /**
+     * Imports the enums named by a text source into the store. The reader is left open.
+     *
+     * @param clazz  the class of the enums to import.
+     * @param reader the source of the names.
+     * @param format the format of the source.
+     * @param <T>    the type of the FlexiEnum.
+     * @return the number of enums added to the store.
+     * @throws FlexiEnumException if the source cannot be read or an enum cannot be created, nothing is added in that case.
+     * @see #importEnums(Class, Stream)
+     */
+
+    public <T extends FlexiEnum> int importEnums(Class<T> clazz, Reader reader, FlexiEnumFormat format) throws FlexiEnumException {
+        Set<String> distinctNames = new LinkedHashSet<>();
+        try {
+            format.readNames(reader, distinctNames);
+        } catch (IOException e) {
+            throw new FlexiEnumException("Failed to read " + format + " enums of " + getEnumName(clazz), e);
+        }
+        return importNames(clazz, distinctNames);
+    }
+
+    /**
+     * Creates the enums of the given distinct names which are not stored yet and publishes them in a single update.
+     */
+
+    private <T extends FlexiEnum> int importNames(Class<T> clazz, Set<String> names) throws FlexiEnumException {
+        if (names.contains(null)) {
+            log.error("Name cannot be null or empty");
+            throw new FlexiEnumException("Name cannot be null or empty");
+        }
+        FlexiEnumType<T> enumType = getEnumType(clazz);
+        if (!enumType.isDefaultsLoaded()) {
+            enumType.loadDefaults(getDefaultEnums(clazz));
+        }
+        FlexiEnumType.Snapshot<T> snapshot = enumType.snapshot();
+        List<String> newNames = new ArrayList<>(names.size());
         for (String name : names) {
-            addEnum(clazz, name);
+            if (!snapshot.contains(name)) {
+                newNames.add(name);
+            }
+        }
+        FlexiEnumFactory<T> factory = enumType.factory();
+        Stream<String> nameStream = newNames.size() >= PARALLEL_IMPORT_THRESHOLD ? newNames.parallelStream() : newNames.stream();
+        try {
+            List<T> createdEnums = nameStream.map(name -> {
+                try {
+                    return factory.newInstance(name);
+                } catch (ReflectiveOperationException e) {
+                    throw new ImportFailure(e);
+                }
+            }).collect(Collectors.toList());
+            return enumType.addAll(createdEnums);
+        } catch (ImportFailure e) {
+            throw new FlexiEnumException("Failed to create instance of " + getEnumName(clazz), e.getCause());
         }
     }
 
@@ -78,8 +201,10 @@ public class FlexiEnumStore {
      *
      * @param clazz the class of the enum to add.
      * @param names one or more parameters representing the constructor arguments of the enum.
+     *              A single name goes through the cached factory of the type, several names are passed
+     *              reflectively to the matching String parameter constructor.
      * @param <T>   the type of the FlexiEnum.
-     * @return the created and added enum instance.
+     * @return the canonical enum instance of the name, which is the already stored instance if the name was added before.
      * @throws RuntimeException if the enum creation fails.
      */
 
@@ -95,21 +220,110 @@ public class FlexiEnumStore {
             }
         }
         try {
-            Class<?>[] parameterTypes = Arrays.stream(names).map(String::getClass).toArray(Class[]::new);
-            if (!defaultEnumLoaded.getOrDefault(getEnumName(clazz), false)) {
-                loadDefaultEnums(clazz, possibleEnums.computeIfAbsent(getEnumName(clazz), k -> new HashSet<>()));
-                defaultEnumLoaded.put(getEnumName(clazz), true);
+            FlexiEnumType<T> enumType = getEnumType(clazz);
+            if (!enumType.isDefaultsLoaded()) {
+                enumType.loadDefaults(getDefaultEnums(clazz));
+            }
+            T createdEnum;
+            if (names.length == 1) {
+                T registered = enumType.get(names[0]);
+                if (null != registered) {
+                    return registered;
+                }
+                createdEnum = enumType.factory().newInstance(names[0]);
+            } else {
+                Class<?>[] parameterTypes = new Class<?>[names.length];
+                Arrays.fill(parameterTypes, String.class);
+                Constructor<T> declaredConstructor = clazz.getDeclaredConstructor(parameterTypes);
+                declaredConstructor.setAccessible(true);
+                createdEnum = declaredConstructor.newInstance((Object[]) names);
             }
-            Constructor<T> declaredConstructor = clazz.getDeclaredConstructor(parameterTypes);
-            declaredConstructor.setAccessible(true);
-            T createdEnum = declaredConstructor.newInstance(names);
-            possibleEnums.computeIfAbsent(getEnumName(clazz), k -> new HashSet<>()).add(createdEnum);
-            return createdEnum;
+            return enumType.add(createdEnum);
         } catch (Exception e) {
             throw new FlexiEnumException("Failed to create instance of " + getEnumName(clazz), e);
         }
     }
 
+    /**
+     * Adds a single enum of the specified class type to the store along with attributes, see {@link FlexiEnumAttribute}.
+     * If the name is already stored, the given attributes are set on the stored enum and its other attributes are kept.
+     *
+     * @param clazz      the class of the enum to add.
+     * @param name       the name of the enum.
+     * @param attributes the attributes of the enum.
+     * @param <T>        the type of the FlexiEnum.
+     * @return the canonical enum instance of the name.
+     * @throws FlexiEnumException if the enum cannot be created or a unique attribute key is held by another enum.
+     */
+
+    public <T extends FlexiEnum> T addEnum(Class<T> clazz, String name, FlexiEnumAttributes attributes) throws FlexiEnumException {
+        FlexiEnumType<T> enumType = getEnumType(clazz);
+        synchronized (enumType) {
+            T flexiEnum = addEnum(clazz, name);
+            setAttributes(clazz, name, attributes);
+            return flexiEnum;
+        }
+    }
+
+    /**
+     * Sets attributes of a stored enum of the specified class type, keeping its other attributes.
+     *
+     * @param clazz      the class of the enum.
+     * @param name       the exact name of the enum.
+     * @param attributes the attributes to set, null values unsetting an attribute.
+     * @param <T>        the type of the FlexiEnum.
+     * @throws FlexiEnumException if the enum is not stored or a unique attribute key is held by another enum.
+     */
+
+    public <T extends FlexiEnum> void setAttributes(Class<T> clazz, String name, FlexiEnumAttributes attributes) throws FlexiEnumException {
+        FlexiEnumType<T> enumType = getEnumType(clazz);
+        int ordinal = enumType.snapshot().ordinalOf(name);
+        if (ordinal < 0) {
+            throw new FlexiEnumException("No enum found with name " + name + " for " + getEnumName(clazz));
+        }
+        try {
+            enumType.setAttributes(new int[]{ordinal}, new FlexiEnumAttributes[]{Objects.requireNonNull(attributes, "attributes")}, false);
+        } catch (IllegalArgumentException e) {
+            throw new FlexiEnumException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Replaces the enums of the specified class type and all of their attributes, as loaded from a table of names and
+     * attributes. Enums are replaced as by {@link #replaceEnums(Class, Set)}, then the attributes of the type are
+     * replaced by the given ones, so attributes of enums missing from the table, defaults included, are dropped.
+     * Readers may observe the new enums with the previous attributes for the time in between.
+     *
+     * @param clazz the class of the enums to replace.
+     * @param enums the names of the new enums mapped to their attributes.
+     * @param <T>   the type of the FlexiEnum.
+     * @throws FlexiEnumException if an enum cannot be created or two enums share a unique attribute key,
+     *                            nothing changes in that case.
+     */
+
+    public <T extends FlexiEnum> void replaceEnums(Class<T> clazz, Map<String, FlexiEnumAttributes> enums) throws FlexiEnumException {
+        FlexiEnumType<T> enumType = getEnumType(clazz);
+        int[] ordinals = new int[enums.size()];
+        FlexiEnumAttributes[] attributes = new FlexiEnumAttributes[enums.size()];
+        synchronized (enumType) {
+            try {
+                FlexiEnumColumns.checkUnique(enums.values());
+                replaceEnums(clazz, enums.keySet());
+            } catch (IllegalArgumentException e) {
+                throw new FlexiEnumException(e.getMessage(), e);
+            } catch (ReflectiveOperationException e) {
+                throw new FlexiEnumException("Failed to create instance of " + getEnumName(clazz), e);
+            }
+            FlexiEnumType.Snapshot<T> current = enumType.snapshot();
+            int i = 0;
+            for (Map.Entry<String, FlexiEnumAttributes> entry : enums.entrySet()) {
+                ordinals[i] = current.ordinalOf(entry.getKey());
+                attributes[i++] = null != entry.getValue() ? entry.getValue() : FlexiEnumAttributes.empty();
+            }
+            enumType.setAttributes(ordinals, attributes, true);
+        }
+    }
+
     /**
      * Loads all default (predefined) enums of the specified class type into the store.
      *
@@ -119,17 +333,11 @@ public class FlexiEnumStore {
      */
 
     public <T extends FlexiEnum> void loadDefaultEnums(Class<T> clazz, Set<FlexiEnum> flexiEnums) {
-        Set<FlexiEnum> finalFlexiEnums = null == flexiEnums ? possibleEnums.computeIfAbsent(getEnumName(clazz), k -> new HashSet<>()) : flexiEnums;
-        Arrays.stream(clazz.getDeclaredFields()).forEach(field -> {
-            if (field.getType().equals(clazz) && Modifier.isFinal(field.getModifiers())) {
-                try {
-                    T defaultEnum = (T) field.get(null);
-                    finalFlexiEnums.add(defaultEnum);
-                } catch (Exception e) {
-                    log.error("Failed to load default enum value for " + getEnumName(clazz), e);
-                }
-            }
-        });
+        if (null == flexiEnums) {
+            loadDefaultEnums(clazz);
+            return;
+        }
+        flexiEnums.addAll(getDefaultEnums(clazz));
     }
 
     /**
@@ -140,13 +348,14 @@ public class FlexiEnumStore {
      */
 
     public <T extends FlexiEnum> void loadDefaultEnums(Class<T> clazz) {
-        Set<FlexiEnum> finalFlexiEnums = possibleEnums.computeIfAbsent(getEnumName(clazz), k -> new HashSet<>());
-        loadDefaultEnums(clazz, finalFlexiEnums);
+        getEnumType(clazz).loadDefaults(getDefaultEnums(clazz));
     }
 
     /**
      * Replaces the enums of the specified class type in the store with a new set of names.
      * Default enums are loaded first, and then new enums are added.
+     * Names which are already stored keep their instance, so previously resolved enums stay canonical.
+     * The new enums are published together, readers observe either the previous or the new enums.
      *
      * @param clazz the class of the enums to replace.
      * @param names a set of names for the new enums.
@@ -158,39 +367,357 @@ public class FlexiEnumStore {
      */
 
     public <T extends FlexiEnum> void replaceEnums(Class<T> clazz, Set<String> names) throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        Set<FlexiEnum> flexiEnums = new HashSet<>();
-        //Load default enums
-        loadDefaultEnums(clazz, flexiEnums);
-        //Add new enums
-        for (String name : names) {
-            Constructor<T> declaredConstructor = clazz.getDeclaredConstructor(String.class);
-            declaredConstructor.setAccessible(true);
-            T createdEnum = declaredConstructor.newInstance(name);
-            flexiEnums.add(createdEnum);
+        FlexiEnumType<T> enumType = getEnumType(clazz);
+        FlexiEnumFactory<T> factory = enumType.factory();
+        synchronized (enumType) {
+            FlexiEnumType.Snapshot<T> current = enumType.snapshot();
+            //Load default enums
+            List<T> flexiEnums = getDefaultEnums(clazz);
+            //Add new enums, keeping the stored instance of names which stay
+            for (String name : names) {
+                T registered = current.get(name);
+                flexiEnums.add(null != registered ? registered : factory.newInstance(name));
+            }
+            //Replace from possible enums
+            enumType.replace(flexiEnums);
+        }
+    }
+
+    /**
+     * Makes the runtime enums of the specified class type match a set of names by applying only the difference.
+     * Names which are not stored yet are added, stored enums whose name is missing are removed, default enums
+     * always stay. Enums which stay keep their instance and ordinal, and the whole difference is published
+     * together, so readers observe either the previous or the new enums.
+     *
+     * @param clazz the class of the enums to synchronize.
+     * @param names the names of the runtime enums the type should hold.
+     * @param <T>   the type of the FlexiEnum.
+     * @return whether any enum was added or removed.
+     * @throws FlexiEnumException if a name is null or an enum cannot be created, nothing changes in that case.
+     */
+
+    public <T extends FlexiEnum> boolean syncEnums(Class<T> clazz, Collection<String> names) throws FlexiEnumException {
+        Set<String> wanted = new LinkedHashSet<>(names);
+        if (wanted.contains(null)) {
+            log.error("Name cannot be null or empty");
+            throw new FlexiEnumException("Name cannot be null or empty");
+        }
+        FlexiEnumType<T> enumType = getEnumType(clazz);
+        if (!enumType.isDefaultsLoaded()) {
+            enumType.loadDefaults(getDefaultEnums(clazz));
+        }
+        FlexiEnumFactory<T> factory = enumType.factory();
+        synchronized (enumType) {
+            FlexiEnumType.Snapshot<T> current = enumType.snapshot();
+            Set<String> defaultNames = new HashSet<>();
+            for (T defaultEnum : getDefaultEnums(clazz)) {
+                defaultNames.add(defaultEnum.name());
+            }
+            Set<String> removed = new HashSet<>();
+            for (int i = 0; i < current.size(); i++) {
+                String name = current.nameAt(i);
+                if (!wanted.contains(name) && !defaultNames.contains(name)) {
+                    removed.add(name);
+                }
+            }
+            List<T> added = new ArrayList<>();
+            try {
+                for (String name : wanted) {
+                    if (!current.contains(name)) {
+                        added.add(factory.newInstance(name));
+                    }
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new FlexiEnumException("Failed to create instance of " + getEnumName(clazz), e);
+            }
+            return enumType.update(added, removed);
+        }
+    }
+
+    /**
+     * Registers an alias for an enum of the specified class type. Lookups through {@link #valueOf(String, Class)}
+     * and deserialization resolve the alias to the enum of the given name, in every {@link FlexiEnumLookup} mode.
+     * Names take precedence over aliases. The alias stays registered if the enum is cleared and resolves again
+     * once an enum of the name is added back.
+     *
+     * @param clazz the class of the enum.
+     * @param alias the alias.
+     * @param name  the name of the enum the alias stands for.
+     * @param <T>   the type of the FlexiEnum.
+     * @throws FlexiEnumException if the alias is empty or no enum of the given name is stored.
+     */
+
+    public <T extends FlexiEnum> void addAlias(Class<T> clazz, String alias, String name) throws FlexiEnumException {
+        if (StringUtils.isEmpty(alias)) {
+            log.error("Alias cannot be null or empty");
+            throw new FlexiEnumException("Alias cannot be null or empty");
+        }
+        FlexiEnumType<T> enumType = getEnumType(clazz);
+        if (!enumType.isDefaultsLoaded()) {
+            enumType.loadDefaults(getDefaultEnums(clazz));
+        }
+        if (null == enumType.get(name)) {
+            throw new FlexiEnumException("Invalid value \"" + name + "\" for enum " + getEnumName(clazz));
+        }
+        enumType.addAlias(alias, name);
+    }
+
+    /**
+     * Registers a listener notified of every later change to the enums of this store.
+     *
+     * @param listener the listener to add.
+     */
+
+    public void addListener(FlexiEnumListener listener) {
+        listeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    /**
+     * Removes a listener registered through {@link #addListener(FlexiEnumListener)}.
+     *
+     * @param listener the listener to remove.
+     */
+
+    public void removeListener(FlexiEnumListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Sets the mode {@link #valueOf(String, Class)} and deserialization use to match names of the specified class type.
+     *
+     * @param clazz  the class of the enum.
+     * @param lookup the lookup mode, {@link FlexiEnumLookup#EXACT} unless set.
+     * @param <T>    the type of the FlexiEnum.
+     */
+
+    public <T extends FlexiEnum> void setLookup(Class<T> clazz, FlexiEnumLookup lookup) {
+        getEnumType(clazz).setLookup(Objects.requireNonNull(lookup, "lookup"));
+    }
+
+    /**
+     * Sets what deserialization does with a name matching no enum of the specified class type, see
+     * {@link FlexiEnumMissPolicy}. Unknown names are deserialized as null unless set.
+     * The policy applies to the global store, which deserialization resolves names in.
+     *
+     * @param clazz  the class of the enums.
+     * @param policy the miss policy, other than {@link FlexiEnumMissPolicy#DEFAULT}.
+     * @param <T>    the type of the FlexiEnum.
+     * @throws IllegalArgumentException if the policy is {@link FlexiEnumMissPolicy#DEFAULT}, which needs a value.
+     */
+
+    public <T extends FlexiEnum> void setMissPolicy(Class<T> clazz, FlexiEnumMissPolicy policy) {
+        setMissPolicy(clazz, policy, null);
+    }
+
+    /**
+     * Sets what deserialization does with a name matching no enum of the specified class type, see
+     * {@link FlexiEnumMissPolicy}.
+     *
+     * @param clazz        the class of the enums.
+     * @param policy       the miss policy.
+     * @param defaultValue the value unknown names are deserialized as under {@link FlexiEnumMissPolicy#DEFAULT}.
+     * @param <T>          the type of the FlexiEnum.
+     * @throws IllegalArgumentException if the policy is {@link FlexiEnumMissPolicy#DEFAULT} and no value is given.
+     */
+
+    public <T extends FlexiEnum> void setMissPolicy(Class<T> clazz, FlexiEnumMissPolicy policy, T defaultValue) {
+        Objects.requireNonNull(policy, "policy");
+        if (policy == FlexiEnumMissPolicy.DEFAULT && null == defaultValue) {
+            throw new IllegalArgumentException("Miss policy DEFAULT needs a default value for enum " + getEnumName(clazz));
+        }
+        getEnumType(clazz).setMissPolicy(policy, defaultValue);
+    }
+
+    /**
+     * Sets how the enums of the specified class type registered from now on are kept. Types with millions of runtime
+     * enums can keep their names in a compact dictionary and create instances only while they are in use, see
+     * {@link FlexiEnumStorage}. Default enums, and enums registered before, keep their instances.
+     * Compact storage applies to the global store, scopes keep their own enums as instances.
+     *
+     * @param clazz   the class of the enums.
+     * @param storage the storage of enums registered from now on.
+     * @param <T>     the type of the FlexiEnum.
+     */
+
+    public <T extends FlexiEnum> void setStorage(Class<T> clazz, FlexiEnumStorage storage) {
+        FlexiEnumType<T> enumType = getEnumType(clazz);
+        if (!enumType.isDefaultsLoaded()) {
+            enumType.loadDefaults(getDefaultEnums(clazz));
         }
-        //Replace from possible enums
-        possibleEnums.put(getEnumName(clazz), flexiEnums);
+        enumType.setStorage(Objects.requireNonNull(storage, "storage"));
     }
 
     /**
-     * Retrieves an enum of the specified class type by its name.
+     * Bounds the runtime enums of the specified class type, for types registering names from untrusted input.
+     * Once the capacity is exceeded, the least recently or frequently used runtime enums are evicted and disappear
+     * from lookups, listings and the ordinal table, see {@link FlexiEnumCapacity}. Default enums are never evicted.
+     * Capacity applies to the global store, scopes keep their own enums unbounded.
+     *
+     * @param clazz    the class of the enums.
+     * @param capacity the capacity policy, or null to stop evicting.
+     * @param <T>      the type of the FlexiEnum.
+     */
+
+    public <T extends FlexiEnum> void setCapacity(Class<T> clazz, FlexiEnumCapacity capacity) {
+        FlexiEnumType<T> enumType = getEnumType(clazz);
+        if (!enumType.isDefaultsLoaded()) {
+            enumType.loadDefaults(getDefaultEnums(clazz));
+        }
+        Set<String> defaultNames = new HashSet<>();
+        for (T defaultEnum : getDefaultEnums(clazz)) {
+            defaultNames.add(defaultEnum.name());
+        }
+        enumType.setCapacity(capacity, defaultNames);
+    }
+
+    /**
+     * Evicts the expired enums and the enums over the capacity of the specified class type right away.
+     * Evictions otherwise only happen while enums are registered.
+     *
+     * @param clazz the class of the enums.
+     * @param <T>   the type of the FlexiEnum.
+     * @return the number of evicted enums, 0 if the type is not bounded.
+     */
+
+    public <T extends FlexiEnum> int cleanUp(Class<T> clazz) {
+        return getEnumType(clazz).cleanUp();
+    }
+
+    /**
+     * Retrieves an enum of the specified class type by its name or alias, matched with the lookup mode of the type.
      *
      * @param name  the name of the enum to retrieve.
      * @param clazz the class of the enum.
      * @param <T>   the type of the FlexiEnum.
      * @return the enum instance matching the given name.
      * @throws RuntimeException if the name is invalid or the enum is not found.
+     * @see #setLookup(Class, FlexiEnumLookup)
      */
 
     public static <T extends FlexiEnum> T valueOf(String name, Class<T> clazz) throws FlexiEnumException {
+        FlexiEnumType<T> enumType = flexiEnumStore.getEnumType(clazz);
+        return valueOf(name, enumType, enumType.lookup());
+    }
+
+    /**
+     * Retrieves an enum of the specified class type by its name or alias, matched with the given lookup mode.
+     *
+     * @param name   the name of the enum to retrieve.
+     * @param clazz  the class of the enum.
+     * @param lookup the mode to match the name with.
+     * @param <T>    the type of the FlexiEnum.
+     * @return the enum instance matching the given name.
+     * @throws RuntimeException if the name is invalid or the enum is not found.
+     */
+
+    public static <T extends FlexiEnum> T valueOf(String name, Class<T> clazz, FlexiEnumLookup lookup) throws FlexiEnumException {
+        return valueOf(name, flexiEnumStore.getEnumType(clazz), lookup);
+    }
+
+    static <T extends FlexiEnum> T valueOf(String name, FlexiEnumType<T> enumType, FlexiEnumLookup lookup) throws FlexiEnumException {
         if (StringUtils.isEmpty(name)) {
             return null;
         }
-        Optional<FlexiEnum> flexiEnum = flexiEnumStore.possibleEnums.getOrDefault(getEnumName(clazz), new HashSet<>()).stream().filter(e -> e.name().equals(name)).findFirst();
-        if (!flexiEnum.isPresent()) {
-            throw new FlexiEnumException("Invalid value \"" + name + "\" for enum " + getEnumName(clazz));
+        T flexiEnum = find(name, enumType, lookup);
+        if (null == flexiEnum) {
+            throw new FlexiEnumException("Invalid value \"" + name + "\" for enum " + getEnumName(enumType.type()));
         }
-        return (T) flexiEnum.get();
+        return flexiEnum;
+    }
+
+    /**
+     * Finds an enum of the specified class type by its name or alias, matched with the lookup mode of the type.
+     * Unlike {@link #valueOf(String, Class)}, an unknown name costs no exception, which suits hot paths meeting
+     * unknown names regularly.
+     *
+     * @param name  the name of the enum to find.
+     * @param clazz the class of the enum.
+     * @param <T>   the type of the FlexiEnum.
+     * @return the enum instance matching the given name, or null if the name is null, empty or unknown.
+     */
+
+    public static <T extends FlexiEnum> T find(String name, Class<T> clazz) {
+        FlexiEnumType<T> enumType = flexiEnumStore.getEnumType(clazz);
+        return find(name, enumType, enumType.lookup());
+    }
+
+    /**
+     * Finds an enum of the specified class type by its name or alias, matched with the given lookup mode.
+     *
+     * @param name   the name of the enum to find.
+     * @param clazz  the class of the enum.
+     * @param lookup the mode to match the name with.
+     * @param <T>    the type of the FlexiEnum.
+     * @return the enum instance matching the given name, or null if the name is null, empty or unknown.
+     */
+
+    public static <T extends FlexiEnum> T find(String name, Class<T> clazz, FlexiEnumLookup lookup) {
+        return find(name, flexiEnumStore.getEnumType(clazz), lookup);
+    }
+
+    /**
+     * Finds an enum of the specified class type by its name or alias, matched with the lookup mode of the type.
+     *
+     * @param name  the name of the enum to find.
+     * @param clazz the class of the enum.
+     * @param <T>   the type of the FlexiEnum.
+     * @return the enum instance matching the given name, or empty if the name is null, empty or unknown.
+     * @see #find(String, Class)
+     */
+
+    public static <T extends FlexiEnum> Optional<T> tryValueOf(String name, Class<T> clazz) {
+        return Optional.ofNullable(find(name, clazz));
+    }
+
+    static <T extends FlexiEnum> T find(String name, FlexiEnumType<T> enumType, FlexiEnumLookup lookup) {
+        if (StringUtils.isEmpty(name)) {
+            return null;
+        }
+        T flexiEnum = FlexiEnumMetrics.enabled
+                ? enumType.statistics().find(enumType.snapshot(), name, lookup)
+                : enumType.snapshot().find(name, lookup);
+        enumType.recordAccess(flexiEnum);
+        return flexiEnum;
+    }
+
+    /**
+     * Retrieves an enum of the specified class type from this store by its name or alias, using the lookup mode
+     * of the type. Unlike {@link #valueOf(String, Class)}, this resolves the enums of a scope.
+     *
+     * @param clazz the class of the enum.
+     * @param name  the name of the enum to retrieve.
+     * @param <T>   the type of the FlexiEnum.
+     * @return the enum instance matching the given name, or null if the name is empty.
+     * @throws FlexiEnumException if the enum is not found.
+     */
+
+    public <T extends FlexiEnum> T getEnum(Class<T> clazz, String name) throws FlexiEnumException {
+        FlexiEnumType<T> enumType = getEnumType(clazz);
+        return valueOf(name, enumType, enumType.lookup());
+    }
+
+    /**
+     * Retrieves all enums of the specified class type visible in this store, the enums of its parents first.
+     *
+     * @param clazz the class of the enums to retrieve.
+     * @param <T>   the type of the FlexiEnum.
+     * @return an unmodifiable list of the enums of the specified type, in registration order.
+     */
+
+    public <T extends FlexiEnum> List<T> getEnums(Class<T> clazz) {
+        return getEnumType(clazz).snapshot().values();
+    }
+
+    /**
+     * Retrieves the statistics of the specified class type, which count while {@link FlexiEnumMetrics} is enabled.
+     *
+     * @param clazz the class of the enum.
+     * @param <T>   the type of the FlexiEnum.
+     * @return the statistics of the type.
+     */
+
+    public <T extends FlexiEnum> FlexiEnumStatistics getStatistics(Class<T> clazz) {
+        return getEnumType(clazz).statistics();
     }
 
     /**
@@ -198,15 +725,172 @@ public class FlexiEnumStore {
      *
      * @param clazz the class of the enums to retrieve.
      * @param <T>   the type of the FlexiEnum.
-     * @return a list of all stored enums of the specified type.
+     * @return an unmodifiable list of all stored enums of the specified type, in registration order.
      */
 
     public static <T extends FlexiEnum> List<T> values(Class<T> clazz) {
-        return flexiEnumStore.possibleEnums
-                .getOrDefault(getEnumName(clazz), new HashSet<>())
-                .stream()
-                .map(clazz::cast)
-                .collect(Collectors.toList());
+        return flexiEnumStore.getEnumType(clazz).snapshot().values();
+    }
+
+    /**
+     * Retrieves up to a limit of the enums of the specified class type whose names start with a prefix, such as the
+     * suggestions of a type-ahead. Names are compared and ordered under the lookup mode of the type, so with
+     * {@link FlexiEnumLookup#NORMALIZED} the prefix {@code "north a"} matches {@code NORTH_AMERICA}. The sorted index
+     * of each mode is built once per change to the type, merging appended names into the previous index, so a query
+     * costs a binary search plus the size of its result.
+     *
+     * @param clazz  the class of the enums to retrieve.
+     * @param prefix the prefix of the names, null or empty for all enums.
+     * @param limit  the maximum number of enums to return.
+     * @param <T>    the type of the FlexiEnum.
+     * @return the first enums of the prefix in sorted order of their names.
+     * @throws IllegalArgumentException if the limit is negative.
+     */
+
+    public static <T extends FlexiEnum> List<T> valuesWithPrefix(Class<T> clazz, String prefix, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative: " + limit);
+        }
+        FlexiEnumType<T> enumType = flexiEnumStore.getEnumType(clazz);
+        return enumType.snapshot().withPrefix(StringUtils.defaultString(prefix), limit, enumType.lookup());
+    }
+
+    /**
+     * Retrieves up to a limit of the enums of the specified class type whose names fall in a range, compared and
+     * ordered under the lookup mode of the type.
+     *
+     * @param clazz the class of the enums to retrieve.
+     * @param from  the inclusive lower bound of the names, null for no lower bound.
+     * @param to    the exclusive upper bound of the names, null for no upper bound.
+     * @param limit the maximum number of enums to return.
+     * @param <T>   the type of the FlexiEnum.
+     * @return the first enums of the range in sorted order of their names.
+     * @throws IllegalArgumentException if the limit is negative.
+     * @see #valuesWithPrefix(Class, String, int)
+     */
+
+    public static <T extends FlexiEnum> List<T> valuesInRange(Class<T> clazz, String from, String to, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative: " + limit);
+        }
+        FlexiEnumType<T> enumType = flexiEnumStore.getEnumType(clazz);
+        return enumType.snapshot().inRange(from, to, limit, enumType.lookup());
+    }
+
+    /**
+     * Replaces the enums and aliases of the specified class type with a persisted state.
+     * Stored instances and defaults are kept for their names, other enums are created with their saved ordinal
+     * where that ordinal is still free. Aliases whose name is not part of the state are skipped.
+     *
+     * @param clazz    the class of the enums to restore.
+     * @param names    the names of all enums of the type, defaults included, in ascending ordinal order.
+     * @param ordinals the saved ordinal of each name.
+     * @param aliases  the saved aliases mapped to the names they stand for.
+     * @param <T>      the type of the FlexiEnum.
+     * @throws FlexiEnumException if an enum cannot be created, the type is left unchanged in that case.
+     */
+
+    <T extends FlexiEnum> void restoreEnums(Class<T> clazz, List<String> names, int[] ordinals, Map<String, String> aliases) throws FlexiEnumException {
+        FlexiEnumType<T> enumType = getEnumType(clazz);
+        FlexiEnumFactory<T> factory = enumType.factory();
+        synchronized (enumType) {
+            FlexiEnumType.Snapshot<T> current = enumType.snapshot();
+            Map<String, T> defaults = new LinkedHashMap<>();
+            for (T defaultEnum : getDefaultEnums(clazz)) {
+                defaults.putIfAbsent(defaultEnum.name(), defaultEnum);
+            }
+            List<T> flexiEnums = new ArrayList<>(names.size() + defaults.size());
+            try {
+                for (String name : names) {
+                    T existing = current.get(name);
+                    if (null == existing) {
+                        existing = defaults.get(name);
+                    }
+                    flexiEnums.add(null != existing ? existing : factory.newInstance(name));
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new FlexiEnumException("Failed to create instance of " + getEnumName(clazz), e);
+            }
+            //Defaults declared after the state was saved get new ordinals
+            int[] savedOrdinals = Arrays.copyOf(ordinals, names.size() + defaults.size());
+            defaults.keySet().removeAll(names);
+            Arrays.fill(savedOrdinals, names.size(), savedOrdinals.length, -1);
+            flexiEnums.addAll(defaults.values());
+            enumType.restore(flexiEnums, savedOrdinals);
+            for (Map.Entry<String, String> alias : aliases.entrySet()) {
+                if (null != enumType.get(alias.getValue())) {
+                    enumType.addAlias(alias.getKey(), alias.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the classes of all enum types this store has a registry for, which does not keep them reachable.
+     */
+
+    List<Class<? extends FlexiEnum>> getTypes() {
+        synchronized (types) {
+            return new ArrayList<>(types.keySet());
+        }
+    }
+
+    /**
+     * Retrieves the registry holding the enums of the specified class type.
+     * Registries are keyed by the class itself rather than its name, so same-named classes from different
+     * class loaders stay separate and a registry never keeps a class loader reachable on its own.
+     * The registry of a scope is created on first use and keeps the registries of its parents reachable.
+     *
+     * @param clazz the class of the enum.
+     * @param <T>   the type of the FlexiEnum.
+     * @return the registry of the specified class type.
+     */
+
+    @SuppressWarnings("unchecked")
+    <T extends FlexiEnum> FlexiEnumType<T> getEnumType(Class<T> clazz) {
+        return (FlexiEnumType<T>) possibleEnums.get(clazz);
+    }
+
+    /**
+     * Creates the registry of a type, layered on the registry of the parent store for a scope.
+     * Statistics are shared with the global registry, so only global registries are published to metrics.
+     */
+
+    private <T extends FlexiEnum> FlexiEnumType<T> newEnumType(Class<T> clazz) {
+        if (null != parent) {
+            return new FlexiEnumType<>(parent.getEnumType(clazz), listeners);
+        }
+        FlexiEnumType<T> enumType = new FlexiEnumType<>(clazz, listeners);
+        FlexiEnumMetrics.register(enumType.statistics());
+        return enumType;
+    }
+
+    /**
+     * Reads the default (predefined) enums declared as final fields of the specified class type.
+     * A {@link FlexiEnumDefaults} registry generated for the type is used when present, otherwise the fields are
+     * read reflectively.
+     *
+     * @param clazz the class of the enums to read.
+     * @param <T>   the type of the FlexiEnum.
+     * @return the default enums in declaration order.
+     */
+
+    private <T extends FlexiEnum> List<T> getDefaultEnums(Class<T> clazz) {
+        FlexiEnumDefaults<T> generated = FlexiEnumDefaultsLoader.find(clazz);
+        if (null != generated) {
+            return new ArrayList<>(generated.defaults());
+        }
+        List<T> defaultEnums = new ArrayList<>();
+        for (Field field : clazz.getDeclaredFields()) {
+            if (field.getType().equals(clazz) && Modifier.isFinal(field.getModifiers())) {
+                try {
+                    defaultEnums.add(clazz.cast(field.get(null)));
+                } catch (Exception e) {
+                    log.error("Failed to load default enum value for " + getEnumName(clazz), e);
+                }
+            }
+        }
+        return defaultEnums;
     }
 
     /**
@@ -220,4 +904,15 @@ public class FlexiEnumStore {
     private static <T extends FlexiEnum> String getEnumName(Class<T> clazz) {
         return clazz.getName();
     }
+
+    /**
+     * Carries a creation failure out of a parallel import.
+     */
+    private static final class ImportFailure extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        ImportFailure(Throwable cause) {
+            super(cause);
+        }
+    }
 }
@@ -0,0 +1,1087 @@
+package com.bhawesh_source.configs;
+
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the registered values of a single {@link FlexiEnum} subtype.
+ * Instances are created and cached by {@link FlexiEnumStore} per {@link Class}, so two classes with the same
+ * name loaded by different class loaders never share a registry.
+ * The registered values are published as an immutable {@link Snapshot}. Readers take a single volatile read and
+ * never lock, writers are serialized on this registry and build a new snapshot before swapping it in.
+ * Values added to a root registry without aliases are appended in place behind the published snapshots, whose name
+ * indexes are extended rather than rebuilt, so adding a value costs amortized constant time. Removing values, adding
+ * values to a layer or to a type with aliases rebuilds the snapshot, which costs time linear in the number of values.
+ * Every registered value is given an ordinal and kept in an ordinal indexed table, which backs
+ * {@link FlexiEnumSet} and {@link FlexiEnumMap}.
+ * <p>
+ * A registry can be layered on the registry of the same type in a parent store. Its snapshot then holds the
+ * values of the parent followed by its own, flattened into a single index, so lookups cost the same at any depth.
+ * The flattened snapshot is rebuilt on the first read after the parent changed, a layer without values of its own
+ * publishes the snapshot of its parent as is. Ordinals, defaults and the factory belong to the root registry and are
+ * shared by every layer, so values of all layers have distinct ordinals.
+ * <p>
+ * A root registry with a compact {@link FlexiEnumStorage} keeps the values registered from then on in a
+ * {@link FlexiEnumDictionary} instead of instances. Snapshots list and resolve them after the values held as instances.
+ * A root registry with a {@link FlexiEnumCapacity} evicts runtime values through a {@link FlexiEnumEvictor} whenever
+ * it registers values, and releases the evicted values from the ordinal table.
+ * The {@link FlexiEnumAttribute} values of a type are held by the root registry in {@link FlexiEnumColumns} indexed by
+ * ordinal, published the same way as snapshots.
+ *
+ * @param <T> the type of the FlexiEnum.
+ */
+final class FlexiEnumType<T extends FlexiEnum> {
+    private static final long MISS_LOG_INTERVAL_SECONDS = 10;
+    private static final long MISS_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(MISS_LOG_INTERVAL_SECONDS);
+
+    private final Class<T> type;
+    private final FlexiEnumType<T> parent;
+    private final FlexiEnumType<T> root;
+    private final FlexiEnumStatistics statistics;
+    private final List<FlexiEnumListener> listeners;
+    private volatile Snapshot<T> snapshot;
+    private volatile FlexiEnum[] universe;
+    private volatile boolean defaultsLoaded;
+    private volatile FlexiEnumFactory<T> factory;
+    private volatile FlexiEnumLookup lookup;
+    private volatile FlexiEnumDictionary<T> dictionary;
+    private volatile FlexiEnumEvictor evictor;
+    private volatile FlexiEnumMissPolicy missPolicy = FlexiEnumMissPolicy.NULL;
+    private volatile T missDefault;
+    private volatile FlexiEnumColumns columns = FlexiEnumColumns.EMPTY;
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong missLoggedAt = new AtomicLong(System.nanoTime() - MISS_LOG_INTERVAL_NANOS);
+    private FlexiEnumStorage storage = FlexiEnumStorage.INSTANCES;
+    private boolean evicting;
+    private volatile int releases;
+    private final Map<String, String> aliases = new LinkedHashMap<>();
+    private T[] local;
+    private int localCount;
+    private long version;
+    private int nextOrdinal;
+
+    FlexiEnumType(Class<T> type) {
+        this(type, Collections.<FlexiEnumListener>emptyList());
+    }
+
+    /**
+     * Creates a root registry.
+     *
+     * @param type      the class of the values.
+     * @param listeners the listeners notified of every published change, read on each change.
+     */
+    FlexiEnumType(Class<T> type, List<FlexiEnumListener> listeners) {
+        this.type = type;
+        this.parent = null;
+        this.root = this;
+        this.statistics = new FlexiEnumStatistics(this);
+        this.listeners = listeners;
+        this.universe = new FlexiEnum[8];
+        this.lookup = FlexiEnumLookup.EXACT;
+        this.local = newArray(0);
+        this.snapshot = build();
+    }
+
+    /**
+     * Creates a registry layered on a parent registry of the same type, which starts without values of its own.
+     *
+     * @param parent    the registry whose values this registry extends.
+     * @param listeners the listeners notified of every change published by this layer, read on each change.
+     */
+    FlexiEnumType(FlexiEnumType<T> parent, List<FlexiEnumListener> listeners) {
+        this.type = parent.type;
+        this.parent = parent;
+        this.root = parent.root;
+        this.statistics = root.statistics;
+        this.listeners = listeners;
+        this.local = newArray(0);
+        this.snapshot = parent.snapshot();
+    }
+
+    Class<T> type() {
+        return type;
+    }
+
+    FlexiEnumStatistics statistics() {
+        return statistics;
+    }
+
+    /**
+     * @return the factory creating instances of this type, resolved on first use.
+     */
+    FlexiEnumFactory<T> factory() {
+        if (root != this) {
+            return root.factory();
+        }
+        FlexiEnumFactory<T> factory = this.factory;
+        if (null == factory) {
+            synchronized (this) {
+                factory = this.factory;
+                if (null == factory) {
+                    factory = FlexiEnumFactory.of(type);
+                    this.factory = factory;
+                }
+            }
+        }
+        return factory;
+    }
+
+    /**
+     * @return the currently published values of this type, including the values of parent layers.
+     */
+    Snapshot<T> snapshot() {
+        Snapshot<T> current = snapshot;
+        if (null != parent && !isCurrent(current, parent.snapshot())) {
+            current = rebase();
+        }
+        return current;
+    }
+
+    /**
+     * Looks up a registered value by its exact name, materializing compact values.
+     *
+     * @param name the name of the value.
+     * @return the registered value, or null if no value with the given name exists.
+     */
+    T get(String name) {
+        return snapshot().get(name);
+    }
+
+    /**
+     * Looks up a value by its ordinal. Values cleared from the store stay resolvable by ordinal, evicted values do not.
+     * Ordinals are shared by all layers, so values of any layer of this type resolve.
+     * Values kept compactly are materialized.
+     *
+     * @param ordinal the ordinal of the value.
+     * @return the value with the given ordinal, or null if no value was given that ordinal.
+     */
+    T get(int ordinal) {
+        FlexiEnum[] universe = root.universe;
+        if (ordinal >= 0 && ordinal < universe.length && null != universe[ordinal]) {
+            return type.cast(universe[ordinal]);
+        }
+        FlexiEnumDictionary<T> dictionary = root.dictionary;
+        return null != dictionary ? dictionary.get(ordinal) : null;
+    }
+
+    /**
+     * @return whether the ordinal resolves to a value which was not evicted, without materializing compact values.
+     */
+    boolean isResolvable(int ordinal) {
+        FlexiEnum[] universe = root.universe;
+        if (ordinal >= 0 && ordinal < universe.length && null != universe[ordinal]) {
+            return true;
+        }
+        FlexiEnumDictionary<T> dictionary = root.dictionary;
+        return null != dictionary && dictionary.view().hasEntry(ordinal) && !dictionary.isReleased(ordinal);
+    }
+
+    /**
+     * Counts the changes which made ordinals unresolvable, so collections indexed by ordinal can tell when to drop
+     * the ordinals of evicted values.
+     *
+     * @return a number which changes whenever ordinals stop resolving.
+     */
+    int releases() {
+        return root.releases;
+    }
+
+    /**
+     * Resolves the ordinal of an object of this type. Instances created outside the store carry no ordinal
+     * and are resolved through the registered value of the same name.
+     *
+     * @param o the object to resolve.
+     * @return the ordinal, or -1 if the object is not a registered value of this type.
+     */
+    int ordinalOf(Object o) {
+        if (null == o || o.getClass() != type) {
+            return -1;
+        }
+        FlexiEnum flexiEnum = (FlexiEnum) o;
+        if (flexiEnum.ordinal() >= 0) {
+            return flexiEnum.ordinal();
+        }
+        return snapshot().ordinalOf(flexiEnum.name());
+    }
+
+    /**
+     * Registers a value unless a value with the same name is already present.
+     *
+     * @param flexiEnum the value to register.
+     * @return the canonical value of the name, which is the already registered value if there is one.
+     */
+    synchronized T add(T flexiEnum) {
+        T registered = snapshot().get(flexiEnum.name());
+        if (null != registered) {
+            return registered;
+        }
+        addAll(Collections.singletonList(flexiEnum));
+        return flexiEnum;
+    }
+
+    /**
+     * Registers the values whose names are not present yet and publishes them in a single snapshot.
+     *
+     * @param flexiEnums the values to register.
+     * @return the number of values which were registered.
+     */
+    synchronized int addAll(Collection<? extends T> flexiEnums) {
+        Snapshot<T> current = snapshot();
+        Set<String> names = new HashSet<>();
+        List<T> added = new ArrayList<>();
+        //Published snapshots only read their own prefix of local, so values are appended in place
+        T[] values = local;
+        int size = localCount;
+        for (T flexiEnum : flexiEnums) {
+            if (!current.contains(flexiEnum.name()) && names.add(flexiEnum.name())) {
+                if (!addCompact(flexiEnum)) {
+                    assignOrdinal(flexiEnum);
+                    if (size == values.length) {
+                        values = Arrays.copyOf(values, Math.max(8, size << 1));
+                    }
+                    values[size++] = flexiEnum;
+                }
+                added.add(flexiEnum);
+            }
+        }
+        if (!added.isEmpty()) {
+            local = values;
+            localCount = size;
+            Snapshot<T> next = build(null == parent && aliases.isEmpty() ? current : null);
+            if (null == parent) {
+                next.seedSortedIndexes(current);
+            }
+            snapshot = next;
+            if (FlexiEnumMetrics.enabled) {
+                statistics.recordAdded(added.size());
+            }
+            if (!listeners.isEmpty()) {
+                List<T> unmodifiableAdded = Collections.unmodifiableList(added);
+                for (FlexiEnumListener listener : listeners) {
+                    listener.onAdded(type, unmodifiableAdded);
+                }
+            }
+            evict(added, false);
+        }
+        return added.size();
+    }
+
+    /**
+     * Registers the default values of this type and marks the defaults as loaded.
+     * Defaults always belong to the root registry.
+     *
+     * @param defaults the default values.
+     */
+    void loadDefaults(Collection<? extends T> defaults) {
+        if (root != this) {
+            root.loadDefaults(defaults);
+            return;
+        }
+        synchronized (this) {
+            addAll(defaults);
+            defaultsLoaded = true;
+        }
+    }
+
+    /**
+     * Atomically replaces all values registered by this layer. The first value registered for a name wins,
+     * values of parent layers are kept. The new values are expected to start with the defaults of the type,
+     * which are then marked as loaded.
+     *
+     * @param flexiEnums the new values.
+     */
+    synchronized void replace(Collection<? extends T> flexiEnums) {
+        Snapshot<T> base = null == parent ? null : parent.snapshot();
+        Snapshot<T> previous = snapshot;
+        if (null != dictionary) {
+            dictionary.clear();
+        }
+        Set<String> names = new HashSet<>();
+        List<T> added = new ArrayList<>();
+        T[] values = newArray(flexiEnums.size());
+        int size = 0;
+        for (T flexiEnum : flexiEnums) {
+            if ((null == base || !base.contains(flexiEnum.name())) && names.add(flexiEnum.name())) {
+                if (!previous.contains(flexiEnum.name())) {
+                    added.add(flexiEnum);
+                }
+                if (!addCompact(flexiEnum)) {
+                    assignOrdinal(flexiEnum);
+                    values[size++] = flexiEnum;
+                }
+            }
+        }
+        local = values;
+        localCount = size;
+        Snapshot<T> updated = build();
+        snapshot = updated;
+        if (root == this) {
+            defaultsLoaded = true;
+        }
+        if (FlexiEnumMetrics.enabled) {
+            statistics.recordReplacement();
+        }
+        for (FlexiEnumListener listener : listeners) {
+            listener.onReplaced(type, updated.values());
+        }
+        evict(added, false);
+    }
+
+    /**
+     * Atomically applies a diff to the values registered by this layer. Values which are neither removed nor
+     * added keep their instance, position and ordinal. Values of parent layers cannot be removed.
+     *
+     * @param added   the values to register, values whose name is already present are skipped.
+     * @param removed the names of the values to unregister.
+     * @return whether the registered values changed.
+     */
+    synchronized boolean update(Collection<? extends T> added, Set<String> removed) {
+        Snapshot<T> current = snapshot();
+        T[] values = newArray(localCount + added.size());
+        List<T> removedValues = new ArrayList<>();
+        int size = 0;
+        for (int i = 0; i < localCount; i++) {
+            if (!removed.contains(local[i].name())) {
+                values[size++] = local[i];
+            } else {
+                removedValues.add(local[i]);
+            }
+        }
+        int removedCount = removedValues.size();
+        if (null != dictionary && !removed.isEmpty()) {
+            if (!listeners.isEmpty()) {
+                FlexiEnumDictionary.View<T> view = dictionary.view();
+                for (String name : removed) {
+                    int ordinal = view.ordinalOf(name);
+                    if (ordinal >= 0) {
+                        removedValues.add(dictionary.get(ordinal));
+                    }
+                }
+            }
+            removedCount += dictionary.remove(removed);
+        }
+        Set<String> names = new HashSet<>();
+        List<T> addedValues = new ArrayList<>();
+        for (T flexiEnum : added) {
+            if (!current.contains(flexiEnum.name()) && names.add(flexiEnum.name())) {
+                if (!addCompact(flexiEnum)) {
+                    assignOrdinal(flexiEnum);
+                    values[size++] = flexiEnum;
+                }
+                addedValues.add(flexiEnum);
+            }
+        }
+        if (removedCount == 0 && addedValues.isEmpty()) {
+            return false;
+        }
+        local = values;
+        localCount = size;
+        Snapshot<T> updated = build();
+        snapshot = updated;
+        if (FlexiEnumMetrics.enabled && !addedValues.isEmpty()) {
+            statistics.recordAdded(addedValues.size());
+        }
+        for (FlexiEnumListener listener : listeners) {
+            if (removedCount != 0) {
+                listener.onRemoved(type, Collections.unmodifiableList(removedValues), updated.values());
+            }
+            if (!addedValues.isEmpty()) {
+                listener.onAdded(type, Collections.unmodifiableList(addedValues));
+            }
+        }
+        if (!addedValues.isEmpty()) {
+            evict(addedValues, false);
+        }
+        return true;
+    }
+
+    /**
+     * Atomically replaces all registered values of this type with values restored from a persisted state.
+     * Values without an ordinal are given their saved ordinal while it is above every ordinal handed out so far,
+     * so restoring into a fresh registry reproduces the saved ordinals. The other values get new ordinals.
+     * Layers on a parent registry always hand out new ordinals.
+     *
+     * @param flexiEnums    the new values, starting with the defaults of the type.
+     * @param savedOrdinals the saved ordinal of each value, ascending for the values without an ordinal.
+     */
+    synchronized void restore(List<? extends T> flexiEnums, int[] savedOrdinals) {
+        if (root != this) {
+            replace(flexiEnums);
+            return;
+        }
+        List<T> ordered = new ArrayList<>(flexiEnums.size());
+        List<T> deferred = new ArrayList<>();
+        int bound = nextOrdinal;
+        for (int i = 0; i < flexiEnums.size(); i++) {
+            T flexiEnum = flexiEnums.get(i);
+            if (flexiEnum.ordinal() < 0 && savedOrdinals[i] >= bound) {
+                flexiEnum.register(savedOrdinals[i]);
+                bound = savedOrdinals[i] + 1;
+                ordered.add(flexiEnum);
+            } else if (flexiEnum.ordinal() < 0) {
+                deferred.add(flexiEnum);
+            } else {
+                ordered.add(flexiEnum);
+            }
+        }
+        ordered.addAll(deferred);
+        replace(ordered);
+    }
+
+    /**
+     * Registers an alias of a name. The alias resolves to the value of that name for as long as the name is stored.
+     *
+     * @param alias the alias.
+     * @param name  the name the alias stands for.
+     */
+    synchronized void addAlias(String alias, String name) {
+        aliases.put(alias, name);
+        snapshot = build();
+        for (FlexiEnumListener listener : listeners) {
+            listener.onAliasAdded(type, alias, name);
+        }
+    }
+
+    /**
+     * @return the attribute columns of this type, shared by every layer.
+     */
+    FlexiEnumColumns columns() {
+        return root.columns;
+    }
+
+    /**
+     * Sets attributes of values of this type and publishes them together.
+     *
+     * @param ordinals   the ordinals of the values.
+     * @param attributes the attributes of each value.
+     * @param replace    whether to drop the attributes of every other value.
+     * @throws IllegalArgumentException if a unique key is held by another stored value, no attribute changes then.
+     */
+    void setAttributes(int[] ordinals, FlexiEnumAttributes[] attributes, boolean replace) {
+        if (root != this) {
+            root.setAttributes(ordinals, attributes, replace);
+            return;
+        }
+        synchronized (this) {
+            columns = columns.update(ordinals, attributes, replace, ordinal -> {
+                T flexiEnum = get(ordinal);
+                return null != flexiEnum && snapshot.ordinalOf(flexiEnum.name()) == ordinal;
+            });
+        }
+    }
+
+    /**
+     * @return the lookup mode used when no mode is given explicitly, inherited from the parent layer unless set.
+     */
+    FlexiEnumLookup lookup() {
+        FlexiEnumLookup lookup = this.lookup;
+        return null != lookup ? lookup : parent.lookup();
+    }
+
+    void setLookup(FlexiEnumLookup lookup) {
+        this.lookup = lookup;
+    }
+
+    /**
+     * @return the policy the deserializer applies to unknown names, which belongs to the root registry.
+     */
+    FlexiEnumMissPolicy missPolicy() {
+        return root.missPolicy;
+    }
+
+    /**
+     * @return the value unknown names are deserialized as under {@link FlexiEnumMissPolicy#DEFAULT}.
+     */
+    T missDefault() {
+        return root.missDefault;
+    }
+
+    void setMissPolicy(FlexiEnumMissPolicy missPolicy, T missDefault) {
+        if (root != this) {
+            root.setMissPolicy(missPolicy, missDefault);
+            return;
+        }
+        this.missDefault = missDefault;
+        this.missPolicy = missPolicy;
+    }
+
+    /**
+     * Counts an unknown name met by the deserializer and decides whether to log it, which happens at most once per
+     * {@value #MISS_LOG_INTERVAL_SECONDS} seconds for the type.
+     *
+     * @return the number of misses since the last logged one, including this one, or 0 if this miss is not logged.
+     */
+    long recordMiss() {
+        if (root != this) {
+            return root.recordMiss();
+        }
+        misses.incrementAndGet();
+        long now = System.nanoTime();
+        long loggedAt = missLoggedAt.get();
+        if (now - loggedAt < MISS_LOG_INTERVAL_NANOS || !missLoggedAt.compareAndSet(loggedAt, now)) {
+            return 0;
+        }
+        return misses.getAndSet(0);
+    }
+
+    /**
+     * Sets how the values registered from now on are kept. Values already registered stay where they are, a
+     * compact dictionary created before is kept and only moved between heap and off-heap memory.
+     * Storage belongs to the root registry, layers always keep their own values as instances.
+     *
+     * @param storage the storage of later values.
+     */
+    void setStorage(FlexiEnumStorage storage) {
+        if (root != this) {
+            root.setStorage(storage);
+            return;
+        }
+        FlexiEnumFactory<T> factory = factory();
+        synchronized (this) {
+            this.storage = storage;
+            if (storage != FlexiEnumStorage.INSTANCES) {
+                boolean direct = storage == FlexiEnumStorage.COMPACT_DIRECT;
+                if (null == dictionary) {
+                    dictionary = new FlexiEnumDictionary<>(type, factory, nextOrdinal, direct);
+                } else if (dictionary.isDirect() != direct) {
+                    dictionary.setDirect(direct);
+                    snapshot = build();
+                }
+            }
+        }
+    }
+
+    FlexiEnumStorage storage() {
+        return root.storage;
+    }
+
+    /**
+     * Bounds the runtime values of this type, evicting values over the new capacity right away.
+     * Capacity belongs to the root registry, the values of layers are not bounded.
+     *
+     * @param capacity     the capacity policy, or null to stop evicting.
+     * @param defaultNames the names of the default values, which are never evicted.
+     */
+    void setCapacity(FlexiEnumCapacity capacity, Set<String> defaultNames) {
+        if (root != this) {
+            root.setCapacity(capacity, defaultNames);
+            return;
+        }
+        synchronized (this) {
+            if (null == capacity) {
+                evictor = null;
+                return;
+            }
+            Snapshot<T> current = snapshot;
+            BitSet defaults = new BitSet();
+            for (String name : defaultNames) {
+                int ordinal = current.ordinalOf(name);
+                if (ordinal >= 0) {
+                    defaults.set(ordinal);
+                }
+            }
+            FlexiEnumEvictor evictor = new FlexiEnumEvictor(capacity, defaults);
+            long now = System.nanoTime();
+            for (int position = 0; position < current.size(); position++) {
+                evictor.recordAdded(current.ordinalAt(position), now);
+            }
+            this.evictor = evictor;
+            evict(Collections.<T>emptyList(), true);
+        }
+    }
+
+    FlexiEnumCapacity capacity() {
+        FlexiEnumEvictor evictor = root.evictor;
+        return null == evictor ? null : evictor.capacity();
+    }
+
+    /**
+     * Records a use of a value found by a lookup, if this type is bounded.
+     *
+     * @param flexiEnum the value, may be null.
+     */
+    void recordAccess(T flexiEnum) {
+        FlexiEnumEvictor evictor = root.evictor;
+        if (null != evictor && null != flexiEnum) {
+            evictor.recordAccess(flexiEnum.ordinal());
+        }
+    }
+
+    /**
+     * Evicts expired values and values over the capacity of this type now.
+     *
+     * @return the number of evicted values.
+     */
+    int cleanUp() {
+        if (root != this) {
+            return root.cleanUp();
+        }
+        synchronized (this) {
+            return evict(Collections.<T>emptyList(), true);
+        }
+    }
+
+    /**
+     * @return one more than the highest ordinal handed out so far, by any layer.
+     */
+    int ordinalBound() {
+        return root.nextOrdinal;
+    }
+
+    boolean isDefaultsLoaded() {
+        return root.defaultsLoaded;
+    }
+
+    /**
+     * Stamps the values registered by a change as used now and evicts the values selected by the capacity policy
+     * in a second snapshot. The evicted values are released from the ordinal table or the compact dictionary
+     * after that snapshot is published.
+     *
+     * @return the number of evicted values.
+     */
+    private int evict(List<T> added, boolean sweep) {
+        FlexiEnumEvictor evictor = this.evictor;
+        if (root != this || null == evictor || evicting) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        BitSet addedOrdinals = new BitSet();
+        for (T flexiEnum : added) {
+            evictor.recordAdded(flexiEnum.ordinal(), now);
+            addedOrdinals.set(flexiEnum.ordinal());
+        }
+        Map<String, Integer> victims = evictor.select(snapshot, addedOrdinals, now, sweep);
+        if (victims.isEmpty()) {
+            return 0;
+        }
+        evicting = true;
+        try {
+            update(Collections.<T>emptyList(), victims.keySet());
+        } finally {
+            evicting = false;
+        }
+        FlexiEnum[] universe = this.universe;
+        for (int ordinal : victims.values()) {
+            if (ordinal < universe.length && null != universe[ordinal]) {
+                universe[ordinal] = null;
+            } else if (null != dictionary) {
+                dictionary.release(ordinal);
+            }
+        }
+        if (null != dictionary) {
+            dictionary.publishReleased();
+        }
+        releases++;
+        if (FlexiEnumMetrics.enabled) {
+            statistics.recordEvicted(victims.size());
+        }
+        return victims.size();
+    }
+
+    /**
+     * Keeps a value in the compact dictionary if this is a root registry with compact storage, giving it the next free
+     * ordinal unless it carries one. Values held as instances stay instances.
+     *
+     * @return whether the value is kept in the dictionary.
+     */
+    private boolean addCompact(T flexiEnum) {
+        if (root != this || null == dictionary || storage == FlexiEnumStorage.INSTANCES) {
+            return false;
+        }
+        int ordinal = flexiEnum.ordinal();
+        if (ordinal >= 0 && ordinal < universe.length && universe[ordinal] == flexiEnum) {
+            return false;
+        }
+        if (ordinal < 0) {
+            flexiEnum.register(nextOrdinal);
+        }
+        if (!dictionary.add(flexiEnum)) {
+            return false;
+        }
+        nextOrdinal = Math.max(nextOrdinal, flexiEnum.ordinal() + 1);
+        return true;
+    }
+
+    /**
+     * Registers the value with the next free ordinal, unless it already carries one, and records it in the ordinal table.
+     * The table slot is written before the value is published through a snapshot.
+     */
+    private void assignOrdinal(T flexiEnum) {
+        if (root != this) {
+            synchronized (root) {
+                root.assignOrdinal(flexiEnum);
+            }
+            return;
+        }
+        int ordinal = flexiEnum.ordinal();
+        if (ordinal < 0) {
+            ordinal = nextOrdinal;
+            flexiEnum.register(ordinal);
+        }
+        nextOrdinal = Math.max(nextOrdinal, ordinal + 1);
+        FlexiEnum[] universe = this.universe;
+        if (ordinal >= universe.length) {
+            universe = Arrays.copyOf(universe, Math.max(universe.length << 1, ordinal + 1));
+        }
+        universe[ordinal] = flexiEnum;
+        this.universe = universe;
+    }
+
+    /**
+     * @return whether a published snapshot still reflects the given snapshot of the parent layer.
+     */
+    private boolean isCurrent(Snapshot<T> current, Snapshot<T> base) {
+        return current == base || (current.layer == this && current.base == base);
+    }
+
+    /**
+     * Rebuilds the flattened snapshot after the parent layer changed.
+     */
+    private synchronized Snapshot<T> rebase() {
+        Snapshot<T> current = snapshot;
+        if (!isCurrent(current, parent.snapshot())) {
+            current = build();
+            snapshot = current;
+        }
+        return current;
+    }
+
+    private Snapshot<T> build() {
+        return build(null);
+    }
+
+    /**
+     * Builds the snapshot of the values and aliases of this layer on top of the current snapshot of the parent layer.
+     * Names of the parent win over the values of this layer.
+     *
+     * @param previous the snapshot of a root registry without aliases whose values are a prefix of the values now held,
+     *                 whose name indexes are then extended, or null to build them anew.
+     */
+    private Snapshot<T> build(Snapshot<T> previous) {
+        version++;
+        if (null == parent) {
+            return new Snapshot<>(local, localCount, aliases, version, this, null,
+                    null == dictionary ? null : dictionary.publish(), previous);
+        }
+        Snapshot<T> base = parent.snapshot();
+        if (localCount == 0 && aliases.isEmpty()) {
+            return base;
+        }
+        T[] values = Arrays.copyOf(base.values, base.count + localCount);
+        int size = base.count;
+        for (int i = 0; i < localCount; i++) {
+            if (!base.contains(local[i].name())) {
+                values[size++] = local[i];
+            }
+        }
+        Map<String, String> mergedAliases = base.aliasNames;
+        if (!aliases.isEmpty()) {
+            mergedAliases = new LinkedHashMap<>(base.aliasNames);
+            mergedAliases.putAll(aliases);
+        }
+        return new Snapshot<>(values, size, mergedAliases, version, this, base, base.compact, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T[] newArray(int length) {
+        return (T[]) Array.newInstance(type, length);
+    }
+
+    /**
+     * An immutable view of the values registered for a type at one point in time.
+     * Values are kept in registration order, which is also the order of {@link #values()}.
+     * Besides the exact name index, a snapshot holds one index of names and aliases per {@link FlexiEnumLookup}.
+     * Values kept in a compact dictionary follow the values held as instances, and are only found by name after
+     * the names and aliases of the instances. The values held as instances are the first {@code count} elements of
+     * an array which later snapshots may append to.
+     *
+     * @param <T> the type of the FlexiEnum.
+     */
+    static final class Snapshot<T extends FlexiEnum> {
+        private final T[] values;
+        private final int count;
+        private final int keyCount;
+        private final FlexiEnumNameTable<T> index;
+        private final String[] aliases;
+        private final T[] aliasTargets;
+        private final FlexiEnumNameTable<?>[] lookupTables = new FlexiEnumNameTable<?>[FlexiEnumLookup.values().length];
+        private final FlexiEnumSortedIndex[] sortedIndexes = new FlexiEnumSortedIndex[FlexiEnumLookup.values().length];
+        private FlexiEnumSortedIndex[] sortedSeeds;
+        private final List<T> valueList;
+        private final Map<String, String> aliasNames;
+        private final long version;
+        private final FlexiEnumType<T> layer;
+        private final Snapshot<T> base;
+        private final FlexiEnumDictionary.View<T> compact;
+
+        /**
+         * @param previous a snapshot without aliases holding a prefix of the values, whose name indexes are extended
+         *                 by the values appended since, or null to build the indexes anew.
+         */
+        Snapshot(T[] values, int count, Map<String, String> aliasNames, long version, FlexiEnumType<T> layer, Snapshot<T> base,
+                 FlexiEnumDictionary.View<T> compact, Snapshot<T> previous) {
+            this.values = values;
+            this.count = count;
+            this.layer = layer;
+            this.base = base;
+            this.compact = compact;
+            this.aliasNames = aliasNames.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(new LinkedHashMap<>(aliasNames));
+            if (null != previous) {
+                this.index = previous.index.extend(values, previous.count, count);
+                for (int i = 0; i < lookupTables.length; i++) {
+                    lookupTables[i] = extend(previous.lookupTables[i], previous.count);
+                }
+            } else {
+                this.index = new FlexiEnumNameTable<>(values, count);
+            }
+            this.valueList = null == compact ? instances() : new ValueList();
+            this.version = version;
+            List<String> aliases = new ArrayList<>(aliasNames.size());
+            List<T> aliasTargets = new ArrayList<>(aliasNames.size());
+            for (Map.Entry<String, String> alias : aliasNames.entrySet()) {
+                T target = get(alias.getValue());
+                if (null != target) {
+                    aliases.add(alias.getKey());
+                    aliasTargets.add(target);
+                }
+            }
+            this.aliases = aliases.toArray(new String[0]);
+            this.aliasTargets = aliasTargets.toArray(Arrays.copyOf(values, 0));
+            this.keyCount = count + this.aliases.length;
+        }
+
+        /**
+         * Looks up a value by its exact name, ignoring aliases.
+         */
+        T get(String name) {
+            T value = index.get(name, count);
+            return null != value || null == compact ? value : compact.get(name);
+        }
+
+        /**
+         * @return whether a value of the exact name is present, without materializing compact values.
+         */
+        boolean contains(String name) {
+            return null != index.get(name, count) || (null != compact && compact.ordinalOf(name) >= 0);
+        }
+
+        /**
+         * @return the ordinal of the value of the exact name, or -1 if it is not present.
+         */
+        int ordinalOf(String name) {
+            T value = index.get(name, count);
+            if (null != value) {
+                return value.ordinal();
+            }
+            return null == compact ? -1 : compact.ordinalOf(name);
+        }
+
+        /**
+         * Looks up a value by a name or alias matched under the given mode.
+         */
+        T find(String name, FlexiEnumLookup lookup) {
+            T value = lookupTable(lookup).get(name, keyCount);
+            return null != value || null == compact ? value : compact.find(name, lookup);
+        }
+
+        /**
+         * Looks up a value by a name or alias held in a range of a char buffer, matched under the given mode.
+         */
+        T find(char[] buffer, int offset, int length, FlexiEnumLookup lookup) {
+            T value = lookupTable(lookup).get(buffer, offset, length, keyCount);
+            return null != value || null == compact ? value : compact.find(buffer, offset, length, lookup);
+        }
+
+        int size() {
+            return null == compact ? count : count + compact.size();
+        }
+
+        /**
+         * Returns a value by its position, materializing compact values.
+         */
+        T get(int position) {
+            return position < count ? values[position] : compact.get(position - count);
+        }
+
+        /**
+         * @return the ordinal of a value by its position, without materializing compact values.
+         */
+        int ordinalAt(int position) {
+            return position < count ? values[position].ordinal() : compact.ordinalAt(position - count);
+        }
+
+        /**
+         * @return the name of a value by its position, without materializing compact values.
+         */
+        String nameAt(int position) {
+            return position < count ? values[position].name() : compact.nameAt(position - count);
+        }
+
+        /**
+         * @return the values held as instances, without the compact values.
+         */
+        List<T> instances() {
+            return Collections.unmodifiableList(Arrays.asList(values).subList(0, count));
+        }
+
+        /**
+         * @return the bytes held by the compact values, 0 if there are none.
+         */
+        long compactBytes() {
+            return null == compact ? 0L : compact.estimatedBytes();
+        }
+
+        List<T> values() {
+            return valueList;
+        }
+
+        /**
+         * @return all registered aliases in registration order, mapped to the names they stand for,
+         * including aliases of names which are not stored.
+         */
+        Map<String, String> aliases() {
+            return aliasNames;
+        }
+
+        /**
+         * @return a number incremented by every change to the values of the type.
+         */
+        long version() {
+            return version;
+        }
+
+        /**
+         * Returns the values whose names start with a prefix, in sorted order of their names.
+         *
+         * @param prefix the prefix, compared under the lookup mode.
+         * @param limit  the maximum number of values to return.
+         * @param lookup the mode names are compared and ordered under.
+         */
+        List<T> withPrefix(String prefix, int limit, FlexiEnumLookup lookup) {
+            FlexiEnumSortedIndex sorted = sortedIndex(lookup);
+            List<T> result = new ArrayList<>(Math.min(limit, 16));
+            for (int rank = sorted.lowerBound(this, prefix); rank < sorted.size() && result.size() < limit; rank++) {
+                int position = sorted.position(rank);
+                if (!lookup.startsWith(nameAt(position), prefix)) {
+                    break;
+                }
+                result.add(get(position));
+            }
+            return result;
+        }
+
+        /**
+         * Returns the values whose names fall in a range, in sorted order of their names.
+         *
+         * @param from   the inclusive lower bound, or null for no lower bound.
+         * @param to     the exclusive upper bound, or null for no upper bound.
+         * @param limit  the maximum number of values to return.
+         * @param lookup the mode names are compared and ordered under.
+         */
+        List<T> inRange(String from, String to, int limit, FlexiEnumLookup lookup) {
+            FlexiEnumSortedIndex sorted = sortedIndex(lookup);
+            List<T> result = new ArrayList<>(Math.min(limit, 16));
+            for (int rank = null == from ? 0 : sorted.lowerBound(this, from); rank < sorted.size() && result.size() < limit; rank++) {
+                int position = sorted.position(rank);
+                if (null != to && lookup.compare(nameAt(position), to) >= 0) {
+                    break;
+                }
+                result.add(get(position));
+            }
+            return result;
+        }
+
+        /**
+         * Lets the sorted indexes of this snapshot be built by merging the values appended since a previous snapshot
+         * into the indexes of that snapshot. The caller guarantees that values were only appended since then, which
+         * keeps the positions of the previous snapshot unless values held as instances were appended in front of
+         * compact values.
+         */
+        void seedSortedIndexes(Snapshot<T> previous) {
+            if (null != previous.compact && previous.compact.size() > 0 && previous.count != count) {
+                return;
+            }
+            FlexiEnumSortedIndex[] seeds = new FlexiEnumSortedIndex[sortedIndexes.length];
+            boolean seeded = false;
+            for (int i = 0; i < seeds.length; i++) {
+                seeds[i] = null != previous.sortedIndexes[i] ? previous.sortedIndexes[i]
+                        : null != previous.sortedSeeds ? previous.sortedSeeds[i] : null;
+                seeded |= null != seeds[i];
+            }
+            sortedSeeds = seeded ? seeds : null;
+        }
+
+        /**
+         * Returns the sorted index of a lookup mode, built on first use from the index of an earlier snapshot if one
+         * was seeded. Concurrent first uses may build it twice, which is harmless as the indexes are immutable.
+         */
+        private FlexiEnumSortedIndex sortedIndex(FlexiEnumLookup lookup) {
+            FlexiEnumSortedIndex sorted = sortedIndexes[lookup.ordinal()];
+            if (null == sorted) {
+                FlexiEnumSortedIndex[] seeds = sortedSeeds;
+                sorted = FlexiEnumSortedIndex.build(this, lookup, null == seeds ? null : seeds[lookup.ordinal()]);
+                sortedIndexes[lookup.ordinal()] = sorted;
+                if (null != seeds) {
+                    seeds[lookup.ordinal()] = null;
+                }
+            }
+            return sorted;
+        }
+
+        /**
+         * Returns the index of a lookup mode, built on first use. Concurrent first uses may build it twice,
+         * which is harmless as the tables are immutable.
+         */
+        @SuppressWarnings("unchecked")
+        private FlexiEnumNameTable<T> lookupTable(FlexiEnumLookup lookup) {
+            if (lookup == FlexiEnumLookup.EXACT && aliases.length == 0) {
+                return index;
+            }
+            FlexiEnumNameTable<T> table = (FlexiEnumNameTable<T>) lookupTables[lookup.ordinal()];
+            if (null == table) {
+                table = new FlexiEnumNameTable<>(values, count, aliases, aliasTargets, lookup);
+                lookupTables[lookup.ordinal()] = table;
+            }
+            return table;
+        }
+
+        /**
+         * Extends a lookup table of a previous snapshot by the values appended since, if it was built.
+         */
+        @SuppressWarnings("unchecked")
+        private FlexiEnumNameTable<?> extend(FlexiEnumNameTable<?> table, int from) {
+            return null == table ? null : ((FlexiEnumNameTable<T>) table).extend(values, from, count);
+        }
+
+        /**
+         * A read-only view of the values held as instances followed by the compact values, materialized on access.
+         */
+        private final class ValueList extends AbstractList<T> implements RandomAccess {
+            @Override
+            public T get(int position) {
+                if (position < 0 || position >= size()) {
+                    throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + size());
+                }
+                return Snapshot.this.get(position);
+            }
+
+            @Override
+            public int size() {
+                return Snapshot.this.size();
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.bhawesh_source;
+
+import com.bhawesh_source.configs.FlexiEnum;
+
+public class Comet extends FlexiEnum {
+    protected Comet(String name) {
+        super(name);
+    }
+
+    public static final Comet HALLEY = new Comet("HALLEY");
+}
@@ -0,0 +1,100 @@
+package com.bhawesh_source;
+
+import com.bhawesh_source.configs.FlexiEnumAttribute;
+import com.bhawesh_source.configs.FlexiEnumAttributes;
+import com.bhawesh_source.configs.FlexiEnumStorage;
+import com.bhawesh_source.configs.FlexiEnumStore;
+import com.bhawesh_source.exception.FlexiEnumException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlexiEnumAttributeTest {
+    private static final FlexiEnumAttribute<Integer> CODE = FlexiEnumAttribute.uniqueInt("code");
+    private static final FlexiEnumAttribute<Long> WEIGHT = FlexiEnumAttribute.ofLong("weight");
+    private static final FlexiEnumAttribute<String> LABEL = FlexiEnumAttribute.of("label", String.class);
+
+    private FlexiEnumStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = FlexiEnumStore.getInstance();
+        store.clearEnums(SessionTag.class);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.setStorage(SessionTag.class, FlexiEnumStorage.INSTANCES);
+        store.replaceEnums(SessionTag.class, Collections.emptyMap());
+    }
+
+    @Test
+    void testAttributesAreLoadedWithValues() throws Exception {
+        SessionTag guest = store.addEnum(SessionTag.class, "GUEST", FlexiEnumAttributes.of(CODE, 7).with(LABEL, "Guest").with(WEIGHT, 1L << 40));
+        store.setAttributes(SessionTag.class, "ANONYMOUS", FlexiEnumAttributes.of(CODE, 0));
+
+        assertEquals(7, CODE.getInt(guest), "Int attributes should be read back unboxed.");
+        assertEquals("Guest", LABEL.get(guest), "Object attributes should be read back.");
+        assertEquals(1L << 40, WEIGHT.getLong(guest), "Long attributes should be read back unboxed.");
+        assertSame(guest, CODE.find(SessionTag.class, 7), "Unique keys should resolve to their value.");
+        assertSame(SessionTag.ANONYMOUS, CODE.find(SessionTag.class, 0), "Defaults should accept attributes.");
+        assertNull(CODE.find(SessionTag.class, 8), "Unknown keys should not resolve.");
+        assertNull(LABEL.get(SessionTag.ANONYMOUS), "Unset attributes should read as null.");
+        assertFalse(WEIGHT.isSet(SessionTag.ANONYMOUS), "Unset attributes should not be reported as set.");
+        assertThrows(IllegalStateException.class, () -> WEIGHT.getInt(guest), "Reading a long attribute as int should fail.");
+
+        store.addEnum(SessionTag.class, "GUEST", FlexiEnumAttributes.of(CODE, 8).with(LABEL, null));
+        assertEquals(8, CODE.getInt(guest), "Adding a stored name should update its attributes.");
+        assertNull(CODE.find(SessionTag.class, 7), "A changed key should no longer resolve.");
+        assertFalse(LABEL.isSet(guest), "A null attribute should be unset.");
+        assertEquals(1L << 40, WEIGHT.getLong(guest), "Attributes not given should be kept.");
+    }
+
+    @Test
+    void testUniqueKeysAreEnforced() throws Exception {
+        store.addEnum(SessionTag.class, "GUEST", FlexiEnumAttributes.of(CODE, 7));
+
+        assertThrows(FlexiEnumException.class, () -> store.addEnum(SessionTag.class, "ADMIN", FlexiEnumAttributes.of(CODE, 7)),
+                "A key held by another value should be rejected.");
+        Map<String, FlexiEnumAttributes> table = new LinkedHashMap<>();
+        table.put("ADMIN", FlexiEnumAttributes.of(CODE, 1));
+        table.put("OWNER", FlexiEnumAttributes.of(CODE, 1));
+        assertThrows(FlexiEnumException.class, () -> store.replaceEnums(SessionTag.class, table), "Duplicate keys in a table should be rejected.");
+        assertNull(FlexiEnumStore.find("OWNER", SessionTag.class), "A rejected table should change nothing.");
+
+        store.syncEnums(SessionTag.class, Collections.singletonList("ADMIN"));
+        assertNull(CODE.find(SessionTag.class, 7), "Keys of removed values should not resolve.");
+        store.setAttributes(SessionTag.class, "ADMIN", FlexiEnumAttributes.of(CODE, 7));
+        assertSame(FlexiEnumStore.find("ADMIN", SessionTag.class), CODE.find(SessionTag.class, 7), "Keys of removed values should be free to take.");
+    }
+
+    @Test
+    void testReplaceLoadsTable() throws Exception {
+        store.setStorage(SessionTag.class, FlexiEnumStorage.COMPACT);
+        Map<String, FlexiEnumAttributes> table = new LinkedHashMap<>();
+        for (int i = 0; i < 1_000; i++) {
+            table.put("T-" + i, FlexiEnumAttributes.of(CODE, 10_000 + i).with(LABEL, "Tag " + i));
+        }
+        store.replaceEnums(SessionTag.class, table);
+        for (int i = 0; i < 1_000; i += 97) {
+            SessionTag tag = CODE.find(SessionTag.class, 10_000 + i);
+            assertNotNull(tag, "Every key of the table should resolve.");
+            assertEquals("T-" + i, tag.name(), "Keys should resolve to the value they were loaded with.");
+            assertEquals("Tag " + i, LABEL.get(tag), "Compact values should carry their attributes.");
+        }
+
+        Map<String, FlexiEnumAttributes> swapped = new LinkedHashMap<>();
+        swapped.put("T-0", FlexiEnumAttributes.of(CODE, 10_001));
+        swapped.put("T-1", FlexiEnumAttributes.of(CODE, 10_000));
+        store.replaceEnums(SessionTag.class, swapped);
+        assertEquals("T-1", CODE.find(SessionTag.class, 10_000).name(), "A replaced table should be able to swap keys.");
+        assertNull(CODE.find(SessionTag.class, 10_500), "Keys missing from the replaced table should be dropped.");
+        assertNull(LABEL.get(FlexiEnumStore.valueOf("T-0", SessionTag.class)), "Attributes missing from the replaced table should be dropped.");
+    }
+}
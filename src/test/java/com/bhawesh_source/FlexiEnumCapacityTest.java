@@ -0,0 +1,174 @@
+package com.bhawesh_source;
+
+import com.bhawesh_source.configs.FlexiEnumCapacity;
+import com.bhawesh_source.configs.FlexiEnumMap;
+import com.bhawesh_source.configs.FlexiEnumMetrics;
+import com.bhawesh_source.configs.FlexiEnumSet;
+import com.bhawesh_source.configs.FlexiEnumStorage;
+import com.bhawesh_source.configs.FlexiEnumStore;
+import com.bhawesh_source.exception.FlexiEnumException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlexiEnumCapacityTest {
+
+    private FlexiEnumStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = FlexiEnumStore.getInstance();
+        store.clearEnums(SessionTag.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.setCapacity(SessionTag.class, null);
+        store.setStorage(SessionTag.class, FlexiEnumStorage.INSTANCES);
+        store.clearEnums(SessionTag.class);
+    }
+
+    @Test
+    void testLeastRecentlyUsedValuesAreEvicted() throws Exception {
+        store.setCapacity(SessionTag.class, FlexiEnumCapacity.lru(100));
+        store.addEnums(SessionTag.class, names("T-", 0, 100));
+        for (int i = 0; i < 1_000; i++) {
+            FlexiEnumStore.valueOf("T-0", SessionTag.class);
+        }
+        store.addEnums(SessionTag.class, names("T-", 100, 150));
+
+        assertEquals(101, FlexiEnumStore.values(SessionTag.class).size(), "The type should be trimmed to its capacity plus defaults.");
+        assertNotNull(FlexiEnumStore.valueOf("T-0", SessionTag.class), "A recently used value should survive.");
+        assertNotNull(FlexiEnumStore.valueOf("T-149", SessionTag.class), "The values just added should survive.");
+        assertThrows(FlexiEnumException.class, () -> FlexiEnumStore.valueOf("T-1", SessionTag.class), "The least recently used values should be evicted.");
+    }
+
+    @Test
+    void testFloodDoesNotDisplaceFrequentValues() throws Exception {
+        store.setCapacity(SessionTag.class, FlexiEnumCapacity.lfu(100));
+        store.addEnums(SessionTag.class, names("T-", 0, 100));
+        for (int i = 0; i < 400; i++) {
+            for (int hot = 0; hot < 10; hot++) {
+                FlexiEnumStore.valueOf("T-" + hot, SessionTag.class);
+            }
+        }
+        for (String name : names("FLOOD-", 0, 500)) {
+            store.addEnum(SessionTag.class, name);
+        }
+
+        assertEquals(101, FlexiEnumStore.values(SessionTag.class).size());
+        for (int hot = 0; hot < 10; hot++) {
+            assertNotNull(FlexiEnumStore.valueOf("T-" + hot, SessionTag.class), "Frequently used values should survive a flood of new values.");
+        }
+    }
+
+    @Test
+    void testDefaultsAreNeverEvicted() throws Exception {
+        store.setCapacity(SessionTag.class, FlexiEnumCapacity.lru(0));
+        store.addEnums(SessionTag.class, Arrays.asList("A", "B", "C"));
+
+        assertEquals(Collections.singletonList(SessionTag.ANONYMOUS), FlexiEnumStore.values(SessionTag.class), "Only the defaults should be kept.");
+        assertSame(SessionTag.ANONYMOUS, FlexiEnumStore.valueOf("ANONYMOUS", SessionTag.class));
+    }
+
+    @Test
+    void testCapacityTrimsExistingValues() throws Exception {
+        store.addEnums(SessionTag.class, names("T-", 0, 50));
+        store.setCapacity(SessionTag.class, FlexiEnumCapacity.lru(10));
+
+        assertEquals(11, FlexiEnumStore.values(SessionTag.class).size(), "Setting a capacity should evict the values over it.");
+        store.setCapacity(SessionTag.class, null);
+        store.addEnums(SessionTag.class, names("T-", 50, 100));
+        assertEquals(61, FlexiEnumStore.values(SessionTag.class).size(), "Removing the capacity should stop evicting.");
+    }
+
+    @Test
+    void testIdleValuesExpire() throws Exception {
+        FlexiEnumMetrics.setEnabled(true);
+        try {
+            store.setCapacity(SessionTag.class, FlexiEnumCapacity.expireAfterAccess(50, TimeUnit.MILLISECONDS));
+            store.addEnums(SessionTag.class, Arrays.asList("A", "B"));
+            long evictions = store.getStatistics(SessionTag.class).getEvictions();
+            Thread.sleep(100);
+
+            assertEquals(2, store.cleanUp(SessionTag.class), "Idle values should expire.");
+            assertEquals(evictions + 2, store.getStatistics(SessionTag.class).getEvictions());
+            assertThrows(FlexiEnumException.class, () -> FlexiEnumStore.valueOf("A", SessionTag.class));
+            assertSame(SessionTag.ANONYMOUS, FlexiEnumStore.valueOf("ANONYMOUS", SessionTag.class), "Defaults should not expire.");
+        } finally {
+            FlexiEnumMetrics.setEnabled(false);
+        }
+    }
+
+    @Test
+    void testValuesInUseDoNotExpire() throws Exception {
+        store.setCapacity(SessionTag.class, FlexiEnumCapacity.expireAfterAccess(200, TimeUnit.MILLISECONDS));
+        store.addEnums(SessionTag.class, Arrays.asList("USED", "IDLE"));
+        for (int window = 0; window < 6; window++) {
+            for (int i = 0; i < 4; i++) {
+                FlexiEnumStore.valueOf("USED", SessionTag.class);
+                Thread.sleep(20);
+            }
+            Thread.sleep(60);
+        }
+
+        assertEquals(1, store.cleanUp(SessionTag.class), "Only the idle value should expire.");
+        assertNotNull(FlexiEnumStore.valueOf("USED", SessionTag.class), "A value used a few times per window should survive.");
+        assertThrows(FlexiEnumException.class, () -> FlexiEnumStore.valueOf("IDLE", SessionTag.class));
+    }
+
+    @Test
+    void testCompactValuesAreReleased() throws Exception {
+        store.setStorage(SessionTag.class, FlexiEnumStorage.COMPACT);
+        store.setCapacity(SessionTag.class, FlexiEnumCapacity.lru(100));
+        for (int round = 0; round < 10; round++) {
+            store.importEnums(SessionTag.class, names("R" + round + "-", 0, 1_000).stream());
+        }
+
+        List<SessionTag> values = FlexiEnumStore.values(SessionTag.class);
+        assertEquals(101, values.size());
+        assertEquals("R9-999", values.get(100).name(), "The latest values should be kept.");
+        assertThrows(FlexiEnumException.class, () -> FlexiEnumStore.valueOf("R0-0", SessionTag.class));
+
+        SessionTag revived = store.addEnum(SessionTag.class, "R0-0");
+        assertEquals("R0-0", revived.name(), "An evicted name should be registered again.");
+        assertSame(revived, FlexiEnumStore.valueOf("R0-0", SessionTag.class));
+    }
+
+    @Test
+    void testCollectionsDropEvictedValues() throws Exception {
+        for (FlexiEnumStorage storage : Arrays.asList(FlexiEnumStorage.INSTANCES, FlexiEnumStorage.COMPACT)) {
+            store.setCapacity(SessionTag.class, null);
+            store.setStorage(SessionTag.class, storage);
+            store.addEnums(SessionTag.class, Arrays.asList("A", "B"));
+            SessionTag a = FlexiEnumStore.valueOf("A", SessionTag.class);
+            FlexiEnumSet<SessionTag> set = FlexiEnumSet.of(SessionTag.ANONYMOUS, a, FlexiEnumStore.valueOf("B", SessionTag.class));
+            FlexiEnumMap<SessionTag, String> map = new FlexiEnumMap<>(SessionTag.class);
+            set.forEach(tag -> map.put(tag, tag.name()));
+
+            store.setCapacity(SessionTag.class, FlexiEnumCapacity.lru(0));
+            store.addEnum(SessionTag.class, "C");
+
+            assertEquals(Collections.singletonList(SessionTag.ANONYMOUS), new ArrayList<>(set), "Evicted values should be dropped from a set.");
+            assertEquals(1, set.size());
+            assertEquals(Collections.singletonMap(SessionTag.ANONYMOUS, "ANONYMOUS"), map, "Evicted keys should be dropped from a map.");
+            assertEquals(Collections.singletonMap(SessionTag.ANONYMOUS, "ANONYMOUS").hashCode(), map.hashCode());
+            assertThrows(IllegalArgumentException.class, () -> set.add(a), "An evicted value should not be added.");
+            assertThrows(IllegalArgumentException.class, () -> map.put(a, "A"));
+        }
+    }
+
+    private static List<String> names(String prefix, int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> prefix + i).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,151 @@
+package com.bhawesh_source;
+
+import com.bhawesh_source.configs.FlexiEnumCodec;
+import com.bhawesh_source.configs.FlexiEnumStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlexiEnumCodecTest {
+
+    private FlexiEnumStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = FlexiEnumStore.getInstance();
+        store.clearEnums(EntityName.class);
+        store.addEnums(EntityName.class, Arrays.asList("INDIA", "EUROPE"));
+    }
+
+    @Test
+    void testStreamRoundTripSendsNamesOnce() throws Exception {
+        EntityName india = FlexiEnumStore.valueOf("INDIA", EntityName.class);
+        FlexiEnumCodec.Encoder<EntityName> encoder = FlexiEnumCodec.encoder(EntityName.class);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        encoder.write(out, india);
+        int first = bytes.size();
+        encoder.write(out, india);
+        assertTrue(bytes.size() - first < first - "INDIA".length(), "A repeated value should only cost its ordinal.");
+        encoder.write(out, null);
+        encoder.write(out, EntityName.GLOBAL);
+        encoder.write(out, new EntityName("INDIA"));
+
+        FlexiEnumCodec.Decoder<EntityName> decoder = FlexiEnumCodec.decoder(EntityName.class);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertSame(india, decoder.read(in), "Decoding should return the canonical instance.");
+        assertSame(india, decoder.read(in), "Dictionary references should resolve.");
+        assertNull(decoder.read(in), "Null should round trip.");
+        assertSame(EntityName.GLOBAL, decoder.read(in), "Defaults should round trip.");
+        assertSame(india, decoder.read(in), "Unregistered equal instances should resolve to the canonical instance.");
+    }
+
+    @Test
+    void testBufferRoundTrip() throws Exception {
+        EntityName europe = FlexiEnumStore.valueOf("EUROPE", EntityName.class);
+        EntityName unregistered = new EntityName("ASIA");
+        FlexiEnumCodec.Encoder<EntityName> encoder = FlexiEnumCodec.encoder(EntityName.class);
+        ByteBuffer small = ByteBuffer.allocate(3);
+        assertThrows(BufferOverflowException.class, () -> encoder.write(small, europe));
+        assertEquals(0, small.position(), "A value which does not fit should not be written.");
+
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        encoder.write(buffer, europe);
+        encoder.write(buffer, europe);
+        encoder.write(buffer, unregistered);
+        buffer.flip();
+
+        FlexiEnumCodec.Decoder<EntityName> decoder = FlexiEnumCodec.decoder(EntityName.class);
+        assertSame(europe, decoder.read(buffer), "A value which did not fit before should be sent with its name.");
+        assertSame(europe, decoder.read(buffer), "Dictionary references should resolve.");
+        IOException missing = assertThrows(IOException.class, () -> decoder.read(buffer));
+        assertTrue(missing.getMessage().contains("ASIA"), "A name which is not stored should be reported.");
+    }
+
+    @Test
+    void testMalformedInput() {
+        FlexiEnumCodec.Decoder<EntityName> decoder = FlexiEnumCodec.decoder(EntityName.class);
+        assertThrows(IOException.class, () -> decoder.read(ByteBuffer.wrap(new byte[]{8})), "Unknown ordinals should be rejected.");
+        assertThrows(IOException.class, () -> decoder.read(ByteBuffer.wrap(new byte[]{3, 5, 'I'})), "Truncated names should be rejected.");
+        //id 2^29 with the name INDIA, which a decoder indexing by id would have to allocate for
+        byte[] hostile = {(byte) 0x83, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x04, 5, 'I', 'N', 'D', 'I', 'A'};
+        IOException skipped = assertThrows(IOException.class, () -> decoder.read(ByteBuffer.wrap(hostile)));
+        assertTrue(skipped.getMessage().contains("expected 0"), "New ids should only be accepted in order.");
+    }
+
+    @Test
+    void testIdsFollowFirstAppearance() throws Exception {
+        EntityName europe = FlexiEnumStore.valueOf("EUROPE", EntityName.class);
+        EntityName india = FlexiEnumStore.valueOf("INDIA", EntityName.class);
+        FlexiEnumCodec.Encoder<EntityName> encoder = FlexiEnumCodec.encoder(EntityName.class);
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        encoder.write(buffer, europe);
+        assertEquals(3, buffer.get(0), "The first value of a stream should get id 0 whatever its ordinal.");
+        encoder.write(buffer, india);
+        int position = buffer.position();
+        encoder.write(buffer, europe);
+        assertEquals(2, buffer.get(position), "A repeated value should be sent as its id.");
+        buffer.flip();
+
+        FlexiEnumCodec.Decoder<EntityName> decoder = FlexiEnumCodec.decoder(EntityName.class);
+        assertSame(europe, decoder.read(buffer));
+        assertSame(india, decoder.read(buffer));
+        assertSame(europe, decoder.read(buffer));
+    }
+
+    @Test
+    void testJavaSerializationResolvesCanonicalInstance() throws Exception {
+        EntityName india = FlexiEnumStore.valueOf("INDIA", EntityName.class);
+        EntityName[] copies = (EntityName[]) roundTrip(new EntityName[]{india, EntityName.GLOBAL, new EntityName("ASIA")});
+
+        assertSame(india, copies[0], "Deserialized enums should resolve to the stored instance.");
+        assertSame(EntityName.GLOBAL, copies[1], "Deserialized defaults should resolve to the default instance.");
+        assertEquals(new EntityName("ASIA"), copies[2], "Names which are not stored should stay equal by name.");
+        assertEquals(-1, copies[2].ordinal(), "Names which are not stored should carry no ordinal.");
+    }
+
+    @Test
+    void testJacksonBinaryBackends() throws Exception {
+        EntityName[] values = new EntityName[64];
+        Arrays.fill(values, FlexiEnumStore.valueOf("EUROPE", EntityName.class));
+        values[1] = FlexiEnumStore.valueOf("INDIA", EntityName.class);
+
+        ObjectMapper smile = new ObjectMapper(new SmileFactory().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES));
+        byte[] smileBytes = smile.writeValueAsBytes(values);
+        assertArrayEquals(values, smile.readValue(smileBytes, EntityName[].class), "Smile should round trip.");
+        assertTrue(smileBytes.length < 64 * 2, "Smile should back-reference repeated names.");
+
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory().enable(CBORGenerator.Feature.STRINGREF));
+        byte[] cborBytes = cbor.writeValueAsBytes(values);
+        assertArrayEquals(values, cbor.readValue(cborBytes, EntityName[].class), "CBOR should round trip.");
+        byte[] plainCborBytes = new ObjectMapper(new CBORFactory()).writeValueAsBytes(values);
+        assertTrue(cborBytes.length < plainCborBytes.length / 2, "CBOR string references should replace repeated names.");
+    }
+
+    private static Object roundTrip(Object value) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.bhawesh_source;
+
+import com.bhawesh_source.configs.FlexiEnumStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlexiEnumDefaultsTest {
+
+    @Test
+    void testGeneratedRegistryReplacesReflection() throws Exception {
+        FlexiEnumStore store = FlexiEnumStore.getInstance();
+        int defaultsCalls = Planet_FlexiEnumDefaults.DEFAULTS_CALLS.get();
+        int instancesCreated = Planet_FlexiEnumDefaults.INSTANCES_CREATED.get();
+
+        Planet venus = store.addEnum(Planet.class, "VENUS");
+        assertTrue(Planet_FlexiEnumDefaults.DEFAULTS_CALLS.get() > defaultsCalls, "Defaults should be read from the generated registry.");
+        assertEquals(instancesCreated + 1, Planet_FlexiEnumDefaults.INSTANCES_CREATED.get(), "Instances should be created by the generated registry.");
+        assertEquals(Arrays.asList("EARTH", "MARS", "VENUS"), FlexiEnumStore.values(Planet.class).stream().map(Planet::name).collect(Collectors.toList()), "Defaults should come first.");
+        assertSame(Planet.MARS, FlexiEnumStore.valueOf("MARS", Planet.class), "Defaults should be the declared instances.");
+        assertSame(venus, FlexiEnumStore.valueOf("VENUS", Planet.class), "Created enums should be stored.");
+    }
+
+    @Test
+    void testRegistriesAreScannedOncePerLoader() throws Exception {
+        FlexiEnumStore store = FlexiEnumStore.getInstance();
+        store.loadDefaultEnums(Moon.class);
+        assertEquals(Collections.singletonList(Moon.LUNA), FlexiEnumStore.values(Moon.class), "Defaults should be read from the generated registry.");
+        int loads = Planet_FlexiEnumDefaults.LOADS.get();
+        assertTrue(loads > 0, "Looking up a first type should scan the registries.");
+        System.gc();
+
+        store.loadDefaultEnums(Comet.class);
+        assertEquals(Collections.singletonList(Comet.HALLEY), FlexiEnumStore.values(Comet.class), "Types without a registry should use reflection.");
+        assertEquals(loads, Planet_FlexiEnumDefaults.LOADS.get(), "A collection between the lookups of two types should not cause another scan.");
+    }
+
+    @Test
+    void testTypesWithoutRegistryUseReflection() throws Exception {
+        FlexiEnumStore store = FlexiEnumStore.getInstance();
+        store.clearEnums(EntityName.class);
+        assertSame(EntityName.GLOBAL, FlexiEnumStore.valueOf("GLOBAL", EntityName.class), "Defaults should still be found reflectively.");
+        assertEquals("INDIA", store.addEnum(EntityName.class, "INDIA").name(), "Instances should still be created reflectively.");
+    }
+}
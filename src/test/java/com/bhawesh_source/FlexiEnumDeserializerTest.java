@@ -1,14 +1,26 @@
 package com.bhawesh_source;
 
+import com.bhawesh_source.configs.FlexiEnumMap;
+import com.bhawesh_source.configs.FlexiEnumMissPolicy;
+import com.bhawesh_source.configs.FlexiEnumSet;
 import com.bhawesh_source.configs.FlexiEnumStore;
 import com.bhawesh_source.exception.FlexiEnumException;
+import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -30,6 +42,7 @@ class FlexiEnumDeserializerTest {
 
         assertNotNull(entityName, "Deserialized enum should not be null.");
         assertEquals(EntityName.GLOBAL, entityName, "Deserialized enum should match the existing enum.");
+        assertSame(EntityName.GLOBAL, entityName, "Deserialized enum should be the canonical instance.");
     }
 
     @Test
@@ -48,6 +61,24 @@ class FlexiEnumDeserializerTest {
         assertTrue(entityNames.contains(new EntityName("LOCAL")), "Deserialized list should contain LOCAL enum.");
     }
 
+    @Test
+    void testDeserializeEscapedName() throws Exception {
+        EntityName quoted = FlexiEnumStore.getInstance().addEnum(EntityName.class, "SAY \"HI\"");
+        assertSame(quoted, mapper.readValue("\"SAY \\\"HI\\\"\"", EntityName.class), "Escaped names should resolve to the stored enum.");
+        assertSame(quoted, mapper.readValue("\"SAY \\u0022HI\\u0022\"".getBytes(StandardCharsets.UTF_8), EntityName.class), "Unicode escaped names should resolve to the stored enum.");
+    }
+
+    @Test
+    void testDeserializeCaseInsensitiveProperty() throws JsonProcessingException {
+        Location location = mapper.readValue("{\"strict\":\"GLOBAL\",\"lenient\":\"global\"}", Location.class);
+        assertSame(EntityName.GLOBAL, location.strict, "Exact names should resolve.");
+        assertSame(EntityName.GLOBAL, location.lenient, "Annotated properties should ignore case.");
+        assertNull(mapper.readValue("{\"strict\":\"global\"}", Location.class).strict, "Other properties should match exactly.");
+
+        ObjectMapper caseInsensitive = JsonMapper.builder().enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS).build();
+        assertSame(EntityName.GLOBAL, caseInsensitive.readValue("\"Global\"", EntityName.class), "Mapper feature should ignore case.");
+    }
+
     @Test
     void testDeserializeWithContextualDeserializer() throws JsonProcessingException {
         String json = "\"all\"";
@@ -56,5 +87,115 @@ class FlexiEnumDeserializerTest {
         assertNotNull(region, "Deserialized enum should not be null.");
         assertEquals(Region.all, region, "Deserialized enum should match the existing default enum.");
     }
-}
 
+    @Test
+    void testMissPolicies() throws Exception {
+        FlexiEnumStore store = FlexiEnumStore.getInstance();
+        store.clearEnums(SessionTag.class);
+        try {
+            assertNull(mapper.readValue("\"UNKNOWN\"", SessionTag.class), "Unknown names should be null by default.");
+
+            store.setMissPolicy(SessionTag.class, FlexiEnumMissPolicy.DEFAULT, SessionTag.ANONYMOUS);
+            assertSame(SessionTag.ANONYMOUS, mapper.readValue("\"UNKNOWN\"", SessionTag.class), "Unknown names should map to the fallback value.");
+
+            store.setMissPolicy(SessionTag.class, FlexiEnumMissPolicy.FAIL);
+            assertThrows(InvalidFormatException.class, () -> mapper.readValue("\"UNKNOWN\"", SessionTag.class), "Unknown names should fail.");
+            assertSame(SessionTag.ANONYMOUS, mapper.readValue("\"ANONYMOUS\"", SessionTag.class), "Known names should still resolve.");
+
+            store.setMissPolicy(SessionTag.class, FlexiEnumMissPolicy.REGISTER);
+            SessionTag registered = mapper.readValue("\"NEW_TAG\"", SessionTag.class);
+            assertEquals("NEW_TAG", registered.name(), "Unknown names should be registered.");
+            assertSame(registered, FlexiEnumStore.find("NEW_TAG", SessionTag.class));
+            assertSame(registered, mapper.readValue("\"NEW_TAG\"", SessionTag.class));
+
+            assertThrows(IllegalArgumentException.class, () -> store.setMissPolicy(SessionTag.class, FlexiEnumMissPolicy.DEFAULT), "DEFAULT should need a value.");
+        } finally {
+            store.setMissPolicy(SessionTag.class, FlexiEnumMissPolicy.NULL);
+            store.clearEnums(SessionTag.class);
+        }
+    }
+
+    @Test
+    void testStructuredTokensAreRejected() throws Exception {
+        FlexiEnumStore store = FlexiEnumStore.getInstance();
+        store.clearEnums(SessionTag.class);
+        try {
+            store.setMissPolicy(SessionTag.class, FlexiEnumMissPolicy.REGISTER);
+            assertThrows(MismatchedInputException.class, () -> mapper.readValue("{\"a\":1}", SessionTag.class), "Objects should not be read as names.");
+            assertThrows(MismatchedInputException.class, () -> mapper.readValue("[[\"x\"]]", new TypeReference<FlexiEnumSet<SessionTag>>() {
+            }), "Nested arrays should not be read as set elements.");
+            assertThrows(MismatchedInputException.class, () -> mapper.readValue("{\"GLOBAL\":{}}", new TypeReference<FlexiEnumMap<EntityName, SessionTag>>() {
+            }), "Objects should not be read as map values.");
+            assertEquals(0, FlexiEnumStore.values(SessionTag.class).stream().filter(tag -> tag.name().startsWith("{") || tag.name().startsWith("[")).count(),
+                    "Structural tokens should not be registered.");
+            assertEquals("42", mapper.readValue("42", SessionTag.class).name(), "Numbers should be read as names.");
+
+            store.setMissPolicy(SessionTag.class, FlexiEnumMissPolicy.DEFAULT, SessionTag.ANONYMOUS);
+            assertThrows(MismatchedInputException.class, () -> mapper.readValue("[\"x\"]", SessionTag.class), "Arrays should not map to the fallback value.");
+        } finally {
+            store.setMissPolicy(SessionTag.class, FlexiEnumMissPolicy.NULL);
+            store.clearEnums(SessionTag.class);
+        }
+    }
+
+    @Test
+    void testDeserializeMapKeys() throws Exception {
+        Map<EntityName, Integer> map = mapper.readValue("{\"GLOBAL\":1,\"LOCAL\":2}", new TypeReference<Map<EntityName, Integer>>() {
+        });
+        assertEquals(2, map.size());
+        assertSame(EntityName.GLOBAL, map.keySet().iterator().next(), "Keys should be the canonical instances.");
+        assertEquals(Integer.valueOf(2), map.get(FlexiEnumStore.valueOf("LOCAL", EntityName.class)));
+
+        Weights weights = mapper.readValue("{\"byName\":{\"global\":3}}", Weights.class);
+        assertEquals(Integer.valueOf(3), weights.byName.get(EntityName.GLOBAL), "Annotated map properties should ignore case in keys.");
+    }
+
+    @Test
+    void testDeserializeFlexiEnumCollections() throws Exception {
+        FlexiEnumSet<EntityName> set = mapper.readValue("[\"GLOBAL\",null,\"INVALID\",\"LOCAL\"]", new TypeReference<FlexiEnumSet<EntityName>>() {
+        });
+        assertEquals(FlexiEnumSet.of(EntityName.GLOBAL, FlexiEnumStore.valueOf("LOCAL", EntityName.class)), set, "Nulls and unknown names should be skipped.");
+
+        FlexiEnumMap<EntityName, List<Integer>> map = mapper.readValue("{\"LOCAL\":[1,2],\"INVALID\":[3],\"GLOBAL\":null}", new TypeReference<FlexiEnumMap<EntityName, List<Integer>>>() {
+        });
+        assertEquals(2, map.size(), "Unknown keys should be skipped.");
+        assertEquals(Arrays.asList(1, 2), map.get(FlexiEnumStore.valueOf("LOCAL", EntityName.class)));
+        assertTrue(map.containsKey(EntityName.GLOBAL) && null == map.get(EntityName.GLOBAL), "Null values should be kept.");
+
+        Weights weights = mapper.readValue("{\"regions\":[\"all\"],\"byRegion\":{\"all\":5}}", Weights.class);
+        assertEquals(FlexiEnumSet.of(Region.all), weights.regions);
+        assertEquals(Integer.valueOf(5), weights.byRegion.get(Region.all));
+    }
+
+    @Test
+    void testDeserializeLargeFlexiEnumMap() throws Exception {
+        FlexiEnumStore store = FlexiEnumStore.getInstance();
+        store.clearEnums(SessionTag.class);
+        try {
+            Map<SessionTag, Integer> expected = new LinkedHashMap<>();
+            for (int i = 0; i < 5_000; i++) {
+                expected.put(store.addEnum(SessionTag.class, "TAG-" + i), i);
+            }
+            String json = mapper.writeValueAsString(expected);
+            FlexiEnumMap<SessionTag, Integer> map = mapper.readValue(json, new TypeReference<FlexiEnumMap<SessionTag, Integer>>() {
+            });
+            assertEquals(expected, map, "Thousands of entries should round trip.");
+            assertEquals(json, mapper.writeValueAsString(map), "Map should serialize in ordinal order.");
+        } finally {
+            store.clearEnums(SessionTag.class);
+        }
+    }
+
+    static class Location {
+        public EntityName strict;
+        @JsonFormat(with = JsonFormat.Feature.ACCEPT_CASE_INSENSITIVE_VALUES)
+        public EntityName lenient;
+    }
+
+    static class Weights {
+        @JsonFormat(with = JsonFormat.Feature.ACCEPT_CASE_INSENSITIVE_VALUES)
+        public Map<EntityName, Integer> byName;
+        public FlexiEnumSet<Region> regions;
+        public FlexiEnumMap<Region, Integer> byRegion;
+    }
+}
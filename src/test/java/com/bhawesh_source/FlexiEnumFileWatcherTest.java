@@ -0,0 +1,114 @@
+package com.bhawesh_source;
+
+import com.bhawesh_source.configs.FlexiEnum;
+import com.bhawesh_source.configs.FlexiEnumFileWatcher;
+import com.bhawesh_source.configs.FlexiEnumFormat;
+import com.bhawesh_source.configs.FlexiEnumListener;
+import com.bhawesh_source.configs.FlexiEnumStore;
+import com.bhawesh_source.exception.FlexiEnumException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlexiEnumFileWatcherTest {
+
+    @TempDir
+    Path directory;
+
+    private FlexiEnumStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = FlexiEnumStore.getInstance();
+        store.clearEnums(EntityName.class);
+    }
+
+    @Test
+    void testRegisterLoadsExistingFile() throws Exception {
+        write("entity-names.csv", "INDIA,EUROPE");
+        try (FlexiEnumFileWatcher watcher = new FlexiEnumFileWatcher(store, directory)) {
+            watcher.register("entity-names.csv", EntityName.class, FlexiEnumFormat.CSV);
+            assertEquals(Arrays.asList("GLOBAL", "INDIA", "EUROPE"), names(), "Registering should load the existing file.");
+            assertEquals(0, watcher.reload(), "Reloading an unchanged file should change nothing.");
+        }
+    }
+
+    @Test
+    void testWatcherAppliesChangedFile() throws Exception {
+        write("entity-names.csv", "INDIA,EUROPE");
+        try (FlexiEnumFileWatcher watcher = new FlexiEnumFileWatcher(store, directory)) {
+            watcher.register("entity-names.csv", EntityName.class, FlexiEnumFormat.CSV);
+            EntityName india = FlexiEnumStore.valueOf("INDIA", EntityName.class);
+            watcher.start();
+
+            write("entity-names.csv", "INDIA\nASIA");
+            long deadline = System.currentTimeMillis() + 10_000L;
+            while (!names().contains("ASIA") && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20L);
+            }
+            assertEquals(Arrays.asList("GLOBAL", "INDIA", "ASIA"), names(), "The changed file should be applied as a difference.");
+            assertSame(india, FlexiEnumStore.valueOf("INDIA", EntityName.class), "Unchanged enums should keep their instance.");
+        }
+    }
+
+    @Test
+    void testWatcherSurvivesFailedReload() throws Exception {
+        FlexiEnumListener failing = new FlexiEnumListener() {
+            @Override
+            public <T extends FlexiEnum> void onAdded(Class<T> clazz, List<T> added) {
+                if (added.stream().anyMatch(e -> e.name().equals("ASIA"))) {
+                    throw new IllegalStateException("Listener failure");
+                }
+            }
+        };
+        write("entity-names.csv", "INDIA");
+        store.addListener(failing);
+        try (FlexiEnumFileWatcher watcher = new FlexiEnumFileWatcher(store, directory)) {
+            watcher.register("entity-names.csv", EntityName.class, FlexiEnumFormat.CSV);
+            watcher.start();
+
+            write("entity-names.csv", "INDIA,ASIA");
+            awaitName("ASIA");
+            write("entity-names.csv", "INDIA,ASIA,AFRICA");
+            awaitName("AFRICA");
+            assertEquals(Arrays.asList("GLOBAL", "INDIA", "ASIA", "AFRICA"), names(), "The watcher should keep reloading after a failed reload.");
+        } finally {
+            store.removeListener(failing);
+        }
+    }
+
+    @Test
+    void testInvalidFileKeepsEnums() throws Exception {
+        write("entity-names.jsonl", "\"INDIA\"");
+        try (FlexiEnumFileWatcher watcher = new FlexiEnumFileWatcher(store, directory)) {
+            watcher.register("entity-names.jsonl", EntityName.class, FlexiEnumFormat.JSON_LINES);
+            write("entity-names.jsonl", "\"ASIA\"\n42");
+            assertThrows(FlexiEnumException.class, watcher::reload, "An invalid file should be reported.");
+            assertEquals(Arrays.asList("GLOBAL", "INDIA"), names(), "An invalid file should leave the enums unchanged.");
+        }
+    }
+
+    private static void awaitName(String name) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (!names().contains(name) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20L);
+        }
+    }
+
+    private void write(String fileName, String content) throws Exception {
+        Files.write(directory.resolve(fileName), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> names() {
+        return FlexiEnumStore.values(EntityName.class).stream().map(EntityName::name).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,147 @@
+package com.bhawesh_source;
+
+import com.bhawesh_source.configs.FlexiEnumJournal;
+import com.bhawesh_source.configs.FlexiEnumStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlexiEnumJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private FlexiEnumStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = FlexiEnumStore.getInstance();
+        store.clearEnums(EntityName.class);
+    }
+
+    @Test
+    void testJournalRestoresEnumsAndAliases() throws Exception {
+        try (FlexiEnumJournal journal = FlexiEnumJournal.open(store, directory)) {
+            store.addEnums(EntityName.class, Arrays.asList("INDIA", "EUROPE"));
+            store.addAlias(EntityName.class, "IN", "INDIA");
+            assertEquals(2, journal.getSequence(), "Every change should be journaled.");
+        }
+        store.clearEnums(EntityName.class);
+        assertFalse(names().contains("INDIA"), "Clearing without a journal should drop the runtime enums.");
+
+        try (FlexiEnumJournal journal = FlexiEnumJournal.open(store, directory)) {
+            assertEquals(Arrays.asList("GLOBAL", "INDIA", "EUROPE"), names(), "Replaying the journal should restore the enums in order.");
+            assertEquals("INDIA", FlexiEnumStore.valueOf("IN", EntityName.class).name(), "Replaying the journal should restore aliases.");
+            assertEquals(2, journal.getSequence(), "Replaying should resume the sequence.");
+        }
+    }
+
+    @Test
+    void testJournalRecordsRemovedNames() throws Exception {
+        Path journalFile = directory.resolve("flexienum.journal");
+        try (FlexiEnumJournal journal = FlexiEnumJournal.open(store, directory)) {
+            store.addEnums(EntityName.class, Arrays.asList("INDIA", "EUROPE", "ASIA", "AFRICA"));
+            long added = Files.size(journalFile);
+            store.syncEnums(EntityName.class, Arrays.asList("INDIA", "ASIA", "AFRICA"));
+            assertEquals(2, journal.getSequence(), "A removal should be journaled as one record.");
+            assertTrue(Files.size(journalFile) - added < added - 8, "A removal should only journal the removed names.");
+        }
+        store.clearEnums(EntityName.class);
+
+        try (FlexiEnumJournal ignored = FlexiEnumJournal.open(store, directory)) {
+            assertEquals(Arrays.asList("GLOBAL", "INDIA", "ASIA", "AFRICA"), names(), "Replaying should apply the removal.");
+        }
+    }
+
+    @Test
+    void testCheckpointWritesSnapshotAndEmptiesJournal() throws Exception {
+        Path journalFile = directory.resolve("flexienum.journal");
+        try (FlexiEnumJournal journal = FlexiEnumJournal.open(store, directory)) {
+            store.addEnums(EntityName.class, Arrays.asList("INDIA", "EUROPE"));
+            long journaled = Files.size(journalFile);
+            journal.checkpoint();
+            assertTrue(Files.exists(directory.resolve("flexienum.snapshot")), "Checkpoint should write a snapshot.");
+            assertTrue(Files.size(journalFile) < journaled, "Checkpoint should empty the journal.");
+            store.addEnums(EntityName.class, Collections.singletonList("ASIA"));
+        }
+        List<Integer> ordinals = Arrays.asList(
+                FlexiEnumStore.valueOf("INDIA", EntityName.class).ordinal(),
+                FlexiEnumStore.valueOf("ASIA", EntityName.class).ordinal());
+        store.clearEnums(EntityName.class);
+
+        try (FlexiEnumJournal ignored = FlexiEnumJournal.open(store, directory)) {
+            assertEquals(Arrays.asList("GLOBAL", "INDIA", "EUROPE", "ASIA"), names(), "Snapshot and journal should restore all enums.");
+            int india = FlexiEnumStore.valueOf("INDIA", EntityName.class).ordinal();
+            int asia = FlexiEnumStore.valueOf("ASIA", EntityName.class).ordinal();
+            assertTrue(india < asia, "Restored enums should keep their relative ordinal order.");
+            assertFalse(ordinals.contains(india) || ordinals.contains(asia), "Ordinals of cleared enums should not be reused.");
+        }
+    }
+
+    @Test
+    void testTornRecordIsTruncated() throws Exception {
+        Path journalFile = directory.resolve("flexienum.journal");
+        try (FlexiEnumJournal ignored = FlexiEnumJournal.open(store, directory)) {
+            store.addEnums(EntityName.class, Collections.singletonList("INDIA"));
+        }
+        long validLength = Files.size(journalFile);
+        Files.write(journalFile, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+        store.clearEnums(EntityName.class);
+
+        try (FlexiEnumJournal journal = FlexiEnumJournal.open(store, directory)) {
+            assertTrue(names().contains("INDIA"), "Records before the torn record should be replayed.");
+            assertEquals(validLength, Files.size(journalFile), "The torn record should be truncated.");
+            store.addEnums(EntityName.class, Collections.singletonList("EUROPE"));
+            assertEquals(2, journal.getSequence(), "Appending should continue after the last valid record.");
+        }
+        store.clearEnums(EntityName.class);
+        try (FlexiEnumJournal ignored = FlexiEnumJournal.open(store, directory)) {
+            assertEquals(Arrays.asList("GLOBAL", "INDIA", "EUROPE"), names(), "Records appended after truncation should be replayed.");
+        }
+    }
+
+    @Test
+    void testCorruptSnapshotIsIgnored() throws Exception {
+        Path snapshotFile = directory.resolve("flexienum.snapshot");
+        try (FlexiEnumJournal journal = FlexiEnumJournal.open(store, directory)) {
+            store.addEnums(EntityName.class, Collections.singletonList("INDIA"));
+            journal.checkpoint();
+        }
+        byte[] bytes = Files.readAllBytes(snapshotFile);
+        bytes[bytes.length / 2] ^= 0x55;
+        Files.write(snapshotFile, bytes);
+        store.clearEnums(EntityName.class);
+
+        try (FlexiEnumJournal ignored = FlexiEnumJournal.open(store, directory)) {
+            assertFalse(names().contains("INDIA"), "A snapshot failing its checksum should not be restored.");
+        }
+    }
+
+    @Test
+    void testReplacementIsJournaled() throws Exception {
+        store.addEnums(EntityName.class, Arrays.asList("INDIA", "EUROPE"));
+        try (FlexiEnumJournal journal = FlexiEnumJournal.open(store, directory)) {
+            store.replaceEnums(EntityName.class, Collections.singleton("ASIA"));
+            assertEquals(1, journal.getSequence(), "A replacement should be a single record.");
+        }
+        store.addEnums(EntityName.class, Collections.singletonList("INDIA"));
+
+        try (FlexiEnumJournal ignored = FlexiEnumJournal.open(store, directory)) {
+            assertEquals(Arrays.asList("GLOBAL", "ASIA"), names(), "Replaying a replacement should restore exactly the replaced enums.");
+        }
+    }
+
+    private static List<String> names() {
+        return FlexiEnumStore.values(EntityName.class).stream().map(EntityName::name).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,68 @@
+package com.bhawesh_source;
+
+import com.bhawesh_source.configs.FlexiEnumMap;
+import com.bhawesh_source.configs.FlexiEnumStore;
+import com.bhawesh_source.exception.FlexiEnumException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlexiEnumMapTest {
+
+    private FlexiEnumStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = FlexiEnumStore.getInstance();
+        store.clearEnums(EntityName.class);
+    }
+
+    @Test
+    void testPutAndGet() throws FlexiEnumException {
+        EntityName india = store.addEnum(EntityName.class, "INDIA");
+        FlexiEnumMap<EntityName, String> map = new FlexiEnumMap<>(EntityName.class);
+        assertNull(map.put(india, "in"), "First put should not return a previous value.");
+        assertEquals("in", map.put(india, "IN"), "Second put should return the previous value.");
+        assertEquals("IN", map.get(india), "Get should return the mapped value.");
+        assertEquals("IN", map.get(new EntityName("INDIA")), "Get should match equal instances by name.");
+        assertNull(map.get(EntityName.GLOBAL), "Get should return null for unmapped keys.");
+        assertEquals(1, map.size(), "Map should contain a single mapping.");
+    }
+
+    @Test
+    void testNullValues() {
+        FlexiEnumMap<EntityName, String> map = new FlexiEnumMap<>(EntityName.class);
+        map.put(EntityName.GLOBAL, null);
+        assertTrue(map.containsKey(EntityName.GLOBAL), "Map should contain keys mapped to null.");
+        assertTrue(map.containsValue(null), "Map should contain the null value.");
+        assertNull(map.remove(EntityName.GLOBAL), "Remove should return the null value.");
+        assertTrue(map.isEmpty(), "Map should be empty after removal.");
+    }
+
+    @Test
+    void testIterationAndEquality() throws FlexiEnumException {
+        EntityName first = store.addEnum(EntityName.class, "FIRST");
+        EntityName second = store.addEnum(EntityName.class, "SECOND");
+        FlexiEnumMap<EntityName, Integer> map = new FlexiEnumMap<>(EntityName.class);
+        map.put(second, 2);
+        map.put(first, 1);
+        map.put(EntityName.GLOBAL, 0);
+        assertEquals(Arrays.asList(EntityName.GLOBAL, first, second), new ArrayList<>(map.keySet()), "Iteration should follow ordinal order.");
+
+        Map<EntityName, Integer> hashMap = new HashMap<>(map);
+        assertEquals(hashMap, map, "Map should be equal to a HashMap with the same mappings.");
+        assertEquals(hashMap.hashCode(), map.hashCode(), "Hash code should match a HashMap with the same mappings.");
+    }
+
+    @Test
+    void testPutUnregisteredKey() {
+        FlexiEnumMap<EntityName, String> map = new FlexiEnumMap<>(EntityName.class);
+        assertThrows(IllegalArgumentException.class, () -> map.put(new EntityName("UNKNOWN"), "value"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.bhawesh_source;
+
+import com.bhawesh_source.configs.FlexiEnumJmxSink;
+import com.bhawesh_source.configs.FlexiEnumMetrics;
+import com.bhawesh_source.configs.FlexiEnumStatistics;
+import com.bhawesh_source.configs.FlexiEnumStore;
+import com.bhawesh_source.exception.FlexiEnumException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlexiEnumMetricsTest {
+
+    private FlexiEnumStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = FlexiEnumStore.getInstance();
+        store.clearEnums(EntityName.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        FlexiEnumMetrics.setEnabled(false);
+        FlexiEnumMetrics.setLatencySampling(0);
+    }
+
+    @Test
+    void testCountersOnlyMoveWhileEnabled() throws Exception {
+        FlexiEnumStatistics statistics = store.getStatistics(EntityName.class);
+        long hits = statistics.getLookupHits();
+        FlexiEnumStore.valueOf("GLOBAL", EntityName.class);
+        assertEquals(hits, statistics.getLookupHits(), "Disabled metrics should not count.");
+
+        FlexiEnumMetrics.setEnabled(true);
+        FlexiEnumMetrics.setLatencySampling(1);
+        long misses = statistics.getLookupMisses();
+        long deserializationMisses = statistics.getDeserializationMisses();
+        long added = statistics.getAdded();
+        long samples = statistics.getLatencySamples();
+        FlexiEnumStore.valueOf("GLOBAL", EntityName.class);
+        assertThrows(FlexiEnumException.class, () -> FlexiEnumStore.valueOf("INVALID", EntityName.class));
+        new ObjectMapper().readValue("[\"GLOBAL\",\"INVALID\"]", EntityName[].class);
+        store.addEnums(EntityName.class, Arrays.asList("INDIA", "EUROPE"));
+
+        assertEquals(hits + 2, statistics.getLookupHits(), "Lookups and deserialized values should count as hits.");
+        assertEquals(misses + 2, statistics.getLookupMisses(), "Unknown names should count as misses.");
+        assertEquals(deserializationMisses + 1, statistics.getDeserializationMisses(), "Rejected values should be counted.");
+        assertEquals(added + 2, statistics.getAdded(), "Added enums should be counted.");
+        assertEquals(samples + 4, statistics.getLatencySamples(), "Every probe should be timed, a deserialization miss is not retried.");
+        assertTrue(statistics.getLatencyP99Nanos() >= statistics.getLatencyP50Nanos(), "Percentiles should be ordered.");
+        assertEquals(3, statistics.getCardinality(), "Cardinality should match the stored enums.");
+        assertTrue(statistics.getEstimatedBytes() > 0, "Footprint should be estimated.");
+    }
+
+    @Test
+    void testJmxSink() throws Exception {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        FlexiEnumJmxSink sink = new FlexiEnumJmxSink(server);
+        FlexiEnumMetrics.addSink(sink);
+        try {
+            ObjectName name = new ObjectName("com.bhawesh_source.flexienum:type=FlexiEnumStatistics,name=\"" + EntityName.class.getName() + "\"");
+            assertTrue(server.isRegistered(name), "Known types should be registered.");
+            assertEquals(1, server.getAttribute(name, "Cardinality"), "Attributes should be readable.");
+        } finally {
+            FlexiEnumMetrics.removeSink(sink);
+        }
+        assertTrue(server.queryNames(new ObjectName("com.bhawesh_source.flexienum:*"), null).isEmpty(), "Removing the sink should unregister its MBeans.");
+    }
+}
@@ -0,0 +1,83 @@
+package com.bhawesh_source;
+
+import com.bhawesh_source.configs.FlexiEnumMap;
+import com.bhawesh_source.configs.FlexiEnumModule;
+import com.bhawesh_source.configs.FlexiEnumSet;
+import com.bhawesh_source.configs.FlexiEnumStore;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlexiEnumModuleTest {
+
+    private ObjectMapper mapper;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mapper = JsonMapper.builder()
+                .addModule(new FlexiEnumModule())
+                .disable(MapperFeature.USE_ANNOTATIONS)
+                .build();
+        FlexiEnumStore.getInstance().addEnum(EntityName.class, "LOCAL");
+    }
+
+    @Test
+    void testModuleWiresTypesWithoutAnnotations() throws Exception {
+        assertEquals("\"GLOBAL\"", mapper.writeValueAsString(EntityName.GLOBAL));
+        assertSame(EntityName.GLOBAL, mapper.readValue("\"GLOBAL\"", EntityName.class), "Values should resolve to the canonical instance.");
+
+        Map<EntityName, Integer> map = mapper.readValue("{\"GLOBAL\":1}", new TypeReference<Map<EntityName, Integer>>() {
+        });
+        assertSame(EntityName.GLOBAL, map.keySet().iterator().next(), "Keys should resolve to the canonical instance.");
+        assertEquals("{\"GLOBAL\":1}", mapper.writeValueAsString(map));
+
+        FlexiEnumSet<EntityName> set = mapper.readValue("[\"LOCAL\",\"GLOBAL\"]", new TypeReference<FlexiEnumSet<EntityName>>() {
+        });
+        assertEquals(2, set.size());
+        FlexiEnumMap<EntityName, String> flexiEnumMap = mapper.readValue("{\"LOCAL\":\"x\"}", new TypeReference<FlexiEnumMap<EntityName, String>>() {
+        });
+        assertEquals(Collections.singletonMap(FlexiEnumStore.valueOf("LOCAL", EntityName.class), "x"), flexiEnumMap);
+    }
+
+    @Test
+    void testDeserializersAreSharedPerType() throws Exception {
+        ObjectMapper other = JsonMapper.builder().addModule(new FlexiEnumModule()).build();
+        assertSame(deserializer(mapper, EntityName.class), deserializer(other, EntityName.class), "Mappers should share the deserializer of a type.");
+        assertSame(deserializer(new ObjectMapper(), EntityName.class), deserializer(other, EntityName.class), "Annotated types should contextualize to the same deserializer.");
+        assertNotSame(deserializer(mapper, EntityName.class), deserializer(mapper, Region.class), "Every type should have its own deserializer.");
+    }
+
+    @Test
+    void testCollectionDeserializersAreShared() throws Exception {
+        JavaType setType = mapper.constructType(new TypeReference<FlexiEnumSet<EntityName>>() {
+        });
+        assertSame(deserializer(mapper, setType), deserializer(new ObjectMapper(), setType), "Mappers should share the set deserializer of a type.");
+        assertNotSame(deserializer(mapper, setType), deserializer(mapper, mapper.constructType(new TypeReference<FlexiEnumSet<Region>>() {
+        })), "Every type should have its own set deserializer.");
+
+        JavaType mapType = mapper.constructType(new TypeReference<FlexiEnumMap<EntityName, Integer>>() {
+        });
+        assertSame(deserializer(mapper, mapType), deserializer(mapper, mapType), "A mapper should reuse the map deserializer of a map type.");
+    }
+
+    private static JsonDeserializer<Object> deserializer(ObjectMapper mapper, Class<?> clazz) throws Exception {
+        return deserializer(mapper, mapper.constructType(clazz));
+    }
+
+    private static JsonDeserializer<Object> deserializer(ObjectMapper mapper, JavaType type) throws Exception {
+        DefaultDeserializationContext ctxt = ((DefaultDeserializationContext) mapper.getDeserializationContext())
+                .createDummyInstance(mapper.getDeserializationConfig());
+        return ctxt.findRootValueDeserializer(type);
+    }
+}
@@ -0,0 +1,100 @@
+package com.bhawesh_source;
+
+import com.bhawesh_source.configs.FlexiEnumSet;
+import com.bhawesh_source.configs.FlexiEnumStore;
+import com.bhawesh_source.exception.FlexiEnumException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlexiEnumScopeTest {
+
+    private FlexiEnumStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = FlexiEnumStore.getInstance();
+        store.clearEnums(EntityName.class);
+        store.addEnums(EntityName.class, Collections.singletonList("INDIA"));
+    }
+
+    @Test
+    void testScopesAreIsolated() throws Exception {
+        FlexiEnumStore tenantA = store.newScope();
+        FlexiEnumStore tenantB = store.newScope();
+        EntityName europe = tenantA.addEnum(EntityName.class, "EUROPE");
+
+        assertSame(europe, tenantA.getEnum(EntityName.class, "EUROPE"), "A scope should resolve its own enums.");
+        assertSame(EntityName.GLOBAL, tenantA.getEnum(EntityName.class, "GLOBAL"), "A scope should resolve the defaults.");
+        assertThrows(FlexiEnumException.class, () -> tenantB.getEnum(EntityName.class, "EUROPE"), "Sibling scopes should not see each other.");
+        assertThrows(FlexiEnumException.class, () -> FlexiEnumStore.valueOf("EUROPE", EntityName.class), "The parent should not see enums of a scope.");
+        assertEquals(Arrays.asList("GLOBAL", "INDIA", "EUROPE"), names(tenantA.getEnums(EntityName.class)), "Parent enums should come first.");
+    }
+
+    @Test
+    void testParentChangesAreVisible() throws Exception {
+        FlexiEnumStore tenant = store.newScope();
+        FlexiEnumStore team = tenant.newScope();
+        tenant.addEnum(EntityName.class, "EUROPE");
+        assertEquals(Arrays.asList("GLOBAL", "INDIA", "EUROPE"), names(team.getEnums(EntityName.class)));
+
+        EntityName asia = store.addEnum(EntityName.class, "ASIA");
+        assertSame(asia, team.getEnum(EntityName.class, "ASIA"), "Enums added to a parent should become visible.");
+        assertEquals(Arrays.asList("GLOBAL", "INDIA", "ASIA", "EUROPE"), names(team.getEnums(EntityName.class)));
+
+        store.clearEnums(EntityName.class);
+        assertThrows(FlexiEnumException.class, () -> tenant.getEnum(EntityName.class, "INDIA"), "Cleared parent enums should disappear.");
+        assertNotNull(tenant.getEnum(EntityName.class, "EUROPE"), "Enums of the scope should survive a parent clear.");
+    }
+
+    @Test
+    void testParentWinsOnNameConflict() throws Exception {
+        FlexiEnumStore tenant = store.newScope();
+        EntityName local = tenant.addEnum(EntityName.class, "EUROPE");
+        EntityName global = store.addEnum(EntityName.class, "EUROPE");
+
+        assertNotSame(local, global);
+        assertSame(global, tenant.getEnum(EntityName.class, "EUROPE"), "The parent enum should shadow the enum of the scope.");
+        assertEquals(1, tenant.getEnums(EntityName.class).stream().filter(e -> e.name().equals("EUROPE")).count(), "A name should be listed once.");
+    }
+
+    @Test
+    void testOrdinalsAreSharedAcrossScopes() throws Exception {
+        EntityName a = store.newScope().addEnum(EntityName.class, "ASIA");
+        EntityName b = store.newScope().addEnum(EntityName.class, "AFRICA");
+        EntityName india = FlexiEnumStore.valueOf("INDIA", EntityName.class);
+
+        assertNotEquals(a.ordinal(), b.ordinal(), "Enums of different scopes should get distinct ordinals.");
+        FlexiEnumSet<EntityName> set = FlexiEnumSet.of(a, b, india);
+        assertEquals(3, set.size());
+        assertTrue(set.contains(a) && set.contains(b), "Enums of scopes should fit in one set.");
+    }
+
+    @Test
+    void testScopeAliasesAndSync() throws Exception {
+        FlexiEnumStore tenant = store.newScope();
+        tenant.addAlias(EntityName.class, "BHARAT", "INDIA");
+        assertSame(FlexiEnumStore.valueOf("INDIA", EntityName.class), tenant.getEnum(EntityName.class, "BHARAT"), "Aliases of a scope should resolve parent enums.");
+        assertThrows(FlexiEnumException.class, () -> FlexiEnumStore.valueOf("BHARAT", EntityName.class), "Aliases of a scope should stay in the scope.");
+
+        assertTrue(tenant.syncEnums(EntityName.class, Arrays.asList("ASIA", "AFRICA")));
+        assertEquals(Arrays.asList("GLOBAL", "INDIA", "ASIA", "AFRICA"), names(tenant.getEnums(EntityName.class)), "Sync should keep parent enums.");
+        assertTrue(tenant.syncEnums(EntityName.class, Collections.singletonList("ASIA")));
+        assertEquals(Arrays.asList("GLOBAL", "INDIA", "ASIA"), names(tenant.getEnums(EntityName.class)));
+    }
+
+    @Test
+    void testEmptyScopeSharesParentValues() {
+        FlexiEnumStore tenant = store.newScope();
+        assertSame(FlexiEnumStore.values(EntityName.class), tenant.getEnums(EntityName.class), "A scope without enums of its own should share the parent values.");
+    }
+
+    private static List<String> names(List<EntityName> values) {
+        return Arrays.asList(values.stream().map(EntityName::name).toArray(String[]::new));
+    }
+}
@@ -1,10 +1,14 @@
 package com.bhawesh_source;
 
+import com.bhawesh_source.configs.FlexiEnumStore;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class FlexiEnumSerializerTest {
 
@@ -23,5 +27,15 @@ class FlexiEnumSerializerTest {
         String json = mapper.writeValueAsString(new EntityName[]{EntityName.GLOBAL, new EntityName("LOCAL")});
         assertEquals("[\"GLOBAL\",\"LOCAL\"]", json, "Serialization of enum list should return their names in an array.");
     }
-}
 
+    @Test
+    void testSerializeRegisteredEnumNeedingEscapes() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        EntityName quoted = FlexiEnumStore.getInstance().addEnum(EntityName.class, "SAY \"HÉLLO\"");
+
+        assertEquals("[\"SAY \\\"HÉLLO\\\"\"]", mapper.writeValueAsString(new EntityName[]{quoted}), "Pre-encoded names should be escaped.");
+        byte[] utf8 = mapper.writeValueAsBytes(quoted);
+        assertEquals("\"SAY \\\"HÉLLO\\\"\"", new String(utf8, StandardCharsets.UTF_8), "Pre-encoded names should be UTF-8 encoded.");
+        assertSame(quoted, mapper.readValue(utf8, EntityName.class), "Pre-encoded names should round trip.");
+    }
+}
@@ -0,0 +1,92 @@
+package com.bhawesh_source;
+
+import com.bhawesh_source.configs.FlexiEnumSet;
+import com.bhawesh_source.configs.FlexiEnumStore;
+import com.bhawesh_source.exception.FlexiEnumException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlexiEnumSetTest {
+
+    private FlexiEnumStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = FlexiEnumStore.getInstance();
+        store.clearEnums(EntityName.class);
+    }
+
+    @Test
+    void testAddAndContains() throws FlexiEnumException {
+        EntityName india = store.addEnum(EntityName.class, "INDIA");
+        FlexiEnumSet<EntityName> set = FlexiEnumSet.noneOf(EntityName.class);
+        assertTrue(set.add(india), "First add should modify the set.");
+        assertFalse(set.add(india), "Second add should not modify the set.");
+        assertTrue(set.contains(india), "Set should contain the added enum.");
+        assertFalse(set.contains(EntityName.GLOBAL), "Set should not contain enums which were not added.");
+        assertEquals(1, set.size(), "Set should contain a single enum.");
+    }
+
+    @Test
+    void testContainsEqualUnregisteredInstance() throws FlexiEnumException {
+        store.addEnum(EntityName.class, "LOCAL");
+        FlexiEnumSet<EntityName> set = FlexiEnumSet.allOf(EntityName.class);
+        assertTrue(set.contains(new EntityName("LOCAL")), "Set should match equal instances by name.");
+        assertFalse(set.contains(new EntityName("UNKNOWN")), "Set should not contain unregistered names.");
+    }
+
+    @Test
+    void testGrowsWithRuntimeEnums() throws FlexiEnumException {
+        FlexiEnumSet<EntityName> set = FlexiEnumSet.of(EntityName.GLOBAL);
+        List<EntityName> added = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            added.add(store.addEnum(EntityName.class, "VALUE_" + i));
+        }
+        set.addAll(added);
+        assertEquals(201, set.size(), "Set should grow to hold enums added after its creation.");
+        assertTrue(set.containsAll(added), "Set should contain every added enum.");
+    }
+
+    @Test
+    void testIterationFollowsOrdinalOrder() throws FlexiEnumException {
+        EntityName first = store.addEnum(EntityName.class, "FIRST");
+        EntityName second = store.addEnum(EntityName.class, "SECOND");
+        FlexiEnumSet<EntityName> set = FlexiEnumSet.of(second, EntityName.GLOBAL, first);
+        assertEquals(Arrays.asList(EntityName.GLOBAL, first, second), new ArrayList<>(set), "Iteration should follow ordinal order.");
+
+        Iterator<EntityName> iterator = set.iterator();
+        iterator.next();
+        iterator.remove();
+        assertFalse(set.contains(EntityName.GLOBAL), "Iterator remove should remove the enum.");
+        assertEquals(2, set.size(), "Iterator remove should update the size.");
+    }
+
+    @Test
+    void testBulkOperations() throws FlexiEnumException {
+        EntityName india = store.addEnum(EntityName.class, "INDIA");
+        EntityName europe = store.addEnum(EntityName.class, "EUROPE");
+        FlexiEnumSet<EntityName> all = FlexiEnumSet.allOf(EntityName.class);
+        FlexiEnumSet<EntityName> some = FlexiEnumSet.of(india, europe);
+
+        FlexiEnumSet<EntityName> retained = all.clone();
+        retained.retainAll(some);
+        assertEquals(some, retained, "retainAll should keep only the common enums.");
+
+        FlexiEnumSet<EntityName> removed = all.clone();
+        removed.removeAll(some);
+        assertEquals(FlexiEnumSet.of(EntityName.GLOBAL), removed, "removeAll should drop the given enums.");
+    }
+
+    @Test
+    void testAddUnregisteredEnum() {
+        FlexiEnumSet<EntityName> set = FlexiEnumSet.noneOf(EntityName.class);
+        assertThrows(IllegalArgumentException.class, () -> set.add(new EntityName("UNKNOWN")));
+    }
+}
@@ -0,0 +1,137 @@
+package com.bhawesh_source;
+
+import com.bhawesh_source.configs.FlexiEnumSharedRegistry;
+import com.bhawesh_source.configs.FlexiEnumStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlexiEnumSharedRegistryTest {
+
+    @TempDir
+    Path directory;
+
+    private FlexiEnumStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = FlexiEnumStore.getInstance();
+        store.clearEnums(SessionTag.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.clearEnums(SessionTag.class);
+    }
+
+    @Test
+    void testPublisherWritesOnlyChangedTypes() throws Exception {
+        Path file = directory.resolve("registry");
+        store.addEnums(SessionTag.class, Arrays.asList("A", "B"));
+        try (FlexiEnumSharedRegistry publisher = FlexiEnumSharedRegistry.publish(store, file)) {
+            long sequence = publisher.getSequence();
+            assertTrue(sequence > 0 && sequence % 2 == 0, "Opening should publish every type.");
+            assertEquals(0, publisher.sync(), "Nothing should be written without changes.");
+
+            store.addEnums(SessionTag.class, Arrays.asList("C", "D"));
+            store.addAlias(SessionTag.class, "ALPHA", "A");
+            assertEquals(1, publisher.sync(), "Only the changed type should be written.");
+            assertEquals(sequence + 2, publisher.getSequence());
+        }
+
+        try (FlexiEnumSharedRegistry subscriber = FlexiEnumSharedRegistry.subscribe(store, file)) {
+            assertEquals(0, subscriber.sync(), "An unchanged file should not be read again.");
+            assertEquals("A", FlexiEnumStore.valueOf("ALPHA", SessionTag.class).name(), "Aliases should be shared.");
+        }
+    }
+
+    @Test
+    void testFileGrowsWithLargeTypes() throws Exception {
+        Path file = directory.resolve("registry");
+        try (FlexiEnumSharedRegistry publisher = FlexiEnumSharedRegistry.publish(store, file)) {
+            for (int round = 0; round < 5; round++) {
+                String prefix = "LONG-SESSION-TAG-NAME-" + round + "-";
+                store.importEnums(SessionTag.class, IntStream.range(0, 2_000).mapToObj(i -> prefix + i));
+                assertTrue(publisher.sync() >= 1);
+            }
+        }
+        assertTrue(Files.size(file) > 10_000 * 30, "The file should grow to hold the records.");
+        int size = FlexiEnumStore.values(SessionTag.class).size();
+        try (FlexiEnumSharedRegistry subscriber = FlexiEnumSharedRegistry.subscribe(store, file)) {
+            assertEquals(size, FlexiEnumStore.values(SessionTag.class).size(), "Every published value should be read back.");
+        }
+    }
+
+    @Test
+    void testSubscriberInAnotherJvmSeesSameOrdinals() throws Exception {
+        Path file = directory.resolve("registry");
+        store.addEnums(SessionTag.class, Arrays.asList("A", "B", "C"));
+        try (FlexiEnumSharedRegistry publisher = FlexiEnumSharedRegistry.publish(store, file)) {
+            String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+            Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), Subscriber.class.getName(), file.toString())
+                    .redirectErrorStream(true)
+                    .start();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                do {
+                    line = reader.readLine();
+                    assertNotNull(line, "The subscriber should start.");
+                } while (!line.equals("READY"));
+                store.addEnums(SessionTag.class, Arrays.asList("D", "STOP"));
+                publisher.sync();
+
+                Map<String, Integer> ordinals = new LinkedHashMap<>();
+                while (null != (line = reader.readLine()) && !line.equals("DONE")) {
+                    String[] parts = line.split("=");
+                    if (parts.length == 2) {
+                        ordinals.put(parts[0], Integer.valueOf(parts[1]));
+                    }
+                }
+                assertTrue(process.waitFor(30, TimeUnit.SECONDS), "The subscriber should exit.");
+                Map<String, Integer> expected = FlexiEnumStore.values(SessionTag.class).stream()
+                        .collect(Collectors.toMap(SessionTag::name, SessionTag::ordinal, (a, b) -> a, LinkedHashMap::new));
+                assertEquals(expected, ordinals, "The other JVM should see the same enums with the same ordinals.");
+            } finally {
+                process.destroy();
+            }
+        }
+    }
+
+    /**
+     * Runs in a separate JVM, subscribes to the registry and prints the enums once the publisher added STOP.
+     */
+    public static class Subscriber {
+        public static void main(String[] args) throws Exception {
+            FlexiEnumStore store = FlexiEnumStore.getInstance();
+            try (FlexiEnumSharedRegistry subscriber = FlexiEnumSharedRegistry.subscribe(store, Paths.get(args[0]))) {
+                subscriber.start(5, TimeUnit.MILLISECONDS);
+                System.out.println("READY");
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+                while (null == FlexiEnumStore.find("STOP", SessionTag.class) && System.nanoTime() < deadline) {
+                    Thread.sleep(5);
+                }
+                for (SessionTag tag : FlexiEnumStore.values(SessionTag.class)) {
+                    System.out.println(tag.name() + "=" + tag.ordinal());
+                }
+                System.out.println("DONE");
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.bhawesh_source;
+
+import com.bhawesh_source.configs.FlexiEnum;
+import com.bhawesh_source.configs.FlexiEnumLookup;
+import com.bhawesh_source.configs.FlexiEnumStorage;
+import com.bhawesh_source.configs.FlexiEnumStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlexiEnumSortedIndexTest {
+
+    private FlexiEnumStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = FlexiEnumStore.getInstance();
+        store.clearEnums(SessionTag.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.setLookup(SessionTag.class, FlexiEnumLookup.EXACT);
+        store.setStorage(SessionTag.class, FlexiEnumStorage.INSTANCES);
+        store.clearEnums(SessionTag.class);
+    }
+
+    @Test
+    void testPrefixQueries() throws Exception {
+        store.addEnums(SessionTag.class, Arrays.asList("NORTH_AMERICA", "NORTH_EUROPE", "SOUTH_AMERICA", "NORTH", "NORTHWIND"));
+
+        assertEquals(Arrays.asList("NORTH", "NORTHWIND", "NORTH_AMERICA", "NORTH_EUROPE"),
+                names(FlexiEnumStore.valuesWithPrefix(SessionTag.class, "NORTH", 10)), "Names of the prefix should be returned in sorted order.");
+        assertEquals(Arrays.asList("NORTH", "NORTHWIND"),
+                names(FlexiEnumStore.valuesWithPrefix(SessionTag.class, "NORTH", 2)), "The limit should return the first names only.");
+        assertEquals(Collections.emptyList(), FlexiEnumStore.valuesWithPrefix(SessionTag.class, "WEST", 10), "An unmatched prefix should return no values.");
+        assertEquals(6, FlexiEnumStore.valuesWithPrefix(SessionTag.class, null, 10).size(), "A null prefix should match every value.");
+        assertEquals(Collections.emptyList(), FlexiEnumStore.valuesWithPrefix(SessionTag.class, "north", 10), "Exact lookups should be case sensitive.");
+        assertThrows(IllegalArgumentException.class, () -> FlexiEnumStore.valuesWithPrefix(SessionTag.class, "N", -1), "A negative limit should be rejected.");
+
+        store.setLookup(SessionTag.class, FlexiEnumLookup.NORMALIZED);
+        assertEquals(Arrays.asList("NORTH_AMERICA"),
+                names(FlexiEnumStore.valuesWithPrefix(SessionTag.class, "north a", 10)), "Prefixes should be folded under the lookup mode of the type.");
+    }
+
+    @Test
+    void testRangeQueries() throws Exception {
+        store.addEnums(SessionTag.class, Arrays.asList("C", "A", "E", "B", "D"));
+
+        assertEquals(Arrays.asList("B", "C", "D"), names(FlexiEnumStore.valuesInRange(SessionTag.class, "B", "E", 10)), "The range should include its lower bound only.");
+        assertEquals(Arrays.asList("A", "ANONYMOUS", "B"), names(FlexiEnumStore.valuesInRange(SessionTag.class, null, "C", 10)), "A null lower bound should start at the first name.");
+        assertEquals(Arrays.asList("D", "E"), names(FlexiEnumStore.valuesInRange(SessionTag.class, "D", null, 10)), "A null upper bound should end at the last name.");
+        assertEquals(Arrays.asList("A", "ANONYMOUS"), names(FlexiEnumStore.valuesInRange(SessionTag.class, null, null, 2)), "The limit should return the top names.");
+    }
+
+    @Test
+    void testIndexFollowsChanges() throws Exception {
+        Random random = new Random(7);
+        List<String> expected = new ArrayList<>(Collections.singletonList("ANONYMOUS"));
+        store.setStorage(SessionTag.class, FlexiEnumStorage.COMPACT);
+        for (int batch = 0; batch < 20; batch++) {
+            List<String> names = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(50); i++) {
+                names.add("T-" + Integer.toString(random.nextInt(100_000), 36));
+            }
+            store.addEnums(SessionTag.class, names);
+            names.stream().filter(name -> !expected.contains(name)).distinct().forEach(expected::add);
+            Collections.sort(expected);
+            assertEquals(expected, names(FlexiEnumStore.valuesInRange(SessionTag.class, null, null, Integer.MAX_VALUE)),
+                    "The index should hold every appended name in sorted order.");
+        }
+        store.replaceEnums(SessionTag.class, new HashSet<>(expected.subList(0, expected.size() / 2)));
+        List<String> kept = expected.subList(0, expected.size() / 2);
+        assertEquals(kept, names(FlexiEnumStore.valuesInRange(SessionTag.class, null, null, Integer.MAX_VALUE)), "The index should be rebuilt after values are replaced.");
+        assertEquals(kept.stream().filter(name -> name.startsWith("T-1")).collect(Collectors.toList()),
+                names(FlexiEnumStore.valuesWithPrefix(SessionTag.class, "T-1", Integer.MAX_VALUE)), "Prefix queries should see the replaced values.");
+    }
+
+    private static List<String> names(List<? extends FlexiEnum> values) {
+        return values.stream().map(FlexiEnum::name).collect(Collectors.toList());
+    }
+}
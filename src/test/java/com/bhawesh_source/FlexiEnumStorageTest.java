@@ -0,0 +1,148 @@
+package com.bhawesh_source;
+
+import com.bhawesh_source.configs.FlexiEnumLookup;
+import com.bhawesh_source.configs.FlexiEnumSet;
+import com.bhawesh_source.configs.FlexiEnumStorage;
+import com.bhawesh_source.configs.FlexiEnumStore;
+import com.bhawesh_source.exception.FlexiEnumException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlexiEnumStorageTest {
+
+    private static FlexiEnumStore store;
+
+    @BeforeAll
+    static void enableCompactStorage() {
+        store = FlexiEnumStore.getInstance();
+        store.setStorage(ProductCode.class, FlexiEnumStorage.COMPACT);
+    }
+
+    @BeforeEach
+    void setUp() {
+        store.clearEnums(ProductCode.class);
+    }
+
+    @Test
+    void testCompactValuesResolve() throws Exception {
+        List<String> names = IntStream.range(0, 10_000).mapToObj(i -> "P-" + i).collect(Collectors.toList());
+        assertEquals(10_000, store.importEnums(ProductCode.class, names.stream()));
+
+        ProductCode code = FlexiEnumStore.valueOf("P-1234", ProductCode.class);
+        assertEquals("P-1234", code.name());
+        assertSame(code, FlexiEnumStore.valueOf("P-1234", ProductCode.class), "A held value should keep its identity.");
+        assertSame(ProductCode.UNKNOWN, FlexiEnumStore.valueOf("UNKNOWN", ProductCode.class), "Defaults should stay instances.");
+        assertThrows(FlexiEnumException.class, () -> FlexiEnumStore.valueOf("P-10000", ProductCode.class));
+
+        List<ProductCode> values = FlexiEnumStore.values(ProductCode.class);
+        assertEquals(10_001, values.size(), "Values should list defaults and compact values.");
+        assertEquals("UNKNOWN", values.get(0).name());
+        assertEquals("P-9999", values.get(10_000).name(), "Compact values should keep registration order.");
+        assertEquals(code.ordinal(), values.get(1235).ordinal());
+    }
+
+    @Test
+    void testMaterializedValuesAreEqualAcrossCollections() throws Exception {
+        store.addEnums(ProductCode.class, Arrays.asList("A", "B", "C"));
+        int ordinal = FlexiEnumStore.valueOf("B", ProductCode.class).ordinal();
+        System.gc();
+        ProductCode again = FlexiEnumStore.valueOf("B", ProductCode.class);
+        assertEquals(ordinal, again.ordinal(), "A value materialized again should keep its ordinal.");
+        assertEquals(new ProductCode("B"), again);
+
+        FlexiEnumSet<ProductCode> set = FlexiEnumSet.noneOf(ProductCode.class);
+        set.add(again);
+        assertTrue(set.contains(new ProductCode("B")), "Unregistered equal instances should resolve by name.");
+        assertEquals("B", set.iterator().next().name(), "Iteration should materialize values by ordinal.");
+    }
+
+    @Test
+    void testLookupModesAndNonAsciiNames() throws Exception {
+        store.addEnums(ProductCode.class, Arrays.asList("north_america", "Zürich", "😀-emoji"));
+        assertEquals("north_america", FlexiEnumStore.valueOf(" North-America ", ProductCode.class, FlexiEnumLookup.NORMALIZED).name());
+        assertEquals("Zürich", FlexiEnumStore.valueOf("ZÜRICH", ProductCode.class, FlexiEnumLookup.CASE_INSENSITIVE).name());
+        assertEquals("😀-emoji", FlexiEnumStore.valueOf("😀-emoji", ProductCode.class).name());
+        assertEquals("😀-emoji", FlexiEnumStore.valueOf(" 😀 EMOJI", ProductCode.class, FlexiEnumLookup.NORMALIZED).name());
+        assertNull(FlexiEnumStore.find("north_americas", ProductCode.class, FlexiEnumLookup.CASE_INSENSITIVE));
+        assertNull(FlexiEnumStore.find("Zurich", ProductCode.class, FlexiEnumLookup.NORMALIZED));
+
+        store.addEnum(ProductCode.class, " padded name ");
+        assertEquals(" padded name ", FlexiEnumStore.valueOf("PADDED-NAME", ProductCode.class, FlexiEnumLookup.NORMALIZED).name(),
+                "Whitespace around compact names should be trimmed.");
+        assertNull(FlexiEnumStore.find("padded_name_", ProductCode.class, FlexiEnumLookup.NORMALIZED),
+                "Trimmed whitespace of a compact name should not match other characters.");
+        assertNull(FlexiEnumStore.find("PADDED NAME", ProductCode.class, FlexiEnumLookup.CASE_INSENSITIVE));
+
+        ObjectMapper mapper = new ObjectMapper();
+        ProductCode[] codes = mapper.readValue("[\"Zürich\",\"UNKNOWN\"]", ProductCode[].class);
+        assertEquals("Zürich", codes[0].name(), "Deserialization should resolve compact values.");
+        assertSame(ProductCode.UNKNOWN, codes[1]);
+
+        store.setLookup(ProductCode.class, FlexiEnumLookup.NORMALIZED);
+        try {
+            codes = mapper.readValue("[\"zÜRICH\",\" North America\"]", ProductCode[].class);
+            assertEquals("Zürich", codes[0].name(), "Deserialization should match compact values under the lookup mode.");
+            assertEquals("north_america", codes[1].name());
+        } finally {
+            store.setLookup(ProductCode.class, FlexiEnumLookup.EXACT);
+        }
+    }
+
+    @Test
+    void testSyncAndAliases() throws Exception {
+        store.addEnums(ProductCode.class, Arrays.asList("A", "B", "C"));
+        store.addAlias(ProductCode.class, "LEGACY-B", "B");
+        assertEquals("B", FlexiEnumStore.valueOf("LEGACY-B", ProductCode.class).name(), "Aliases should resolve compact values.");
+
+        assertTrue(store.syncEnums(ProductCode.class, Arrays.asList("B", "D")));
+        assertEquals(Arrays.asList("UNKNOWN", "B", "D"), names(), "Sync should remove and add compact values.");
+        assertThrows(FlexiEnumException.class, () -> FlexiEnumStore.valueOf("A", ProductCode.class));
+        assertFalse(store.syncEnums(ProductCode.class, Arrays.asList("D", "B")), "An unchanged set should not publish.");
+    }
+
+    @Test
+    void testDirectArenaAndScopes() throws Exception {
+        store.addEnums(ProductCode.class, Collections.singletonList("HEAP"));
+        store.setStorage(ProductCode.class, FlexiEnumStorage.COMPACT_DIRECT);
+        try {
+            store.addEnums(ProductCode.class, Collections.singletonList("DIRECT"));
+            assertEquals(Arrays.asList("UNKNOWN", "HEAP", "DIRECT"), names(), "Values should survive moving the arena.");
+
+            FlexiEnumStore tenant = store.newScope();
+            tenant.addEnum(ProductCode.class, "TENANT");
+            assertEquals("DIRECT", tenant.getEnum(ProductCode.class, "DIRECT").name(), "Scopes should resolve compact values.");
+            assertEquals(4, tenant.getEnums(ProductCode.class).size());
+            assertThrows(FlexiEnumException.class, () -> FlexiEnumStore.valueOf("TENANT", ProductCode.class));
+        } finally {
+            store.setStorage(ProductCode.class, FlexiEnumStorage.COMPACT);
+        }
+    }
+
+    @Test
+    void testCompactStorageIsSmaller() throws Exception {
+        long compactBefore = store.getStatistics(ProductCode.class).getEstimatedBytes();
+        store.importEnums(ProductCode.class, IntStream.range(0, 1000).mapToObj(i -> "SKU-" + i));
+        long compactBytes = store.getStatistics(ProductCode.class).getEstimatedBytes() - compactBefore;
+
+        store.clearEnums(EntityName.class);
+        long instanceBefore = store.getStatistics(EntityName.class).getEstimatedBytes();
+        store.importEnums(EntityName.class, IntStream.range(0, 1000).mapToObj(i -> "SKU-" + i));
+        long instanceBytes = store.getStatistics(EntityName.class).getEstimatedBytes() - instanceBefore;
+        store.clearEnums(EntityName.class);
+        assertTrue(compactBytes * 3 < instanceBytes, "Compact values should take a fraction of the memory of instances.");
+    }
+
+    private static List<String> names() {
+        return FlexiEnumStore.values(ProductCode.class).stream().map(ProductCode::name).collect(Collectors.toList());
+    }
+}
@@ -1,14 +1,26 @@
 package com.bhawesh_source;
 
+import com.bhawesh_source.configs.FlexiEnum;
+import com.bhawesh_source.configs.FlexiEnumFormat;
+import com.bhawesh_source.configs.FlexiEnumLookup;
 import com.bhawesh_source.configs.FlexiEnumStore;
 import com.bhawesh_source.exception.FlexiEnumException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -20,6 +32,7 @@ class FlexiEnumStoreTest {
     void setUp() {
         store = FlexiEnumStore.getInstance();
         assertNotNull(store, "FlexiEnumStore instance should not be null.");
+        store.clearEnums(EntityName.class);
     }
 
     @Test
@@ -79,6 +92,17 @@ class FlexiEnumStoreTest {
         assertEquals("Invalid value \"INVALID\" for enum com.bhawesh_source.EntityName", exception.getMessage());
     }
 
+    @Test
+    void testFindWithoutException() throws FlexiEnumException {
+        EntityName india = store.addEnum(EntityName.class, "INDIA");
+        assertSame(india, FlexiEnumStore.find("INDIA", EntityName.class));
+        assertSame(india, FlexiEnumStore.find("india", EntityName.class, FlexiEnumLookup.CASE_INSENSITIVE));
+        assertNull(FlexiEnumStore.find("INVALID", EntityName.class), "Unknown names should be found as null.");
+        assertNull(FlexiEnumStore.find(null, EntityName.class));
+        assertEquals(Optional.of(india), FlexiEnumStore.tryValueOf("INDIA", EntityName.class));
+        assertFalse(FlexiEnumStore.tryValueOf("INVALID", EntityName.class).isPresent(), "Unknown names should give an empty optional.");
+    }
+
     @Test
     void testLoadDefaultEnums() {
         store.loadDefaultEnums(EntityName.class);
@@ -122,6 +146,217 @@ class FlexiEnumStoreTest {
         assertTrue(values.stream().anyMatch(e -> e.name().equals("THREAD2")), "Enum 'THREAD2' should exist.");
     }
 
+    @Test
+    void testConcurrentReadersSeeWholeReloads() throws Exception {
+        int pinned = 200;
+        List<String> failures = new CopyOnWriteArrayList<>();
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread reader = new Thread(() -> {
+                while (running.get()) {
+                    List<EntityName> values = FlexiEnumStore.values(EntityName.class);
+                    Set<String> generations = values.stream().filter(e -> e.name().startsWith("GEN_"))
+                            .map(e -> e.name().substring(0, e.name().lastIndexOf('_'))).collect(Collectors.toSet());
+                    long pins = values.stream().filter(e -> e.name().startsWith("PIN_")).count();
+                    long added = values.stream().filter(e -> e.name().startsWith("GEN_")).count();
+                    if (!values.contains(EntityName.GLOBAL) || generations.size() > 1 || (added != 0 && added != 8)
+                            || pins != (added == 0 ? 0 : pinned)) {
+                        failures.add(values.size() + " values, " + pins + " pinned, " + added + " of " + generations);
+                    }
+                    if (FlexiEnumStore.find("GLOBAL", EntityName.class) != EntityName.GLOBAL) {
+                        failures.add("lost GLOBAL");
+                    }
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+        for (int generation = 0; generation < 200; generation++) {
+            Set<String> names = new HashSet<>();
+            for (int i = 0; i < pinned; i++) {
+                names.add("PIN_" + i);
+            }
+            for (int i = 0; i < 8; i++) {
+                names.add("GEN_" + generation + "_" + i);
+            }
+            store.replaceEnums(EntityName.class, names);
+            EntityName added = store.addEnum(EntityName.class, "ADDED_" + generation);
+            assertSame(added, FlexiEnumStore.find("ADDED_" + generation, EntityName.class), "An added enum should be found right away.");
+            if (generation % 10 == 0) {
+                store.clearEnums(EntityName.class);
+            }
+        }
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertEquals(Collections.emptyList(), failures, "Readers should only observe whole reloads.");
+    }
+
+    @Test
+    void testOrdinals() throws FlexiEnumException {
+        EntityName india = store.addEnum(EntityName.class, "INDIA");
+        EntityName europe = store.addEnum(EntityName.class, "EUROPE");
+        assertEquals(0, EntityName.GLOBAL.ordinal(), "Default enums should get the lowest ordinals.");
+        assertTrue(india.ordinal() > EntityName.GLOBAL.ordinal(), "Runtime enums should follow default enums.");
+        assertEquals(india.ordinal() + 1, europe.ordinal(), "Runtime enums should get ordinals in registration order.");
+    }
+
+    @Test
+    void testCanonicalInstances() throws Exception {
+        EntityName india = store.addEnum(EntityName.class, "INDIA");
+        assertSame(india, store.addEnum(EntityName.class, "INDIA"), "Adding a stored name should return the stored instance.");
+        assertSame(EntityName.GLOBAL, store.addEnum(EntityName.class, "GLOBAL"), "Adding a default name should return the default instance.");
+        assertSame(india, FlexiEnumStore.valueOf("INDIA", EntityName.class), "Lookup should return the stored instance.");
+
+        store.replaceEnums(EntityName.class, new HashSet<>(Arrays.asList("INDIA", "EUROPE")));
+        assertSame(india, FlexiEnumStore.valueOf("INDIA", EntityName.class), "Replacing should keep the instance of names which stay.");
+    }
+
+    @Test
+    void testSyncEnumsAppliesDifference() throws FlexiEnumException {
+        store.addEnums(EntityName.class, Arrays.asList("INDIA", "EUROPE"));
+        EntityName india = FlexiEnumStore.valueOf("INDIA", EntityName.class);
+
+        assertTrue(store.syncEnums(EntityName.class, Arrays.asList("INDIA", "ASIA")), "A difference should be applied.");
+        assertEquals(Arrays.asList("GLOBAL", "INDIA", "ASIA"), FlexiEnumStore.values(EntityName.class).stream().map(EntityName::name).collect(Collectors.toList()), "Removed names should go, defaults should stay.");
+        assertSame(india, FlexiEnumStore.valueOf("INDIA", EntityName.class), "Unchanged enums should keep their instance.");
+        List<EntityName> values = FlexiEnumStore.values(EntityName.class);
+        assertFalse(store.syncEnums(EntityName.class, Arrays.asList("ASIA", "INDIA")), "Syncing the same names should change nothing.");
+        assertSame(values, FlexiEnumStore.values(EntityName.class), "An empty difference should not publish a new snapshot.");
+    }
+
+    @Test
+    void testValuesSnapshot() throws FlexiEnumException {
+        store.addEnums(EntityName.class, Arrays.asList("INDIA", "EUROPE"));
+        List<EntityName> values = FlexiEnumStore.values(EntityName.class);
+        assertSame(values, FlexiEnumStore.values(EntityName.class), "Values should be cached until the enums change.");
+        assertEquals(Arrays.asList("GLOBAL", "INDIA", "EUROPE"), values.stream().map(EntityName::name).collect(Collectors.toList()), "Values should follow registration order.");
+        assertThrows(UnsupportedOperationException.class, () -> values.add(EntityName.GLOBAL));
+
+        store.addEnum(EntityName.class, "ASIA");
+        assertEquals(3, values.size(), "A published snapshot should never change.");
+        assertEquals(4, FlexiEnumStore.values(EntityName.class).size(), "New enums should be visible in the next snapshot.");
+    }
+
+    @Test
+    void testConcurrentWriters() throws InterruptedException {
+        int threads = 8;
+        int perThread = 500;
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * perThread;
+            writers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    try {
+                        store.addEnum(EntityName.class, "VALUE_" + (offset + i));
+                    } catch (FlexiEnumException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            }));
+        }
+        writers.forEach(Thread::start);
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        assertEquals(threads * perThread + 1, FlexiEnumStore.values(EntityName.class).size(), "No concurrently added enum should be lost.");
+    }
+
+    @Test
+    void testImportEnumsFromStream() throws FlexiEnumException {
+        int added = store.importEnums(EntityName.class, IntStream.range(0, 10000).mapToObj(i -> "VALUE_" + (i % 5000)));
+        assertEquals(5000, added, "Duplicate names should be imported once.");
+        List<EntityName> values = FlexiEnumStore.values(EntityName.class);
+        assertEquals(5001, values.size(), "Imported enums should be added to the default enums.");
+        assertEquals("VALUE_0", values.get(1).name(), "Imported enums should keep the order of the source.");
+        assertEquals(0, store.importEnums(EntityName.class, Stream.of("VALUE_1", "GLOBAL")), "Stored names should be skipped.");
+    }
+
+    @Test
+    void testImportEnumsFromIterator() throws FlexiEnumException {
+        assertEquals(2, store.importEnums(EntityName.class, Arrays.asList("INDIA", "EUROPE", "INDIA").iterator()));
+        assertNotNull(FlexiEnumStore.valueOf("EUROPE", EntityName.class));
+    }
+
+    @Test
+    void testImportEnumsFromCsv() throws FlexiEnumException {
+        String csv = "INDIA, EUROPE\n\"NORTH, AMERICA\",\"SAY \"\"HI\"\"\"\r\n\nASIA";
+        assertEquals(5, store.importEnums(EntityName.class, new StringReader(csv), FlexiEnumFormat.CSV));
+        assertNotNull(FlexiEnumStore.valueOf("EUROPE", EntityName.class));
+        assertNotNull(FlexiEnumStore.valueOf("NORTH, AMERICA", EntityName.class));
+        assertNotNull(FlexiEnumStore.valueOf("SAY \"HI\"", EntityName.class));
+        assertNotNull(FlexiEnumStore.valueOf("ASIA", EntityName.class));
+    }
+
+    @Test
+    void testImportEnumsFromJsonLines() throws FlexiEnumException {
+        String jsonLines = "\"INDIA\"\n\n\"EUROPE\"\n";
+        assertEquals(2, store.importEnums(EntityName.class, new StringReader(jsonLines), FlexiEnumFormat.JSON_LINES));
+        assertNotNull(FlexiEnumStore.valueOf("INDIA", EntityName.class));
+
+        assertThrows(FlexiEnumException.class, () ->
+                store.importEnums(EntityName.class, new StringReader("\"ASIA\"\n42"), FlexiEnumFormat.JSON_LINES));
+        assertThrows(FlexiEnumException.class, () -> FlexiEnumStore.valueOf("ASIA", EntityName.class), "Failed imports should add nothing.");
+    }
+
+    @Test
+    void testLookupModes() throws FlexiEnumException {
+        EntityName northAmerica = store.addEnum(EntityName.class, "NORTH_AMERICA");
+        assertThrows(FlexiEnumException.class, () -> FlexiEnumStore.valueOf("north_america", EntityName.class));
+        assertSame(northAmerica, FlexiEnumStore.valueOf("north_america", EntityName.class, FlexiEnumLookup.CASE_INSENSITIVE));
+        assertThrows(FlexiEnumException.class, () -> FlexiEnumStore.valueOf(" north-america ", EntityName.class, FlexiEnumLookup.CASE_INSENSITIVE));
+        assertSame(northAmerica, FlexiEnumStore.valueOf(" north-america ", EntityName.class, FlexiEnumLookup.NORMALIZED));
+        assertSame(northAmerica, FlexiEnumStore.valueOf("North America", EntityName.class, FlexiEnumLookup.NORMALIZED));
+
+        store.setLookup(EntityName.class, FlexiEnumLookup.CASE_INSENSITIVE);
+        try {
+            assertSame(EntityName.GLOBAL, FlexiEnumStore.valueOf("Global", EntityName.class), "valueOf should use the lookup mode of the type.");
+        } finally {
+            store.setLookup(EntityName.class, FlexiEnumLookup.EXACT);
+        }
+    }
+
+    @Test
+    void testSingleAddsExtendLookupIndexes() throws FlexiEnumException {
+        assertSame(EntityName.GLOBAL, FlexiEnumStore.valueOf("global", EntityName.class, FlexiEnumLookup.CASE_INSENSITIVE));
+        List<EntityName> before = FlexiEnumStore.values(EntityName.class);
+        for (int i = 0; i < 100; i++) {
+            EntityName added = store.addEnum(EntityName.class, "REGION_" + i);
+            assertSame(added, FlexiEnumStore.valueOf("region_" + i, EntityName.class, FlexiEnumLookup.CASE_INSENSITIVE));
+            assertSame(added, FlexiEnumStore.valueOf("REGION_" + i, EntityName.class));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertNotNull(FlexiEnumStore.find("Region_" + i, EntityName.class, FlexiEnumLookup.CASE_INSENSITIVE), "Appended values should stay resolvable.");
+        }
+        assertEquals(1, before.size(), "Values appended in place should not show in earlier snapshots.");
+    }
+
+    @Test
+    void testAliases() throws Exception {
+        EntityName india = store.addEnum(EntityName.class, "INDIA");
+        store.addAlias(EntityName.class, "IN", "INDIA");
+        assertSame(india, FlexiEnumStore.valueOf("IN", EntityName.class), "Aliases should resolve exactly.");
+        assertSame(india, FlexiEnumStore.valueOf("in", EntityName.class, FlexiEnumLookup.CASE_INSENSITIVE), "Aliases should resolve in every mode.");
+        assertThrows(FlexiEnumException.class, () -> store.addAlias(EntityName.class, "EU", "EUROPE"));
+
+        store.replaceEnums(EntityName.class, new HashSet<>(Arrays.asList("INDIA", "EUROPE")));
+        assertSame(india, FlexiEnumStore.valueOf("IN", EntityName.class), "Aliases should survive replacing enums.");
+        store.clearEnums(EntityName.class);
+        assertThrows(FlexiEnumException.class, () -> FlexiEnumStore.valueOf("IN", EntityName.class), "Aliases of cleared enums should not resolve.");
+    }
+
+    @Test
+    void testMissingConstructor() {
+        FlexiEnumException first = assertThrows(FlexiEnumException.class, () ->
+                store.addEnum(NoConstructorEnum.class, "VALUE"));
+        FlexiEnumException second = assertThrows(FlexiEnumException.class, () ->
+                store.addEnum(NoConstructorEnum.class, "VALUE"));
+        assertInstanceOf(NoSuchMethodException.class, first.getCause(), "Failure should report the missing constructor.");
+        assertSame(first.getCause(), second.getCause(), "Constructor should be resolved only once.");
+    }
+
     @Test
     void testSameEnumName() throws FlexiEnumException {
         store.loadDefaultEnums(EntityName.class);
@@ -130,4 +365,10 @@ class FlexiEnumStoreTest {
         com.bhawesh_source.differentModule.EntityName global1 = FlexiEnumStore.valueOf("GLOBAL", com.bhawesh_source.differentModule.EntityName.class);
         assertNotEquals(global,global1);
     }
+
+    static class NoConstructorEnum extends FlexiEnum {
+        NoConstructorEnum() {
+            super("NONE");
+        }
+    }
 }
@@ -0,0 +1,11 @@
+package com.bhawesh_source;
+
+import com.bhawesh_source.configs.FlexiEnum;
+
+public class Moon extends FlexiEnum {
+    protected Moon(String name) {
+        super(name);
+    }
+
+    public static final Moon LUNA = new Moon("LUNA");
+}
@@ -0,0 +1,32 @@
+package com.bhawesh_source;
+
+import com.bhawesh_source.configs.FlexiEnumDefaults;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The registry the annotation processor generates for {@link Moon}.
+ */
+public final class Moon_FlexiEnumDefaults implements FlexiEnumDefaults<Moon> {
+
+    @Override
+    public Class<Moon> type() {
+        return Moon.class;
+    }
+
+    @Override
+    public List<Moon> defaults() {
+        return Collections.singletonList(Moon.LUNA);
+    }
+
+    @Override
+    public boolean hasConstructor() {
+        return true;
+    }
+
+    @Override
+    public Moon newInstance(String name) {
+        return new Moon(name);
+    }
+}
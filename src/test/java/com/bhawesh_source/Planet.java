@@ -0,0 +1,12 @@
+package com.bhawesh_source;
+
+import com.bhawesh_source.configs.FlexiEnum;
+
+public class Planet extends FlexiEnum {
+    protected Planet(String name) {
+        super(name);
+    }
+
+    public static final Planet EARTH = new Planet("EARTH");
+    public static final Planet MARS = new Planet("MARS");
+}
@@ -0,0 +1,43 @@
+package com.bhawesh_source;
+
+import com.bhawesh_source.configs.FlexiEnumDefaults;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The registry the annotation processor generates for {@link Planet}, counting its uses and the service scans
+ * instantiating it.
+ */
+public final class Planet_FlexiEnumDefaults implements FlexiEnumDefaults<Planet> {
+    static final AtomicInteger DEFAULTS_CALLS = new AtomicInteger();
+    static final AtomicInteger INSTANCES_CREATED = new AtomicInteger();
+    static final AtomicInteger LOADS = new AtomicInteger();
+
+    public Planet_FlexiEnumDefaults() {
+        LOADS.incrementAndGet();
+    }
+
+    @Override
+    public Class<Planet> type() {
+        return Planet.class;
+    }
+
+    @Override
+    public List<Planet> defaults() {
+        DEFAULTS_CALLS.incrementAndGet();
+        return Arrays.asList(Planet.EARTH, Planet.MARS);
+    }
+
+    @Override
+    public boolean hasConstructor() {
+        return true;
+    }
+
+    @Override
+    public Planet newInstance(String name) {
+        INSTANCES_CREATED.incrementAndGet();
+        return new Planet(name);
+    }
+}
@@ -0,0 +1,13 @@
+package com.bhawesh_source;
+
+
+import com.bhawesh_source.configs.FlexiEnum;
+
+public class ProductCode extends FlexiEnum {
+    protected ProductCode(String name) {
+        super(name);
+    }
+
+    public static final ProductCode UNKNOWN = new ProductCode("UNKNOWN");
+
+}
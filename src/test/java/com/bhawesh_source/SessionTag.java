@@ -0,0 +1,13 @@
+package com.bhawesh_source;
+
+
+import com.bhawesh_source.configs.FlexiEnum;
+
+public class SessionTag extends FlexiEnum {
+    protected SessionTag(String name) {
+        super(name);
+    }
+
+    public static final SessionTag ANONYMOUS = new SessionTag("ANONYMOUS");
+
+}